@@ -0,0 +1,74 @@
+package com.immortals.miniurl.benchmark;
+
+import com.immortals.miniurl.utils.Base62Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.immortals.miniurl.constants.UrlConstants.ALPHABET;
+
+/**
+ * Base62 encode/decode cost of {@link Base62Utils} against the StringBuilder/indexOf codec it replaced.
+ * Run with the GC profiler to see allocations: the {@code byte[]} variants should report ~0 B/op, the
+ * {@code String} ones only the returned string.
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=Base62Benchmark -PjmhProfilers=gc}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class Base62Benchmark {
+
+    // A Snowflake-sized ID, 11 digits.
+    private final long value = 3_521_614_606_207_123_456L;
+    private final String encoded = Base62Utils.encode(value);
+    private final byte[] buffer = new byte[Base62Utils.MAX_WIDTH];
+
+    @Setup
+    public void fillBuffer() {
+        Base62Utils.encodeTo(value, Base62Utils.MAX_WIDTH, buffer, 0);
+    }
+
+    @Benchmark
+    public String encodeString() {
+        return Base62Utils.encode(value);
+    }
+
+    @Benchmark
+    public int encodeIntoBuffer() {
+        return Base62Utils.encodeTo(value, Base62Utils.MAX_WIDTH, buffer, 0);
+    }
+
+    @Benchmark
+    public long decodeString() {
+        return Base62Utils.decode(encoded);
+    }
+
+    @Benchmark
+    public long decodeBuffer() {
+        return Base62Utils.decode(buffer, 0, Base62Utils.MAX_WIDTH);
+    }
+
+    @Benchmark
+    public String legacyEncode() {
+        long remaining = value;
+        StringBuilder sb = new StringBuilder();
+        while (remaining > 0) {
+            sb.append(ALPHABET.charAt((int) (remaining % 62)));
+            remaining /= 62;
+        }
+        return sb.reverse()
+                .toString();
+    }
+
+    @Benchmark
+    public long legacyDecode() {
+        long result = 0;
+        for (char c : encoded.toCharArray()) {
+            result = result * 62 + ALPHABET.indexOf(c);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.immortals.miniurl.benchmark;
+
+import com.immortals.miniurl.helper.HashStrategy;
+import com.immortals.miniurl.helper.hash.Murmur3HashEngine;
+import com.immortals.miniurl.helper.hash.Sha256HashEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static com.immortals.miniurl.constants.UrlConstants.HASH_LENGTH;
+
+/**
+ * Cost of one deterministic short code: the Murmur3 and thread-confined SHA-256 engines against the
+ * previous per-call {@code MessageDigest.getInstance} + Base64 implementation.
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=HashStrategyBenchmark -PjmhProfilers=gc}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class HashStrategyBenchmark {
+
+    private final String url = "https://www.example.com/articles/2024/05/some-fairly-long-article-slug?utm_source=newsletter";
+    private final HashStrategy murmur3 = new HashStrategy(HASH_LENGTH, new Murmur3HashEngine());
+    private final HashStrategy sha256 = new HashStrategy(HASH_LENGTH, new Sha256HashEngine());
+
+    @Benchmark
+    public String murmur3() {
+        return murmur3.generate(url);
+    }
+
+    @Benchmark
+    public String sha256() {
+        return sha256.generate(url);
+    }
+
+    @Benchmark
+    public String legacySha256() throws NoSuchAlgorithmException {
+        byte[] hash = MessageDigest.getInstance("SHA-256")
+                .digest(url.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(hash)
+                .substring(0, HASH_LENGTH);
+    }
+}
@@ -0,0 +1,71 @@
+package com.immortals.miniurl.benchmark;
+
+import com.immortals.miniurl.helper.SnowflakeStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.immortals.miniurl.constants.UrlConstants.*;
+
+/**
+ * Multi-threaded throughput of the CAS-based {@link SnowflakeStrategy} against the lock-guarded generator
+ * it replaced. The locked generator also waits for the clock once 4096 IDs were drawn in a millisecond,
+ * while the CAS generator carries into the next millisecond instead.
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=SnowflakeBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+public class SnowflakeBenchmark {
+
+    private final SnowflakeStrategy casGenerator = new SnowflakeStrategy(() -> 1);
+    private final LockedGenerator lockedGenerator = new LockedGenerator();
+
+    @Benchmark
+    public long cas() {
+        return casGenerator.nextId();
+    }
+
+    @Benchmark
+    public long locked() {
+        return lockedGenerator.nextId();
+    }
+
+    /**
+     * The previous implementation with primitive fields: serialised on a lock and spinning for the next
+     * millisecond once the sequence is exhausted.
+     */
+    private static final class LockedGenerator {
+        private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long lastTimestamp = -1L;
+        private long sequence = 0L;
+
+        long nextId() {
+            lock.lock();
+            try {
+                long timestamp = System.currentTimeMillis();
+                if (timestamp == lastTimestamp) {
+                    sequence = (sequence + 1) & MAX_SEQUENCE;
+                    if (sequence == 0) {
+                        while (timestamp <= lastTimestamp) {
+                            timestamp = System.currentTimeMillis();
+                        }
+                    }
+                } else {
+                    sequence = 0L;
+                }
+                lastTimestamp = timestamp;
+                return ((timestamp - EPOCH) << (MACHINE_ID_BITS + SEQUENCE_BITS)) | (1L << SEQUENCE_BITS) | sequence;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
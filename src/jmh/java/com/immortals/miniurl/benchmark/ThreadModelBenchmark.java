@@ -0,0 +1,95 @@
+package com.immortals.miniurl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Throughput of redirect-shaped work (mostly waiting on Redis/JDBC I/O, a little CPU) on a fixed pool of
+ * platform threads sized like Tomcat's default connector versus one virtual thread per task.
+ * <p>
+ * {@code synchronizedSection} adds a short monitor-guarded section around the simulated I/O, the pattern
+ * that pins virtual threads to their carriers, to show the cost of leaving such sections on I/O paths.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ThreadModelBenchmark {
+
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"2000"})
+    public int concurrentRequests;
+
+    @Param({"1000"})
+    public long ioMicros;
+
+    @Param({"10"})
+    public long criticalSectionMicros;
+
+    @Param({"false", "true"})
+    public boolean synchronizedSection;
+
+    private final Object monitor = new Object();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(threads) ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Scores are requests per second; keep {@link OperationsPerInvocation} equal to {@code concurrentRequests}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(2000)
+    public void burst(Blackhole blackhole) throws Exception {
+        List<Future<Long>> results = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            results.add(executor.submit(this::handleRequest));
+        }
+        for (Future<Long> result : results) {
+            blackhole.consume(result.get());
+        }
+    }
+
+    private long handleRequest() {
+        long work = System.nanoTime() ^ Thread.currentThread()
+                .threadId();
+        long criticalSectionNanos = TimeUnit.MICROSECONDS.toNanos(criticalSectionMicros);
+        if (synchronizedSection) {
+            synchronized (monitor) {
+                LockSupport.parkNanos(criticalSectionNanos);
+            }
+        } else {
+            lock.lock();
+            try {
+                LockSupport.parkNanos(criticalSectionNanos);
+            } finally {
+                lock.unlock();
+            }
+        }
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(ioMicros));
+        return work * 31;
+    }
+}
@@ -1,6 +1,11 @@
 package com.immortals.miniurl.config.cache;
 
 
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.service.cache.BucketedUrlCacheService;
+import com.immortals.miniurl.service.cache.CacheService;
+import com.immortals.miniurl.service.cache.RedisCacheOperations;
+import com.immortals.miniurl.service.cache.RedisCacheService;
 import io.lettuce.core.ClientOptions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -13,8 +18,11 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -79,4 +87,56 @@ public class CacheConfiguration {
         return template;
     }
 
+    /**
+     * Template dedicated to the short URL cache: plain string keys and the compact binary value codec
+     * instead of JSON.
+     */
+    @Bean
+    public RedisTemplate<String, CachedUrlDataDto> urlCacheRedisTemplate(@Qualifier("lettuceConnectionFactory") RedisConnectionFactory factory) {
+        RedisTemplate<String, CachedUrlDataDto> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+
+        template.setValueSerializer(new CachedUrlDataRedisSerializer());
+        template.setHashValueSerializer(new CachedUrlDataRedisSerializer());
+
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Non-blocking counterpart of {@code urlCacheRedisTemplate} over the same Lettuce connection, same
+     * key and value encoding.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, CachedUrlDataDto> reactiveUrlCacheRedisTemplate(@Qualifier("lettuceConnectionFactory") LettuceConnectionFactory factory) {
+        RedisSerializationContext<String, CachedUrlDataDto> context = RedisSerializationContext.<String, CachedUrlDataDto>newSerializationContext(new StringRedisSerializer())
+                .value(new CachedUrlDataRedisSerializer())
+                .hashKey(new StringRedisSerializer())
+                .hashValue(new CachedUrlDataRedisSerializer())
+                .build();
+        return new ReactiveRedisTemplate<>(factory, context);
+    }
+
+    @Bean
+    public CacheService<String, CachedUrlDataDto> urlRedisCacheService(@Qualifier("urlCacheRedisTemplate") RedisTemplate<String, CachedUrlDataDto> urlCacheRedisTemplate,
+                                                                       @Qualifier("redisCacheService") RedisCacheOperations<String, Object> redisCacheService,
+                                                                       UrlCacheProperties urlCacheProperties) {
+        if ("hashed".equalsIgnoreCase(urlCacheProperties.getLayout())) {
+            log.info("Short URL cache uses the hashed layout with {} buckets", urlCacheProperties.getHashBuckets());
+            return new BucketedUrlCacheService(urlCacheRedisTemplate, urlCacheProperties.getHashBuckets(), redisCacheService,
+                    urlCacheProperties.getSweepLockTtl());
+        }
+        return new RedisCacheService<>(urlCacheRedisTemplate);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(@Qualifier("lettuceConnectionFactory") RedisConnectionFactory factory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        return container;
+    }
+
 }
@@ -0,0 +1,35 @@
+package com.immortals.miniurl.config.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for loading the most-clicked links into the URL cache before the instance takes traffic.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.warmup")
+@Getter
+@Setter
+public class CacheWarmupProperties {
+
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * Number of links to load, ranked by number_of_clicks.
+     */
+    private Integer topN = 10_000;
+
+    /**
+     * Rows per keyset page; each page is written to Redis in one pipeline.
+     */
+    private Integer batchSize = 1_000;
+
+    /**
+     * Upper bound on the time spent warming; whatever has been loaded by then is kept.
+     */
+    private Duration maxDuration = Duration.ofSeconds(60);
+}
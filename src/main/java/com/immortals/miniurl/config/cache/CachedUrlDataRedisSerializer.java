@@ -0,0 +1,133 @@
+package com.immortals.miniurl.config.cache;
+
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.model.enums.RedirectType;
+import com.immortals.miniurl.utils.JsonUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Compact binary encoding of {@link CachedUrlDataDto} for the URL cache.
+ * <pre>
+ * v1: [0x01][varint url length][url UTF-8 bytes][varint expiry epoch seconds, 0 = none]
+ * v2: v1 with a leading 0x02 followed by [redirect type: 0 = unknown, otherwise ordinal + 1]
+ * </pre>
+ * New entries are always written as v2; v1 entries are still read, with no redirect type.
+ * Values written before this format existed were pretty-printed JSON wrapped in a JSON string by
+ * {@code GenericJackson2JsonRedisSerializer}; they start with {@code "} or <code>{</code> and are still
+ * readable, so old entries simply age out through their TTL.
+ */
+@Slf4j
+public class CachedUrlDataRedisSerializer implements RedisSerializer<CachedUrlDataDto> {
+
+    static final byte FORMAT_V1 = 0x01;
+    static final byte FORMAT_V2 = 0x02;
+
+    private static final RedirectType[] REDIRECT_TYPES = RedirectType.values();
+
+    private static final byte LEGACY_JSON_STRING = '"';
+    private static final byte LEGACY_JSON_OBJECT = '{';
+
+    @Override
+    public byte[] serialize(CachedUrlDataDto value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        byte[] url = value.getOriginalUrl()
+                .getBytes(StandardCharsets.UTF_8);
+        long expiry = value.getExpiresAt() == null ? 0L : value.getExpiresAt()
+                .getEpochSecond();
+
+        byte[] out = new byte[1 + varintSize(url.length) + url.length + varintSize(expiry) + 1];
+        out[0] = FORMAT_V2;
+        int position = writeVarint(out, 1, url.length);
+        System.arraycopy(url, 0, out, position, url.length);
+        position = writeVarint(out, position + url.length, expiry);
+        out[position] = (byte) (value.getRedirectType() == null ? 0 : value.getRedirectType()
+                .ordinal() + 1);
+        return out;
+    }
+
+    @Override
+    public CachedUrlDataDto deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        return switch (bytes[0]) {
+            case FORMAT_V1, FORMAT_V2 -> readBinary(bytes);
+            case LEGACY_JSON_STRING, LEGACY_JSON_OBJECT -> readLegacy(bytes);
+            default -> throw new SerializationException("Unknown cached URL format: " + bytes[0]);
+        };
+    }
+
+    private static CachedUrlDataDto readBinary(byte[] bytes) {
+        try {
+            int[] cursor = {1};
+            int urlLength = (int) readVarint(bytes, cursor);
+            int start = cursor[0];
+            String url = new String(bytes, start, urlLength, StandardCharsets.UTF_8);
+            cursor[0] = start + urlLength;
+            long expiry = readVarint(bytes, cursor);
+            RedirectType redirectType = bytes[0] == FORMAT_V2 ? redirectTypeOf(bytes[cursor[0]]) : null;
+            return new CachedUrlDataDto(url, expiry == 0L ? null : Instant.ofEpochSecond(expiry), redirectType);
+        } catch (IndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated cached URL entry", e);
+        }
+    }
+
+    private static CachedUrlDataDto readLegacy(byte[] bytes) {
+        try {
+            String json = bytes[0] == LEGACY_JSON_STRING ? JsonUtils.getMapper()
+                    .readValue(bytes, String.class) : new String(bytes, StandardCharsets.UTF_8);
+            log.debug("Read cached URL entry in legacy JSON format");
+            return JsonUtils.fromJson(json, CachedUrlDataDto.class);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Unreadable legacy cached URL entry", e);
+        }
+    }
+
+    // Types added by a newer release than this one are read as unknown rather than failing the lookup.
+    private static RedirectType redirectTypeOf(byte encoded) {
+        int ordinal = (encoded & 0xFF) - 1;
+        return ordinal >= 0 && ordinal < REDIRECT_TYPES.length ? REDIRECT_TYPES[ordinal] : null;
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarint(byte[] out, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[position++] = (byte) value;
+        return position;
+    }
+
+    private static long readVarint(byte[] in, int[] cursor) {
+        int position = cursor[0];
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new SerializationException("Malformed varint in cached URL entry");
+            }
+            b = in[position++];
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        cursor[0] = position;
+        return result;
+    }
+}
@@ -0,0 +1,48 @@
+package com.immortals.miniurl.config.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for detecting very hot short codes on the redirect path and pinning them in process.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.hot-keys")
+@Getter
+@Setter
+public class HotKeyProperties {
+
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * Counters per count-min sketch row; rounded up to a power of two.
+     */
+    private Integer sketchWidth = 4_096;
+
+    private Integer sketchDepth = 4;
+
+    /**
+     * Size of the hot set, i.e. the most codes pinned on one node at a time.
+     */
+    private Integer topK = 64;
+
+    /**
+     * Estimated lookups per decay window a code needs before it can enter the hot set.
+     */
+    private Long threshold = 1_000L;
+
+    /**
+     * All counts are halved at this interval, so the hot set follows current traffic.
+     */
+    private Duration decayInterval = Duration.ofSeconds(10);
+
+    /**
+     * How often pinned entries are reloaded from Redis and the pinned set is reconciled with the hot set.
+     * Also bounds how long a node keeps serving a pinned link that was changed or deactivated elsewhere.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(2);
+}
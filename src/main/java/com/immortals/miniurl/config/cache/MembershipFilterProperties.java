@@ -0,0 +1,42 @@
+package com.immortals.miniurl.config.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the short URL membership filter and the negative cache used to reject unknown codes
+ * before they reach Redis or the database.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.membership")
+@Getter
+@Setter
+public class MembershipFilterProperties {
+
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * Capacity of the first Bloom filter slice; the filter grows on its own past this point.
+     */
+    private Long expectedInsertions = 1_000_000L;
+
+    private Double falsePositiveRate = 0.01;
+
+    /**
+     * Page size of the keyset scan over url_mapping while (re)building the filter.
+     */
+    private Integer loadBatchSize = 10_000;
+
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    private Long negativeMaximumSize = 100_000L;
+
+    /**
+     * Redis pub/sub channel used to propagate newly created short URLs to the other nodes.
+     */
+    private String channel = "mini-url:short-url-created";
+}
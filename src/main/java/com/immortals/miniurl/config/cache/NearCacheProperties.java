@@ -0,0 +1,37 @@
+package com.immortals.miniurl.config.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process (L1) tier that sits in front of Redis on the redirect path.
+ * Weights are approximate sizes in characters (key length + cached value length).
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.near")
+@Getter
+@Setter
+public class NearCacheProperties {
+
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * Upper bound for the summed weight of all near-cache entries.
+     */
+    private Long maximumWeight = 16_777_216L;
+
+    /**
+     * Entries heavier than this are served from Redis only and never admitted locally.
+     */
+    private Integer maximumEntryWeight = 4_096;
+
+    /**
+     * Longest time an entry may live locally, even if the link itself expires later.
+     * Bounds how stale a node can be after a link is changed elsewhere.
+     */
+    private Duration maximumTtl = Duration.ofMinutes(1);
+}
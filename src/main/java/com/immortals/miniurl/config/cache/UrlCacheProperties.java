@@ -0,0 +1,44 @@
+package com.immortals.miniurl.config.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * How short URL entries are laid out in Redis.
+ * <ul>
+ *     <li>{@code plain}: one string key per short code, expired by Redis through its TTL.</li>
+ *     <li>{@code hashed}: codes are spread over {@code hash-buckets} small hashes. Small hashes are stored
+ *     as listpacks, which costs far less memory per entry than top-level keys. Expiry is enforced on read
+ *     from the entry's own expiresAt, and entries never read again are removed by a sweep on
+ *     {@code sweep-cron}, run by one node at a time. Redis only keeps a bucket as a listpack while it stays under
+ *     {@code hash-max-listpack-entries} / {@code hash-max-listpack-value}, so size the bucket count and
+ *     those two settings together.</li>
+ * </ul>
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.url")
+@Getter
+@Setter
+public class UrlCacheProperties {
+
+    private String layout = "plain";
+
+    /**
+     * Number of Redis hashes used by the {@code hashed} layout.
+     */
+    private Integer hashBuckets = 65_536;
+
+    /**
+     * When the {@code hashed} layout deletes expired entries from its buckets.
+     */
+    private String sweepCron = "0 45 * * * *";
+
+    /**
+     * Lease that lets one node sweep per run; a node that dies mid-sweep holds it until it expires.
+     */
+    private Duration sweepLockTtl = Duration.ofMinutes(30);
+}
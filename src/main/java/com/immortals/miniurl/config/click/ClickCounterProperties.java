@@ -0,0 +1,50 @@
+package com.immortals.miniurl.config.click;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for redirect click counting. Clicks are aggregated off the request path and written to
+ * url_mapping.number_of_clicks in batches.
+ */
+@Component
+@ConfigurationProperties(prefix = "click-counter")
+@Getter
+@Setter
+public class ClickCounterProperties {
+
+    /**
+     * Where clicks accumulate between flushes: {@code local} (per-node memory) or {@code redis}
+     * (shared and durable across node restarts).
+     */
+    private String store = "local";
+
+    /**
+     * Delay between two flushes of the aggregated click deltas.
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of UPDATE statements sent to the database in one JDBC batch.
+     */
+    private Integer batchSize = 500;
+
+    /**
+     * Number of Redis hashes the click counters are spread over when {@code store} is {@code redis}.
+     */
+    private Integer redisBuckets = 64;
+
+    /**
+     * Lifetime of the cluster-wide lock that lets a single node drain the Redis counters at a time.
+     */
+    private Duration drainLockTtl = Duration.ofMinutes(1);
+
+    /**
+     * How long applied Redis batch ids are remembered to reject duplicate drains.
+     */
+    private Duration drainLogRetention = Duration.ofDays(7);
+}
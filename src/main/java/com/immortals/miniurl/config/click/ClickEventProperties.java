@@ -0,0 +1,46 @@
+package com.immortals.miniurl.config.click;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for per-click analytics events. Redirects hand events to a bounded in-memory queue and a
+ * background writer inserts them into click_event in batches; when the queue is full events are dropped
+ * rather than slowing redirects down.
+ */
+@Component
+@ConfigurationProperties(prefix = "click-events")
+@Getter
+@Setter
+public class ClickEventProperties {
+
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * Queue capacity in events; rounded up to a power of two.
+     */
+    private Integer capacity = 65_536;
+
+    /**
+     * Maximum number of events inserted in one JDBC batch.
+     */
+    private Integer batchSize = 1_000;
+
+    /**
+     * Longest time a partial batch waits for more events before it is written.
+     */
+    private Duration maxBatchDelay = Duration.ofMillis(200);
+
+    /**
+     * What to give up when the queue is full: the event being published or the oldest queued one.
+     */
+    private DropPolicy dropPolicy = DropPolicy.DROP_NEWEST;
+
+    public enum DropPolicy {
+        DROP_NEWEST, DROP_OLDEST
+    }
+}
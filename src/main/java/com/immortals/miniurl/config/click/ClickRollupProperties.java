@@ -0,0 +1,45 @@
+package com.immortals.miniurl.config.click;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the minute/hour/day click rollups behind the stats API.
+ */
+@Component
+@ConfigurationProperties(prefix = "click-rollups")
+@Getter
+@Setter
+public class ClickRollupProperties {
+
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * Delay between two upserts of the in-memory per-minute counters.
+     */
+    private Duration flushInterval = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of upsert statements per JDBC batch.
+     */
+    private Integer batchSize = 500;
+
+    /**
+     * Minute buckets older than this are deleted by compaction; hour and day buckets still hold their clicks.
+     */
+    private Duration minuteRetention = Duration.ofDays(2);
+
+    /**
+     * Hour buckets older than this are deleted by compaction; day buckets are kept.
+     */
+    private Duration hourRetention = Duration.ofDays(90);
+
+    /**
+     * Largest number of buckets one stats query may span.
+     */
+    private Integer maxPoints = 2_000;
+}
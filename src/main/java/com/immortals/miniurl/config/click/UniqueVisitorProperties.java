@@ -0,0 +1,45 @@
+package com.immortals.miniurl.config.click;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-link unique visitor estimates, kept as one Redis HyperLogLog per short URL.
+ */
+@Component
+@ConfigurationProperties(prefix = "unique-visitors")
+@Getter
+@Setter
+public class UniqueVisitorProperties {
+
+    /**
+     * Off by default: turning the estimates on requires a {@code salt}.
+     */
+    private Boolean enabled = Boolean.FALSE;
+
+    /**
+     * Delay between two pipelined PFADD rounds of the visitors seen since the previous one.
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * Visitors buffered between flushes beyond which further ones are dropped.
+     */
+    private Integer maxPending = 100_000;
+
+    /**
+     * Idle time after which a link's HyperLogLog expires; every flush touching the link restarts it.
+     */
+    private Duration retention = Duration.ofDays(400);
+
+    /**
+     * Secret mixed into the visitor hash so stored elements cannot be matched back to client IPs. Must be
+     * the same on every node for their visitors to be counted once, and must not be blank while the
+     * estimates are enabled.
+     */
+    private String salt = "";
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import javax.sql.DataSource;
 import java.util.HashMap;
@@ -56,4 +57,13 @@ public class DataSourceConfig {
         routingDataSource.afterPropertiesSet();
         return routingDataSource;
     }
+
+    /**
+     * JDBC access on the routing data source, so {@code @ReadOnly}/{@code @WriteOnly} apply as they do for JPA
+     * and statements join the surrounding JPA transaction.
+     */
+    @Bean
+    public JdbcTemplate jdbcTemplate(@Qualifier("routingDataSource") DataSource routingDataSource) {
+        return new JdbcTemplate(routingDataSource);
+    }
 }
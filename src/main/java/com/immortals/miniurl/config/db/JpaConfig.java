@@ -1,6 +1,8 @@
 package com.immortals.miniurl.config.db;
 
+import com.immortals.miniurl.config.id.BatchShortenProperties;
 import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
@@ -18,6 +20,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
 import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableTransactionManagement
@@ -39,11 +42,19 @@ public class JpaConfig {
     @Bean
     public EntityManagerFactoryBuilder entityManagerFactoryBuilder(
             JpaVendorAdapter jpaVendorAdapter,
-            ObjectProvider<PersistenceUnitManager> persistenceUnitManager) {
+            ObjectProvider<PersistenceUnitManager> persistenceUnitManager,
+            BatchShortenProperties batchShortenProperties) {
+
+        Map<String, Object> jpaProperties = new HashMap<>();
+        // Group inserts into JDBC batches; sequence-generated IDs keep this possible.
+        jpaProperties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchShortenProperties.getJdbcBatchSize());
+        jpaProperties.put(AvailableSettings.ORDER_INSERTS, true);
+        // With allocationSize > 1, each nextval reserves [value, value + allocationSize) for this node.
+        jpaProperties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
 
         return new EntityManagerFactoryBuilder(
                 jpaVendorAdapter,
-                new HashMap<>(),
+                jpaProperties,
                 persistenceUnitManager.getIfAvailable()
         );
     }
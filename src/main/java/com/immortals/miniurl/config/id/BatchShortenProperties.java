@@ -0,0 +1,26 @@
+package com.immortals.miniurl.config.id;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for {@code POST /api/v1/url/shorten/batch} and the JDBC batching its inserts rely on.
+ */
+@Component
+@ConfigurationProperties(prefix = "batch-shorten")
+@Getter
+@Setter
+public class BatchShortenProperties {
+
+    /**
+     * Largest number of items accepted in one request.
+     */
+    private Integer maxItems = 1_000;
+
+    /**
+     * Hibernate JDBC batch size. Applies to every JPA insert and update, not only batch shortening.
+     */
+    private Integer jdbcBatchSize = 50;
+}
@@ -0,0 +1,21 @@
+package com.immortals.miniurl.config.id;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for regenerating a short code whose insert hit the unique index on url_mapping.short_url.
+ */
+@Component
+@ConfigurationProperties(prefix = "collision-retry")
+@Getter
+@Setter
+public class CollisionRetryProperties {
+
+    /**
+     * Inserts tried per link, the first one included, before giving up. Custom aliases are never retried.
+     */
+    private Integer maxAttempts = 5;
+}
@@ -0,0 +1,22 @@
+package com.immortals.miniurl.config.id;
+
+import com.immortals.miniurl.model.enums.HashEngineType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the HASH strategy used for deterministic short URLs.
+ */
+@Component
+@ConfigurationProperties(prefix = "hash-strategy")
+@Getter
+@Setter
+public class HashStrategyProperties {
+
+    /**
+     * MURMUR3 is a fast non-cryptographic hash; SHA256 is slower but hard to steer towards a chosen code.
+     */
+    private HashEngineType engine = HashEngineType.MURMUR3;
+}
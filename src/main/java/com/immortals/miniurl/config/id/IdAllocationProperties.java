@@ -0,0 +1,31 @@
+package com.immortals.miniurl.config.id;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the block-leased ID allocator behind the incremental short URL strategy.
+ */
+@Component
+@ConfigurationProperties(prefix = "id-allocation")
+@Getter
+@Setter
+public class IdAllocationProperties {
+
+    /**
+     * Row of id_block the incremental strategy leases its blocks from.
+     */
+    private String counter = "short-url";
+
+    /**
+     * Number of IDs leased per database call. IDs left in a block when a node stops are never used.
+     */
+    private Integer blockSize = 10_000;
+
+    /**
+     * Fraction of a block left when the next block is leased in the background.
+     */
+    private Double prefetchThreshold = 0.2;
+}
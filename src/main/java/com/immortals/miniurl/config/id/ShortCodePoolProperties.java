@@ -0,0 +1,50 @@
+package com.immortals.miniurl.config.id;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+import static com.immortals.miniurl.constants.UrlConstants.RANDOM_LENGTH;
+
+/**
+ * Settings for the pool of pre-generated random short codes.
+ */
+@Component
+@ConfigurationProperties(prefix = "short-code-pool")
+@Getter
+@Setter
+public class ShortCodePoolProperties {
+
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * Codes kept ready in memory per node. Codes still pooled when a node stops are never used.
+     */
+    private Integer capacity = 10_000;
+
+    /**
+     * Fraction of {@code capacity} below which taking a code starts a background refill.
+     */
+    private Double lowWatermark = 0.25;
+
+    /**
+     * Codes generated, checked and reserved per database round trip.
+     */
+    private Integer refillBatchSize = 1_000;
+
+    /**
+     * Delay between two scheduled top-ups of the pool.
+     */
+    private Duration refillInterval = Duration.ofSeconds(5);
+
+    /**
+     * Age after which a reservation no link has used is deleted, such as the codes pooled on a node that has
+     * since stopped. A node stops handing out its pooled codes at half this age, before they can be pruned.
+     */
+    private Duration unusedRetention = Duration.ofDays(1);
+
+    private Integer codeLength = RANDOM_LENGTH;
+}
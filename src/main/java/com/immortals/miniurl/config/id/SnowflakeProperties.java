@@ -0,0 +1,33 @@
+package com.immortals.miniurl.config.id;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the Snowflake worker ID of this node, leased from Redis so every node gets a distinct one.
+ */
+@Component
+@ConfigurationProperties(prefix = "snowflake")
+@Getter
+@Setter
+public class SnowflakeProperties {
+
+    /**
+     * Fixed worker ID; when set no lease is taken, so it must be unique among the nodes by configuration.
+     */
+    private Integer workerId;
+
+    /**
+     * Time after which a lease not renewed by its node expires and its worker ID can be taken again.
+     */
+    private Duration leaseTtl = Duration.ofSeconds(30);
+
+    /**
+     * Delay between two renewals of the lease; keep well below {@code lease-ttl}.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(10);
+}
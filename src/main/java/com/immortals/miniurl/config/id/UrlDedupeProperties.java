@@ -0,0 +1,21 @@
+package com.immortals.miniurl.config.id;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for returning a user's existing link instead of creating another one for the same URL.
+ */
+@Component
+@ConfigurationProperties(prefix = "url-dedupe")
+@Getter
+@Setter
+public class UrlDedupeProperties {
+
+    /**
+     * Look up the user's active links by url_hash before creating one. Custom aliases always get a new link.
+     */
+    private Boolean enabled = true;
+}
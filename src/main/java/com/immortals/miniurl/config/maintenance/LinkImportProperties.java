@@ -0,0 +1,58 @@
+package com.immortals.miniurl.config.maintenance;
+
+import com.immortals.miniurl.model.enums.LinkImportFormat;
+import com.immortals.miniurl.model.enums.RedirectType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link com.immortals.miniurl.service.maintenance.LinkImportRunner}.
+ */
+@Component
+@ConfigurationProperties(prefix = "maintenance.link-import")
+@Getter
+@Setter
+public class LinkImportProperties {
+
+    private Boolean enabled = false;
+
+    /**
+     * File to import.
+     */
+    private String file;
+
+    /**
+     * Input format; derived from the file extension (.csv, .ndjson, .jsonl) when unset.
+     */
+    private LinkImportFormat format;
+
+    /**
+     * Key of the checkpoint; defaults to the file name. Rerunning with the same name resumes after the last
+     * committed chunk.
+     */
+    private String name;
+
+    /**
+     * Lines copied per transaction, and so the most work lost when an import is interrupted.
+     */
+    private Integer chunkSize = 10_000;
+
+    /**
+     * Owner of rows without a user_id column.
+     */
+    private Long userId = 0L;
+
+    /**
+     * Lifetime of rows without an expires_at column.
+     */
+    private Duration defaultExpiry = Duration.ofDays(3650);
+
+    /**
+     * Redirect type of rows without a redirect_type column.
+     */
+    private RedirectType redirectType = RedirectType.TEMPORARY;
+}
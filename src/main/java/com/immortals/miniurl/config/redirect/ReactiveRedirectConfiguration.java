@@ -0,0 +1,23 @@
+package com.immortals.miniurl.config.redirect;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@ConditionalOnProperty(prefix = "redirect.reactive", name = "enabled", havingValue = "true")
+public class ReactiveRedirectConfiguration {
+
+    /**
+     * Bounded pool for the blocking database fallback of the non-blocking redirect endpoint, so a burst of
+     * cache misses queues up here instead of occupying request threads.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler redirectFallbackScheduler(RedirectProperties redirectProperties) {
+        return Schedulers.newBoundedElastic(redirectProperties.getReactive()
+                .getFallbackThreads(), redirectProperties.getReactive()
+                .getFallbackQueueSize(), "redirect-fallback");
+    }
+}
@@ -0,0 +1,87 @@
+package com.immortals.miniurl.config.redirect;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for the redirect endpoints.
+ */
+@Component
+@ConfigurationProperties(prefix = "redirect")
+@Getter
+@Setter
+public class RedirectProperties {
+
+    private FastPath fastPath = new FastPath();
+
+    private Reactive reactive = new Reactive();
+
+    private Caching caching = new Caching();
+
+    @Getter
+    @Setter
+    public static class FastPath {
+
+        /**
+         * Serves {@code GET /{code}} from a servlet filter ahead of security, ETag and MVC processing.
+         */
+        private Boolean enabled = Boolean.TRUE;
+
+        /**
+         * Single-segment paths that are never treated as short codes, in addition to the reserved aliases.
+         */
+        private List<String> passThrough = List.of("health", "error");
+    }
+
+    @Getter
+    @Setter
+    public static class Reactive {
+
+        /**
+         * Exposes the non-blocking redirect endpoint next to the servlet one.
+         */
+        private Boolean enabled = Boolean.FALSE;
+
+        /**
+         * Upper bound of threads running blocking database fallbacks for the non-blocking endpoint.
+         */
+        private Integer fallbackThreads = 32;
+
+        /**
+         * Fallbacks allowed to wait for a thread; beyond this, redirects are answered with 503.
+         */
+        private Integer fallbackQueueSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Caching {
+
+        /**
+         * Adds Cache-Control/Expires to redirects so browsers and CDNs can answer repeat clicks; when off,
+         * every redirect is sent with {@code no-store}.
+         */
+        private Boolean enabled = Boolean.TRUE;
+
+        /**
+         * Shared-cache lifetime of 301/308 redirects, capped by the link's expiry.
+         */
+        private Duration permanentMaxAge = Duration.ofDays(1);
+
+        /**
+         * Browser-only lifetime of 302/307 redirects, capped by the link's expiry; zero disables it.
+         */
+        private Duration temporaryMaxAge = Duration.ofMinutes(1);
+
+        /**
+         * Fraction of cacheable redirects sent with {@code no-store} anyway, so that clients keep coming back
+         * often enough for click counts to reflect relative traffic.
+         */
+        private Double uncachedSampleRate = 0.1;
+    }
+}
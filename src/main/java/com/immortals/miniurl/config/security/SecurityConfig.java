@@ -50,6 +50,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
                                 "/redirect",
+                                "/api/v1/url/r/**",
                                 "/health",
                                 "/actuator/**",
                                 "/static/**",
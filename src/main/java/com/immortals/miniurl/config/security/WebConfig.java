@@ -1,10 +1,19 @@
 package com.immortals.miniurl.config.security;
 
+import com.immortals.miniurl.config.redirect.RedirectProperties;
+import com.immortals.miniurl.filter.RedirectFastPathFilter;
 import com.immortals.miniurl.security.interceptor.ClientIpInterceptor;
+import com.immortals.miniurl.service.UrlShortenerService;
+import com.immortals.miniurl.service.click.ClickEventPipeline;
+import com.immortals.miniurl.service.redirect.RedirectRateLimiter;
+import com.immortals.miniurl.service.redirect.RedirectResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.http.CacheControl;
 import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -35,6 +44,24 @@ public class WebConfig implements WebMvcConfigurer {
     }
 
 
+    /**
+     * Registered right after the observation filter (HIGHEST_PRECEDENCE + 1) so redirects stay traced but
+     * skip every other filter.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "redirect.fast-path", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RedirectFastPathFilter> redirectFastPathFilter(UrlShortenerService urlShortenerService,
+                                                                                 RedirectRateLimiter redirectRateLimiter,
+                                                                                 RedirectResponses redirectResponses,
+                                                                                 ClickEventPipeline clickEventPipeline,
+                                                                                 RedirectProperties redirectProperties) {
+        FilterRegistrationBean<RedirectFastPathFilter> registration = new FilterRegistrationBean<>(
+                new RedirectFastPathFilter(urlShortenerService, redirectRateLimiter, redirectResponses, clickEventPipeline, redirectProperties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
     @Bean
     public ShallowEtagHeaderFilter shallowEtagHeaderFilter() {
         return new ShallowEtagHeaderFilter();
@@ -2,7 +2,6 @@ package com.immortals.miniurl.constants;
 
 public class UrlConstants {
 
-    public static final int MAX_SHA256_BASE64URL_LENGTH = 43;
     public static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
 
     public static final int MAX_RANDOM_LENGTH = 10;
@@ -18,16 +17,19 @@ public class UrlConstants {
     public static final int RANDOM_LENGTH = 7;
     public static final int HASH_LENGTH = 10;
     public static final int TIMESTAMP_RANDOM_LENGTH = 6;
-    public static final String HASH_ALGORITHM = "SHA-256";
 
 
-    public static final int MACHINE_ID = 1;
     public static final long EPOCH = 1609459200000L; // Jan 1, 2021
     public static final int MACHINE_ID_BITS = 5;
     public static final int SEQUENCE_BITS = 12;
 
     public static final String[] RESERVED_ALIASES = {"admin", "login", "signup", "dashboard", "api", "support", "help", "contact"};
 
+    public static final String URL_CACHE_KEY_PREFIX = "u:";
+    public static final String URL_CACHE_BUCKET_PREFIX = "u:b:";
+
+    public static final double CACHE_TTL_JITTER_RATIO = 0.1; // up to 10% earlier than the link expiry
+
     public static final int MAX_TOKENS = 100;     // max tokens in bucket
     public static final int REFILL_TOKENS_PER_SECONDS = 10;
 }
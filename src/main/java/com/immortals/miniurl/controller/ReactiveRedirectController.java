@@ -0,0 +1,49 @@
+package com.immortals.miniurl.controller;
+
+import com.immortals.miniurl.service.click.ClickEventPipeline;
+import com.immortals.miniurl.service.redirect.ReactiveRedirectService;
+import com.immortals.miniurl.service.redirect.RedirectResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Non-blocking variant of {@link UrlShortenerController#redirectToLongUrl}. Returning a {@link Mono} makes
+ * Spring MVC complete the request asynchronously, so the servlet thread is released while Redis (or the
+ * fallback pool) is working.
+ */
+@RestController
+@RequestMapping("/api/v1/url")
+@ConditionalOnProperty(prefix = "redirect.reactive", name = "enabled", havingValue = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveRedirectController {
+
+    private final ReactiveRedirectService reactiveRedirectService;
+    private final RedirectResponses redirectResponses;
+    private final ClickEventPipeline clickEventPipeline;
+
+    @GetMapping("/r/{shortUrl}")
+    public Mono<ResponseEntity<Void>> redirectToLongUrl(@PathVariable String shortUrl, HttpServletRequest request) {
+        return reactiveRedirectService.resolve(shortUrl)
+                .doOnNext(target -> clickEventPipeline.publish(shortUrl, request))
+                .map(redirectResponses::toResponseEntity)
+                .defaultIfEmpty(ResponseEntity.notFound()
+                        .build())
+                .onErrorResume(RejectedExecutionException.class, e -> {
+                    log.warn("Redirect fallback pool saturated, rejecting short URL [{}]", shortUrl);
+                    return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .build());
+                });
+    }
+}
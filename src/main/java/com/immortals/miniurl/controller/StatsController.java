@@ -0,0 +1,36 @@
+package com.immortals.miniurl.controller;
+
+import com.immortals.miniurl.model.dto.ClickStatsDto;
+import com.immortals.miniurl.model.enums.RollupGranularity;
+import com.immortals.miniurl.service.stats.LinkStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/v1/url/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final LinkStatsService linkStatsService;
+
+    @PreAuthorize("hasRole('ROLE_USER') or hasRole('ADMIN')")
+    @GetMapping(value = "/me", produces = "application/json")
+    public ClickStatsDto userStats(@RequestParam(required = false) RollupGranularity granularity,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return linkStatsService.userStats(granularity, from, to);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER') or hasRole('ADMIN')")
+    @GetMapping(value = "/{shortUrl}", produces = "application/json")
+    public ClickStatsDto linkStats(@PathVariable String shortUrl,
+                                   @RequestParam(required = false) RollupGranularity granularity,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return linkStatsService.linkStats(shortUrl, granularity, from, to);
+    }
+}
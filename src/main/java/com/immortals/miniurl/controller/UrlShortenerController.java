@@ -1,8 +1,14 @@
 package com.immortals.miniurl.controller;
 
+import com.immortals.miniurl.model.dto.BatchShortenRequestDto;
+import com.immortals.miniurl.model.dto.BatchShortenResponseDto;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
 import com.immortals.miniurl.model.dto.MiniUrlRequestDto;
 import com.immortals.miniurl.model.dto.MiniUrlResponseDto;
 import com.immortals.miniurl.service.UrlShortenerService;
+import com.immortals.miniurl.service.click.ClickEventPipeline;
+import com.immortals.miniurl.service.redirect.RedirectResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +26,8 @@ import java.io.IOException;
 public class UrlShortenerController {
 
     private final UrlShortenerService urlShortenerService;
+    private final RedirectResponses redirectResponses;
+    private final ClickEventPipeline clickEventPipeline;
 
     @PreAuthorize("hasRole('ROLE_USER') or hasRole('ADMIN')")
     @PostMapping(value = "/shorten", consumes = "application/json", produces = "application/json")
@@ -28,11 +36,18 @@ public class UrlShortenerController {
         return urlShortenerService.createShortUrl(miniUrlRequestDto);
     }
 
+    @PreAuthorize("hasRole('ROLE_USER') or hasRole('ADMIN')")
+    @PostMapping(value = "/shorten/batch", consumes = "application/json", produces = "application/json")
+    public BatchShortenResponseDto shortenBatch(@RequestBody @Valid BatchShortenRequestDto batchShortenRequestDto) {
+        return urlShortenerService.shortenBatch(batchShortenRequestDto);
+    }
+
     @GetMapping("/redirect/{shortUrl}")
-    public void redirectToLongUrl(@PathVariable String shortUrl, HttpServletResponse response) throws IOException {
-        String longUrl = urlShortenerService.getLongUrl(shortUrl);
-        if (longUrl != null) {
-            response.sendRedirect(longUrl);
+    public void redirectToLongUrl(@PathVariable String shortUrl, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CachedUrlDataDto target = urlShortenerService.resolve(shortUrl);
+        if (target != null) {
+            clickEventPipeline.publish(shortUrl, request);
+            redirectResponses.write(response, target);
         } else {
             response.sendError(HttpServletResponse.SC_NOT_FOUND, "Short URL not found");
         }
@@ -2,6 +2,7 @@ package com.immortals.miniurl.controller.exception;
 
 
 import com.immortals.miniurl.model.dto.ErrorDto;
+import com.immortals.miniurl.service.exception.UrlNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -148,6 +149,15 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorDto, new HttpHeaders(), errorDto.getStatus());
     }
 
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler({UrlNotFoundException.class})
+    public ResponseEntity<ErrorDto> handleUrlNotFound(final UrlNotFoundException urlNotFoundException, HttpServletRequest request) {
+        logger.warn(urlNotFoundException.getClass()
+                .getName() + "Encountered" + " " + urlNotFoundException.getLocalizedMessage());
+        final ErrorDto errorDto = new ErrorDto(HttpStatus.NOT_FOUND, urlNotFoundException.getLocalizedMessage(), null, request.getRequestURI());
+        return new ResponseEntity<>(errorDto, new HttpHeaders(), errorDto.getStatus());
+    }
+
     @ResponseStatus(HttpStatus.METHOD_NOT_ALLOWED)
     @Override
     protected ResponseEntity<Object> handleHttpRequestMethodNotSupported(HttpRequestMethodNotSupportedException httpRequestMethodNotSupportedException, @NotNull HttpHeaders headers, @NotNull HttpStatusCode status, @NotNull WebRequest request) {
@@ -1,8 +1,11 @@
 package com.immortals.miniurl.factory;
 
+import com.immortals.miniurl.config.id.HashStrategyProperties;
 import com.immortals.miniurl.model.enums.UrlStrategyType;
 import com.immortals.miniurl.helper.*;
-import lombok.RequiredArgsConstructor;
+import com.immortals.miniurl.service.id.IdBlockAllocator;
+import com.immortals.miniurl.service.id.ShortCodePool;
+import com.immortals.miniurl.service.id.WorkerIdLease;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -10,17 +13,31 @@ import java.util.List;
 import static com.immortals.miniurl.constants.UrlConstants.*;
 
 @Component
-@RequiredArgsConstructor
 public class UrlShorteningStrategyFactory {
 
+    // Stateful strategies are shared: a fresh instance per request would restart their counters.
+    private final IncrementalStrategy incrementalStrategy;
+    private final SnowflakeStrategy snowflakeStrategy;
+    private final ShortCodePool shortCodePool;
+    private final HashStrategy hashStrategy;
+
+    public UrlShorteningStrategyFactory(IdBlockAllocator idBlockAllocator, WorkerIdLease workerIdLease, ShortCodePool shortCodePool,
+                                        HashStrategyProperties hashStrategyProperties) {
+        this.incrementalStrategy = new IncrementalStrategy(idBlockAllocator);
+        this.snowflakeStrategy = new SnowflakeStrategy(workerIdLease::workerId);
+        this.shortCodePool = shortCodePool;
+        this.hashStrategy = new HashStrategy(HASH_LENGTH, hashStrategyProperties.getEngine()
+                .create());
+    }
+
     public UrlShorteningStrategy getStrategy(UrlStrategyType type) {
         return switch (type) {
-            case INCREMENTAL -> new IncrementalStrategy();
-            case RANDOM -> new RandomStrategy(RANDOM_LENGTH);
-            case HASH -> new HashStrategy(HASH_LENGTH, HASH_ALGORITHM);
+            case INCREMENTAL -> incrementalStrategy;
+            case RANDOM -> shortCodePool;
+            case HASH -> hashStrategy;
             case TIMESTAMP_RANDOM -> new TimestampRandomStrategy(TIMESTAMP_RANDOM_LENGTH);
             case CUSTOM_ALIAS -> new CustomAliasStrategy(List.of(RESERVED_ALIASES));
-            case SNOWFLAKE -> new SnowflakeStrategy();
+            case SNOWFLAKE -> snowflakeStrategy;
         };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.immortals.miniurl.filter;
+
+import com.immortals.miniurl.config.redirect.RedirectProperties;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.service.UrlShortenerService;
+import com.immortals.miniurl.service.click.ClickEventPipeline;
+import com.immortals.miniurl.service.redirect.RedirectRateLimiter;
+import com.immortals.miniurl.service.redirect.RedirectResponses;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.immortals.miniurl.constants.UrlConstants.RESERVED_ALIASES;
+
+/**
+ * Serves public redirects ({@code GET /{code}}) before the rest of the filter chain. It runs after the
+ * observation filter, so requests are still traced, and applies its own in-process rate limit. Security,
+ * the Redis-backed rate limiter, the ETag filter and MVC are skipped, and the response is only a status
+ * line plus the {@code Location} and caching headers from {@link RedirectResponses}.
+ * <p>
+ * Anything that is not a single-segment, short-code-shaped GET path is passed down the normal chain.
+ */
+@Slf4j
+public class RedirectFastPathFilter extends OncePerRequestFilter {
+
+    private static final int MAX_CODE_LENGTH = 64;
+
+    private final UrlShortenerService urlShortenerService;
+    private final RedirectRateLimiter redirectRateLimiter;
+    private final RedirectResponses redirectResponses;
+    private final ClickEventPipeline clickEventPipeline;
+    private final Set<String> passThrough;
+
+    public RedirectFastPathFilter(UrlShortenerService urlShortenerService,
+                                  RedirectRateLimiter redirectRateLimiter,
+                                  RedirectResponses redirectResponses,
+                                  ClickEventPipeline clickEventPipeline,
+                                  RedirectProperties redirectProperties) {
+        this.urlShortenerService = urlShortenerService;
+        this.redirectRateLimiter = redirectRateLimiter;
+        this.redirectResponses = redirectResponses;
+        this.clickEventPipeline = clickEventPipeline;
+        this.passThrough = new HashSet<>(Arrays.asList(RESERVED_ALIASES));
+        this.passThrough.addAll(redirectProperties.getFastPath()
+                .getPassThrough());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || shortCodeOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!redirectRateLimiter.tryAcquire(request.getRemoteAddr())) {
+            writeEmpty(response, 429);
+            return;
+        }
+
+        String shortUrl = shortCodeOf(request);
+        CachedUrlDataDto target = urlShortenerService.resolve(shortUrl);
+        if (target == null) {
+            writeEmpty(response, HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        clickEventPipeline.publish(shortUrl, request);
+        redirectResponses.write(response, target);
+    }
+
+    private String shortCodeOf(HttpServletRequest request) {
+        String path = request.getRequestURI()
+                .substring(request.getContextPath()
+                        .length());
+        if (path.length() < 2 || path.length() > MAX_CODE_LENGTH + 1 || path.charAt(0) != '/') {
+            return null;
+        }
+        for (int i = 1; i < path.length(); i++) {
+            char c = path.charAt(i);
+            boolean allowed = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-' || c == '_';
+            if (!allowed) {
+                return null;
+            }
+        }
+        String code = path.substring(1);
+        return passThrough.contains(code) ? null : code;
+    }
+
+    private static void writeEmpty(HttpServletResponse response, int status) {
+        response.setStatus(status);
+        response.setContentLength(0);
+    }
+}
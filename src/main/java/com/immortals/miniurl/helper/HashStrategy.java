@@ -1,39 +1,45 @@
 package com.immortals.miniurl.helper;
 
 import com.immortals.miniurl.factory.UrlShorteningStrategy;
+import com.immortals.miniurl.helper.hash.HashEngine;
 import com.immortals.miniurl.service.exception.UrlShorteningException;
+import com.immortals.miniurl.utils.Base62Utils;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
-
-import static com.immortals.miniurl.constants.UrlConstants.MAX_SHA256_BASE64URL_LENGTH;
 
 /**
  * URL shortening strategy that generates a fixed-length short URL
- * based on a hash digest of the original URL.
+ * based on a 128-bit hash of the original URL, written straight in Base62.
+ * An optional first parameter is a collision salt counter, giving another
+ * deterministic code for the same URL when the first one is taken.
  */
 @Slf4j
 public class HashStrategy implements UrlShorteningStrategy {
 
+    // Digits taken from each 64-bit half of the hash: 62^10 < 2^63.
+    private static final int DIGITS_PER_HALF = Base62Utils.MAX_WIDTH - 1;
+    public static final int MAX_LENGTH = 2 * DIGITS_PER_HALF;
+
     private final int length;
-    private final String algorithm;
+    private final HashEngine engine;
 
     /**
-     * @param length    the desired length of the short URL must be > 0 and <= max length for algorithm output
-     * @param algorithm hashing algorithm name like "SHA-256"
+     * @param length the desired length of the short URL must be > 0 and <= {@link #MAX_LENGTH}
+     * @param engine hash function the code is derived from
      */
-    public HashStrategy(int length, String algorithm) {
+    public HashStrategy(int length, HashEngine engine) {
         if (length <= 0) {
             throw new UrlShorteningException("Length must be positive");
         }
-        if ("SHA-256".equalsIgnoreCase(algorithm) && length > MAX_SHA256_BASE64URL_LENGTH) {
-            throw new UrlShorteningException("Length cannot exceed " + MAX_SHA256_BASE64URL_LENGTH + " for SHA-256");
+        if (length > MAX_LENGTH) {
+            throw new UrlShorteningException("Length cannot exceed " + MAX_LENGTH);
+        }
+        if (engine == null) {
+            throw new UrlShorteningException("Hash engine cannot be null");
         }
         this.length = length;
-        this.algorithm = algorithm;
+        this.engine = engine;
     }
 
     @Override
@@ -41,27 +47,36 @@ public class HashStrategy implements UrlShorteningStrategy {
         if (originalUrl == null || originalUrl.isEmpty()) {
             throw new UrlShorteningException("Original URL must not be null or empty");
         }
+        long salt = saltOf(params);
 
         try {
-            MessageDigest digest = MessageDigest.getInstance(algorithm);
-            byte[] hash = digest.digest(originalUrl.getBytes(StandardCharsets.UTF_8));
-            String encoded = Base64.getUrlEncoder()
-                    .withoutPadding()
-                    .encodeToString(hash);
+            byte[] input = originalUrl.getBytes(StandardCharsets.UTF_8);
+            long[] hash = new long[2];
+            engine.hash128(input, input.length, salt, hash);
 
-            if (length > encoded.length()) {
-                log.warn("Requested length {} exceeds hash length {}, truncating to max length", length, encoded.length());
-                return encoded;
+            byte[] code = new byte[length];
+            int high = Math.min(length, DIGITS_PER_HALF);
+            Base62Utils.encodeTo(Long.remainderUnsigned(hash[0], Base62Utils.pow62(high)), high, code, 0);
+            if (length > high) {
+                int low = length - high;
+                Base62Utils.encodeTo(Long.remainderUnsigned(hash[1], Base62Utils.pow62(low)), low, code, high);
             }
+            return new String(code, StandardCharsets.ISO_8859_1);
 
-            return encoded.substring(0, length);
-
-        } catch (NoSuchAlgorithmException e) {
-            log.error("Hashing algorithm {} not found", algorithm, e);
-            throw new UrlShorteningException("Internal error during URL hashing");
         } catch (RuntimeException e) {
             log.error("Unexpected error during URL hashing", e);
             throw new UrlShorteningException("Internal error during URL hashing");
         }
     }
+
+    private static long saltOf(String... params) {
+        if (params == null || params.length == 0 || params[0] == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(params[0]);
+        } catch (NumberFormatException e) {
+            throw new UrlShorteningException("Hash salt must be a number: " + params[0]);
+        }
+    }
 }
@@ -1,41 +1,32 @@
 package com.immortals.miniurl.helper;
 
 import com.immortals.miniurl.factory.UrlShorteningStrategy;
-import com.immortals.miniurl.utils.Base62Utils;
+import com.immortals.miniurl.model.ShortCode;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * IncrementalStrategy generates a unique incremental ID encoded in Base62.
- * Thread-safe and configurable starting point.
+ * The IDs come from a shared source, normally the block-leased
+ * {@link com.immortals.miniurl.service.id.IdBlockAllocator}, so they stay unique across
+ * requests, restarts and nodes.
  */
 public final class IncrementalStrategy implements UrlShorteningStrategy {
 
-    private final AtomicLong counter;
+    private final LongSupplier ids;
 
     /**
-     * Default constructor starting counter at 1.
+     * @param ids source of unique, non-negative IDs
      */
-    public IncrementalStrategy() {
-        this(1L);
-    }
-
-    /**
-     * Constructor with configurable initial counter value.
-     *
-     * @param initialValue initial counter value; must be >= 0
-     */
-    public IncrementalStrategy(long initialValue) {
-        if (initialValue < 0) {
-            throw new IllegalArgumentException("Initial counter value must be non-negative");
+    public IncrementalStrategy(LongSupplier ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ID source cannot be null");
         }
-        this.counter = new AtomicLong(initialValue);
+        this.ids = ids;
     }
 
     @Override
     public String generate(String originalUrl, String... params) {
-        long id = counter.getAndIncrement();
-        // Optionally handle overflow, e.g., reset counter or throw exception
-        return Base62Utils.encode(id);
+        return new ShortCode(ids.getAsLong()).toString();
     }
 }
@@ -1,6 +1,8 @@
 package com.immortals.miniurl.helper;
 
 import com.immortals.miniurl.factory.UrlShorteningStrategy;
+import com.immortals.miniurl.model.ShortCode;
+import com.immortals.miniurl.utils.Base62Utils;
 
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -43,6 +45,11 @@ public final class RandomStrategy implements UrlShorteningStrategy {
 
     @Override
     public String generate(String originalUrl, String... params) {
+        if (ALPHABET.equals(alphabet) && length < Base62Utils.MAX_WIDTH) {
+            // One random draw below 62^length instead of one per character.
+            return ShortCode.random(length)
+                    .toString(length);
+        }
         StringBuilder sb = new StringBuilder(length);
         ThreadLocalRandom random = ThreadLocalRandom.current();
         for (int i = 0; i < length; i++) {
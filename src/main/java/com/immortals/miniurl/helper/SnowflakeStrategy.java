@@ -1,69 +1,75 @@
 package com.immortals.miniurl.helper;
 
 import com.immortals.miniurl.factory.UrlShorteningStrategy;
-import com.immortals.miniurl.utils.Base62Utils;
-import org.springframework.stereotype.Component;
+import com.immortals.miniurl.model.ShortCode;
 
-import static com.immortals.miniurl.constants.UrlConstants.*;
-
-@Component
-public class SnowflakeStrategy implements UrlShorteningStrategy {
-
-    private final Long maxSequence;
-    private Long lastTimestamp = -1L;
-    private Long sequence = 0L;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 
+import static com.immortals.miniurl.constants.UrlConstants.*;
 
-    public SnowflakeStrategy() {
-
-        Long maxMachineId = (1L << MACHINE_ID_BITS) - 1;
-        this.maxSequence = (1L << SEQUENCE_BITS) - 1;
+/**
+ * SnowflakeStrategy generates time-ordered 64-bit IDs made of milliseconds since {@link
+ * com.immortals.miniurl.constants.UrlConstants#EPOCH EPOCH}, a worker ID and a per-millisecond sequence,
+ * encoded in Base62.
+ * <p>
+ * Timestamp and sequence are packed into one {@link AtomicLong} and advanced with a CAS, so concurrent
+ * callers never block. The packed value only ever grows: when the clock stands still or moves backwards
+ * the sequence keeps counting on the last timestamp, and an exhausted sequence carries into the next
+ * millisecond ahead of the clock instead of waiting for it.
+ */
+public final class SnowflakeStrategy implements UrlShorteningStrategy {
+
+    private static final long MAX_WORKER_ID = (1L << MACHINE_ID_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final IntSupplier workerId;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * @param workerId this node's worker ID, read for every ID so a re-leased ID takes effect immediately
+     */
+    public SnowflakeStrategy(IntSupplier workerId) {
+        this(workerId, System::currentTimeMillis);
+    }
 
-        if (MACHINE_ID_BITS < 0 || MACHINE_ID_BITS > maxMachineId) {
-            throw new IllegalArgumentException(String.format(
-                    "Machine ID must be between 0 and %d, but was %d", maxMachineId,MACHINE_ID_BITS));
-        }
-        if (EPOCH <= 0) {
-            throw new IllegalArgumentException("Epoch must be set and positive");
+    public SnowflakeStrategy(IntSupplier workerId, LongSupplier clock) {
+        if (workerId == null || clock == null) {
+            throw new IllegalArgumentException("Worker ID and clock cannot be null");
         }
+        this.workerId = workerId;
+        this.clock = clock;
     }
 
     @Override
-    public synchronized String generate(String originalUrl, String... params) {
-        Long timestamp = currentTime();
-
-        if (timestamp < lastTimestamp) {
-            throw new IllegalStateException("Clock moved backwards. Refusing to generate id for "
-                    + (lastTimestamp - timestamp) + " milliseconds");
-        }
-
-        if (timestamp.equals(lastTimestamp)) {
-            sequence = (sequence + 1) & maxSequence;
-            if (sequence == 0) {
-                timestamp = waitNextMillis(timestamp);
-            }
-        } else {
-            sequence = 0L;
-        }
-
-        lastTimestamp = timestamp;
-
-        long id = ((timestamp -EPOCH) << (MACHINE_ID_BITS + SEQUENCE_BITS))
-                | (MACHINE_ID << SEQUENCE_BITS)
-                | sequence;
-
-        return Base62Utils.encode(id);
+    public String generate(String originalUrl, String... params) {
+        return new ShortCode(nextId()).toString();
     }
 
-    private Long waitNextMillis(Long currentTimestamp) {
-        Long timestamp = currentTime();
-        while (timestamp <= currentTimestamp) {
-            timestamp = currentTime();
+    public long nextId() {
+        long worker = workerId.getAsInt();
+        if (worker < 0 || worker > MAX_WORKER_ID) {
+            throw new IllegalStateException(String.format("Worker ID must be between 0 and %d, but was %d", MAX_WORKER_ID, worker));
         }
-        return timestamp;
+        long packed = advance();
+        long timestamp = packed >>> SEQUENCE_BITS;
+        return (timestamp << (MACHINE_ID_BITS + SEQUENCE_BITS))
+                | (worker << SEQUENCE_BITS)
+                | (packed & MAX_SEQUENCE);
     }
 
-    private Long currentTime() {
-        return System.currentTimeMillis();
+    private long advance() {
+        while (true) {
+            long previous = state.get();
+            long elapsed = clock.getAsLong() - EPOCH;
+            // A new millisecond restarts the sequence; otherwise +1 bumps the sequence and carries into the
+            // timestamp bits once it overflows.
+            long next = Math.max(elapsed << SEQUENCE_BITS, previous + 1);
+            if (state.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
     }
 }
@@ -4,10 +4,10 @@ import com.immortals.miniurl.factory.UrlShorteningStrategy;
 import com.immortals.miniurl.service.exception.UrlShorteningException;
 import com.immortals.miniurl.utils.Base62Utils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.Objects;
 
-import static com.immortals.miniurl.constants.UrlConstants.ALPHABET;
 import static com.immortals.miniurl.constants.UrlConstants.MAX_RANDOM_LENGTH;
 
 public class TimestampRandomStrategy implements UrlShorteningStrategy {
@@ -30,29 +30,13 @@ public class TimestampRandomStrategy implements UrlShorteningStrategy {
         try {
             Objects.requireNonNull(originalUrl, "originalUrl cannot be null");
 
+            // Base62 timestamp followed by a fixed-width random suffix, both encoded into one buffer.
             long timestamp = System.currentTimeMillis();
-            StringBuilder sb = new StringBuilder(Long.toString(timestamp));
-
-            for (int i = 0; i < randomLength; i++) {
-                sb.append(ALPHABET.charAt(RANDOM.nextInt(ALPHABET.length())));
-            }
-
-            // To encode with Base62Utils, we must convert to a number.
-            // Since the appended random part contains letters, parseLong will fail.
-            // So instead, encode the timestamp and random string separately, then combine or encode differently.
-
-            // Strategy:
-            // 1) Encode timestamp as Base62 string
-            // 2) Append random characters directly (they're from the base62 alphabet already)
-
-            String base62Timestamp = Base62Utils.encode(timestamp);
-            StringBuilder shortUrl = new StringBuilder(base62Timestamp);
-
-            for (int i = 0; i < randomLength; i++) {
-                shortUrl.append(ALPHABET.charAt(RANDOM.nextInt(ALPHABET.length())));
-            }
-
-            return shortUrl.toString();
+            int timestampLength = Base62Utils.length(timestamp);
+            byte[] code = new byte[timestampLength + randomLength];
+            Base62Utils.encodeTo(timestamp, timestampLength, code, 0);
+            Base62Utils.encodeTo(RANDOM.nextLong(Base62Utils.pow62(randomLength)), randomLength, code, timestampLength);
+            return new String(code, StandardCharsets.ISO_8859_1);
 
         } catch (Exception e) {
             throw new UrlShorteningException("Failed to generate short URL: " + e.getMessage(), e);
@@ -0,0 +1,14 @@
+package com.immortals.miniurl.helper.hash;
+
+/**
+ * A 128-bit hash over a byte range, seeded with a salt so one input can yield a sequence of unrelated
+ * hashes. Implementations are thread-safe and allocate nothing per call.
+ */
+public interface HashEngine {
+
+    /**
+     * Hashes {@code data[0, length)} with {@code salt} and writes the 128 bits to {@code out[0]} and
+     * {@code out[1]}.
+     */
+    void hash128(byte[] data, int length, long salt, long[] out);
+}
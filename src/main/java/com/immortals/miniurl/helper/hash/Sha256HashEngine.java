@@ -0,0 +1,55 @@
+package com.immortals.miniurl.helper.hash;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 truncated to its first 128 bits. Each thread reuses one {@link MessageDigest} and output buffer
+ * instead of looking the algorithm up per call. A non-zero salt is appended after a 0 byte; salt 0 hashes
+ * the input alone.
+ */
+public final class Sha256HashEngine implements HashEngine {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final int DIGEST_BYTES = 32;
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public void hash128(byte[] data, int length, long salt, long[] out) {
+        State local = state.get();
+        MessageDigest digest = local.digest;
+        digest.update(data, 0, length);
+        if (salt != 0) {
+            LONG_BE.set(local.buffer, 0, salt);
+            digest.update((byte) 0);
+            digest.update(local.buffer, 0, Long.BYTES);
+        }
+        try {
+            digest.digest(local.buffer, 0, DIGEST_BYTES);
+        } catch (DigestException e) {
+            digest.reset();
+            throw new IllegalStateException("SHA-256 digest failed", e);
+        }
+        out[0] = (long) LONG_BE.get(local.buffer, 0);
+        out[1] = (long) LONG_BE.get(local.buffer, Long.BYTES);
+    }
+
+    private static final class State {
+        private final MessageDigest digest;
+        private final byte[] buffer = new byte[DIGEST_BYTES];
+
+        private State() {
+            try {
+                digest = MessageDigest.getInstance(ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        }
+    }
+}
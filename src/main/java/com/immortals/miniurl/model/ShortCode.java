@@ -0,0 +1,66 @@
+package com.immortals.miniurl.model;
+
+import com.immortals.miniurl.utils.Base62Utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A numeric short code: a non-negative {@code long} whose Base62 encoding is the code used in short URLs.
+ * <p>
+ * Comparing, hashing and passing codes around works on the {@code long}; a string is only built by
+ * {@link #toString()}, and {@link #writeTo} encodes into a caller-supplied buffer without allocating.
+ * The shortest and the {@code '0'}-padded fixed-width encodings of a value parse back to the same code.
+ */
+public record ShortCode(long value) implements Comparable<ShortCode> {
+
+    public ShortCode {
+        if (value < 0) {
+            throw new IllegalArgumentException("Short code value must be non-negative");
+        }
+    }
+
+    public static ShortCode parse(CharSequence code) {
+        return new ShortCode(Base62Utils.decode(code));
+    }
+
+    /**
+     * A uniformly random code of exactly {@code width} digits, the same distribution as drawing each digit
+     * independently.
+     */
+    public static ShortCode random(int width) {
+        if (width < 1 || width >= Base62Utils.MAX_WIDTH) {
+            throw new IllegalArgumentException("Random code width must be between 1 and " + (Base62Utils.MAX_WIDTH - 1));
+        }
+        return new ShortCode(ThreadLocalRandom.current()
+                .nextLong(Base62Utils.pow62(width)));
+    }
+
+    /**
+     * Encodes this code as exactly {@code width} digits into {@code dst} at {@code offset}.
+     *
+     * @return the offset just past the written digits
+     */
+    public int writeTo(byte[] dst, int offset, int width) {
+        return Base62Utils.encodeTo(value, width, dst, offset);
+    }
+
+    /**
+     * Encoding padded to exactly {@code width} digits.
+     */
+    public String toString(int width) {
+        return Base62Utils.encode(value, width);
+    }
+
+    /**
+     * Shortest encoding, as stored in url_mapping.short_url.
+     */
+    @Override
+    public String toString() {
+        return Base62Utils.encode(value);
+    }
+
+    @Override
+    public int compareTo(ShortCode other) {
+        return Long.compare(value, other.value);
+    }
+}
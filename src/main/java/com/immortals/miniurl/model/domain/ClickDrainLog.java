@@ -0,0 +1,33 @@
+package com.immortals.miniurl.model.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One row per Redis click batch already applied to url_mapping, so a batch that is drained again after a
+ * crash is not counted twice.
+ */
+@Entity
+@Table(name = "click_drain_log", schema = "mini_url", indexes = {
+        @Index(name = "idx_click_drain_log_drained_at", columnList = "drained_at"),
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClickDrainLog {
+
+    @Id
+    @Column(name = "batch_id", nullable = false, length = 36)
+    private String batchId;
+
+    @Column(name = "drained_at", nullable = false)
+    private Instant drainedAt;
+}
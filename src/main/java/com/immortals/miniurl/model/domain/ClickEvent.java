@@ -0,0 +1,46 @@
+package com.immortals.miniurl.model.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One row per served redirect. Written only in JDBC batches by the click event writer; the entity exists
+ * so the table is part of the schema.
+ */
+@Entity
+@Table(name = "click_event", schema = "mini_url", indexes = {
+        @Index(name = "idx_click_event_short_url_clicked_at", columnList = "short_url, clicked_at"),
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClickEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "click_event_id")
+    private Long clickEventId;
+
+    @Column(name = "short_url", nullable = false, columnDefinition = "TEXT")
+    private String shortUrl;
+
+    @Column(name = "clicked_at", nullable = false)
+    private Instant clickedAt;
+
+    @Column(name = "user_agent", columnDefinition = "TEXT")
+    private String userAgent;
+
+    @Column(name = "referrer", columnDefinition = "TEXT")
+    private String referrer;
+
+    @Column(name = "client_ip", length = 45)
+    private String clientIp;
+}
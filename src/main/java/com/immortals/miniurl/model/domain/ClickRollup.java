@@ -0,0 +1,65 @@
+package com.immortals.miniurl.model.domain;
+
+import com.immortals.miniurl.model.enums.RollupGranularity;
+import com.immortals.miniurl.model.enums.RollupScope;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Clicks per time bucket for a link or a user, maintained incrementally by upserts from the click rollup
+ * flush. The primary key doubles as the index serving stats range queries.
+ */
+@Entity
+@Table(name = "click_rollup", schema = "mini_url")
+@IdClass(ClickRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClickRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 8)
+    private RollupScope scope;
+
+    /**
+     * The short code for {@link RollupScope#LINK} rows, the user id for {@link RollupScope#USER} rows.
+     */
+    @Id
+    @Column(name = "subject", nullable = false, columnDefinition = "TEXT")
+    private String subject;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 8)
+    private RollupGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(name = "clicks", nullable = false)
+    private Long clicks;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private RollupScope scope;
+        private String subject;
+        private RollupGranularity granularity;
+        private Instant bucketStart;
+    }
+}
@@ -0,0 +1,33 @@
+package com.immortals.miniurl.model.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * High-water mark of a named ID counter: every ID below {@code nextValue} has been leased to some node.
+ * Only updated through {@link com.immortals.miniurl.repository.IdBlockJdbcRepository}; the entity exists so
+ * the table is part of the schema.
+ */
+@Entity
+@Table(name = "id_block", schema = "mini_url")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdBlock {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,47 @@
+package com.immortals.miniurl.model.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * How far a named bulk import has got: every input line up to {@code lastLine} has been applied.
+ * Only written through {@link com.immortals.miniurl.repository.LinkImportJdbcRepository}; the entity exists so
+ * the table is part of the schema.
+ */
+@Entity
+@Table(name = "link_import_checkpoint", schema = "mini_url")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LinkImportCheckpoint {
+
+    @Id
+    @Column(name = "import_name")
+    private String importName;
+
+    @Column(name = "last_line", nullable = false)
+    private Long lastLine;
+
+    @Column(name = "imported", nullable = false)
+    private Long imported;
+
+    @Column(name = "duplicates", nullable = false)
+    private Long duplicates;
+
+    @Column(name = "rejected", nullable = false)
+    private Long rejected;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,36 @@
+package com.immortals.miniurl.model.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A random short code taken by some node's code pool. The primary key keeps two nodes from pooling the
+ * same code; rows whose code has been used by a url_mapping are pruned. Only written through
+ * {@link com.immortals.miniurl.repository.ReservedShortCodeJdbcRepository}; the entity exists so the table
+ * is part of the schema.
+ */
+@Entity
+@Table(name = "reserved_short_code", schema = "mini_url")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservedShortCode {
+
+    @Id
+    @Column(name = "short_code", columnDefinition = "TEXT")
+    private String shortCode;
+
+    @Column(name = "reserved_at", nullable = false)
+    private Instant reservedAt;
+}
@@ -18,6 +18,8 @@ import java.time.Instant;
 @Table(name = "url_mapping", schema = "mini_url", indexes = {
         @Index(name = "idx_url_mapping_userid", columnList = "user_id"),
         @Index(name = "idx_url_mapping_short_url", columnList = "short_url"),
+        @Index(name = "idx_url_mapping_clicks", columnList = "number_of_clicks DESC, url_mapping_id DESC"),
+        @Index(name = "idx_url_mapping_user_url_hash", columnList = "user_id, url_hash"),
 })
 @Getter
 @Setter
@@ -28,15 +30,28 @@ import java.time.Instant;
 @EntityListeners(AuditingEntityListener.class)
 public class UrlMapping extends Auditable<String> implements Serializable {
 
+    /**
+     * IDs handed out per sequence call; bulk writers outside Hibernate must allocate the same way.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "url_mapping_url_mapping_id_seq")
-    @SequenceGenerator(name = "url_mapping_url_mapping_id_seq", sequenceName = "mini_url.url_mapping_url_mapping_id_seq", allocationSize = 1)
+    // Pooled-lo: one nextval per 50 inserts; the sequence's INCREMENT BY must match (changelog-batch-shorten-v2).
+    @SequenceGenerator(name = "url_mapping_url_mapping_id_seq", sequenceName = "mini_url.url_mapping_url_mapping_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "url_mapping_id")
     private Long urlMappingId;
 
     @Column(name = "original_url", nullable = false, columnDefinition = "TEXT")
     private String originalUrl;
 
+    /**
+     * {@link com.immortals.miniurl.utils.UrlUtil#urlHash} of the original URL; null on rows created before
+     * the column existed until the url-hash backfill has run.
+     */
+    @Column(name = "url_hash", updatable = false)
+    private Long urlHash;
+
     @Column(name = "short_url", nullable = false, unique = true, columnDefinition = "TEXT")
     private String shortUrl;
 
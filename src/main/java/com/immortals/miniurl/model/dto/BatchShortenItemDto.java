@@ -0,0 +1,29 @@
+package com.immortals.miniurl.model.dto;
+
+import com.immortals.miniurl.model.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class BatchShortenItemDto {
+
+    /**
+     * Position of the item in the request.
+     */
+    private Integer index;
+    private String originalUrl;
+    private BatchItemStatus status;
+
+    /**
+     * Null when the item failed.
+     */
+    private String shortUrl;
+
+    /**
+     * Null unless the item failed.
+     */
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.immortals.miniurl.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Items are validated one by one, so an invalid item fails on its own instead of rejecting the batch.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class BatchShortenRequestDto {
+
+    @NotEmpty(message = "items cannot be empty")
+    private List<MiniUrlRequestDto> items;
+}
@@ -0,0 +1,22 @@
+package com.immortals.miniurl.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class BatchShortenResponseDto {
+
+    private Integer created;
+    private Integer existing;
+    private Integer failed;
+
+    /**
+     * One result per request item, in request order.
+     */
+    private List<BatchShortenItemDto> items;
+}
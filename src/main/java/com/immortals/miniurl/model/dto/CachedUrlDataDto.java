@@ -1,5 +1,6 @@
 package com.immortals.miniurl.model.dto;
 
+import com.immortals.miniurl.model.enums.RedirectType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,4 +15,13 @@ import java.time.Instant;
 public class CachedUrlDataDto {
     private String originalUrl;
     private Instant expiresAt;
-}
\ No newline at end of file
+
+    /**
+     * Null for entries cached before redirect types were stored; treated as {@link RedirectType#TEMPORARY}.
+     */
+    private RedirectType redirectType;
+
+    public CachedUrlDataDto(String originalUrl, Instant expiresAt) {
+        this(originalUrl, expiresAt, null);
+    }
+}
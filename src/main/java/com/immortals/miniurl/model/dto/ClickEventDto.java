@@ -0,0 +1,19 @@
+package com.immortals.miniurl.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class ClickEventDto {
+
+    private String shortUrl;
+    private Instant clickedAt;
+    private String userAgent;
+    private String referrer;
+    private String clientIp;
+}
@@ -0,0 +1,37 @@
+package com.immortals.miniurl.model.dto;
+
+import com.immortals.miniurl.model.enums.RollupGranularity;
+import com.immortals.miniurl.model.enums.RollupScope;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class ClickStatsDto {
+
+    private RollupScope scope;
+    private String subject;
+    private RollupGranularity granularity;
+    private Instant from;
+    private Instant to;
+
+    /**
+     * Clicks within [from, to); buckets without clicks are omitted from {@code points}.
+     */
+    private Long clicks;
+
+    /**
+     * Estimated distinct visitors over the link's whole lifetime, not just [from, to); null for user stats
+     * or when the estimate is unavailable.
+     */
+    @Setter
+    private Long uniqueVisitors;
+
+    private List<StatsPointDto> points;
+}
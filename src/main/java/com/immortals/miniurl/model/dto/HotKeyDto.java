@@ -0,0 +1,20 @@
+package com.immortals.miniurl.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class HotKeyDto {
+
+    private String shortUrl;
+
+    /**
+     * Count-min estimate of lookups in the current decay window.
+     */
+    private Long estimatedLookups;
+
+    private Boolean pinned;
+}
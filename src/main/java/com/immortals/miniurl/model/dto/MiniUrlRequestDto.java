@@ -1,5 +1,6 @@
 package com.immortals.miniurl.model.dto;
 
+import com.immortals.miniurl.model.enums.RedirectType;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -26,6 +27,11 @@ public class MiniUrlRequestDto {
 
     private Boolean useTimestamp;
 
+    /**
+     * Defaults to TEMPORARY. Permanent links are redirected with 301/308 and may be cached by CDNs.
+     */
+    private RedirectType redirectType;
+
     @Size(max = 30, message = "Alias must be 0–30 characters")
     @Pattern(regexp = "^[a-zA-Z0-9_-]+$", message = "Alias can only contain alphanumeric characters, dashes, or underscores")
     private String customAliasName;
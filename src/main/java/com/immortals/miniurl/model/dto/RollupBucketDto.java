@@ -0,0 +1,11 @@
+package com.immortals.miniurl.model.dto;
+
+import com.immortals.miniurl.model.enums.RollupGranularity;
+
+import java.time.Instant;
+
+/**
+ * One link's bucket in one granularity; the key of a pending rollup delta.
+ */
+public record RollupBucketDto(String shortUrl, RollupGranularity granularity, Instant bucketStart) {
+}
@@ -0,0 +1,16 @@
+package com.immortals.miniurl.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class StatsPointDto {
+
+    private Instant bucketStart;
+    private Long clicks;
+}
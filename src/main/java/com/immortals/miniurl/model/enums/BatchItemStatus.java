@@ -0,0 +1,19 @@
+package com.immortals.miniurl.model.enums;
+
+/**
+ * Outcome of one item of a batch shorten request.
+ */
+public enum BatchItemStatus {
+    /**
+     * A new link was created.
+     */
+    CREATED,
+    /**
+     * The user already had a live link for the URL, or the URL appeared earlier in the same batch.
+     */
+    EXISTING,
+    /**
+     * Nothing was created; {@code error} says why.
+     */
+    FAILED
+}
@@ -0,0 +1,20 @@
+package com.immortals.miniurl.model.enums;
+
+import com.immortals.miniurl.helper.hash.HashEngine;
+import com.immortals.miniurl.helper.hash.Murmur3HashEngine;
+import com.immortals.miniurl.helper.hash.Sha256HashEngine;
+
+/**
+ * Hash function behind the HASH strategy. Switching it changes the code every URL hashes to, so links
+ * shortened before the switch are no longer found as duplicates of the same URL.
+ */
+public enum HashEngineType {
+    MURMUR3, SHA256;
+
+    public HashEngine create() {
+        return switch (this) {
+            case MURMUR3 -> new Murmur3HashEngine();
+            case SHA256 -> new Sha256HashEngine();
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.immortals.miniurl.model.enums;
+
+import java.util.Locale;
+
+/**
+ * Input formats of the bulk link import. Both hold one link per line.
+ */
+public enum LinkImportFormat {
+    /**
+     * Comma-separated with a header line naming the columns; fields may be double-quoted.
+     */
+    CSV,
+    /**
+     * One JSON object per line.
+     */
+    NDJSON;
+
+    public static LinkImportFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the import format of " + fileName + "; set maintenance.link-import.format");
+    }
+}
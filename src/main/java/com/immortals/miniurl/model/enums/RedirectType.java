@@ -3,11 +3,17 @@ package com.immortals.miniurl.model.enums;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Stored by ordinal in url_mapping.redirect_type: only ever append new constants.
+ */
 @RequiredArgsConstructor
 @Getter
 public enum RedirectType {
-    PERMANENT(301), TEMPORARY(302);
+    PERMANENT(301), TEMPORARY(302), PERMANENT_REDIRECT(308), TEMPORARY_REDIRECT(307);
 
     private final Integer code;
 
-}
\ No newline at end of file
+    public boolean isPermanent() {
+        return this == PERMANENT || this == PERMANENT_REDIRECT;
+    }
+}
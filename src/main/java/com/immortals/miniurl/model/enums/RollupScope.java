@@ -0,0 +1,8 @@
+package com.immortals.miniurl.model.enums;
+
+/**
+ * What a click rollup row counts: clicks on one short code, or on all links of one user.
+ */
+public enum RollupScope {
+    LINK, USER
+}
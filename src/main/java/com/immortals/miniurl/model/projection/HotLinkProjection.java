@@ -0,0 +1,20 @@
+package com.immortals.miniurl.model.projection;
+
+import com.immortals.miniurl.model.enums.RedirectType;
+
+import java.time.Instant;
+
+public interface HotLinkProjection {
+
+    Long getUrlMappingId();
+
+    String getShortUrl();
+
+    String getOriginalUrl();
+
+    Instant getExpiresAt();
+
+    Long getNumberOfClicks();
+
+    RedirectType getRedirectType();
+}
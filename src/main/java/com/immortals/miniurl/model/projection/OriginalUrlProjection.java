@@ -0,0 +1,8 @@
+package com.immortals.miniurl.model.projection;
+
+public interface OriginalUrlProjection {
+
+    Long getUrlMappingId();
+
+    String getOriginalUrl();
+}
@@ -0,0 +1,38 @@
+package com.immortals.miniurl.repository;
+
+import com.immortals.miniurl.annotation.WriteOnly;
+import com.immortals.miniurl.model.dto.ClickEventDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Batched inserts into click_event; one transaction, and therefore one commit, per batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClickEventJdbcRepository {
+
+    private static final String INSERT_CLICK_EVENT_SQL =
+            "INSERT INTO mini_url.click_event (short_url, clicked_at, user_agent, referrer, client_ip) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public void insertBatch(List<ClickEventDto> events) {
+        jdbcTemplate.batchUpdate(INSERT_CLICK_EVENT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getShortUrl());
+            ps.setTimestamp(2, Timestamp.from(event.getClickedAt()));
+            ps.setString(3, event.getUserAgent());
+            ps.setString(4, event.getReferrer());
+            ps.setString(5, event.getClientIp());
+        });
+    }
+}
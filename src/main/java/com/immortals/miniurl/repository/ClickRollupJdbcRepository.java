@@ -0,0 +1,141 @@
+package com.immortals.miniurl.repository;
+
+import com.immortals.miniurl.annotation.ReadOnly;
+import com.immortals.miniurl.annotation.WriteOnly;
+import com.immortals.miniurl.model.dto.RollupBucketDto;
+import com.immortals.miniurl.model.dto.StatsPointDto;
+import com.immortals.miniurl.model.enums.RollupGranularity;
+import com.immortals.miniurl.model.enums.RollupScope;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Upserts and range reads on click_rollup.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClickRollupJdbcRepository {
+
+    private static final String UPSERT_LINK_ROLLUP_SQL =
+            "INSERT INTO mini_url.click_rollup (scope, subject, granularity, bucket_start, clicks) VALUES ('LINK', ?, ?, ?, ?) " +
+                    "ON CONFLICT (scope, subject, granularity, bucket_start) DO UPDATE SET clicks = click_rollup.clicks + EXCLUDED.clicks";
+
+    private static final String FIND_OWNERS_SQL =
+            "SELECT short_url, CAST(user_id AS TEXT) AS subject FROM mini_url.url_mapping WHERE short_url = ANY (?::text[])";
+
+    private static final String UPSERT_USER_ROLLUP_SQL =
+            "INSERT INTO mini_url.click_rollup (scope, subject, granularity, bucket_start, clicks) VALUES ('USER', ?, ?, ?, ?) " +
+                    "ON CONFLICT (scope, subject, granularity, bucket_start) DO UPDATE SET clicks = click_rollup.clicks + EXCLUDED.clicks";
+
+    private static final String SELECT_SERIES_SQL =
+            "SELECT bucket_start, clicks FROM mini_url.click_rollup " +
+                    "WHERE scope = ? AND subject = ? AND granularity = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start";
+
+    private static final String DELETE_OLDER_THAN_SQL =
+            "DELETE FROM mini_url.click_rollup WHERE granularity = ? AND bucket_start < ?";
+
+    private static final Comparator<RollupBucketDto> LOCK_ORDER = Comparator.comparing(RollupBucketDto::shortUrl)
+            .thenComparing(RollupBucketDto::granularity)
+            .thenComparing(RollupBucketDto::bucketStart);
+
+    private static final Comparator<UserBucket> USER_LOCK_ORDER = Comparator.comparing(UserBucket::subject)
+            .thenComparing(UserBucket::granularity)
+            .thenComparing(UserBucket::bucketStart);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds each delta to its link bucket and to the owning user's bucket, creating the rows as needed.
+     * Deltas of one user's links in the same bucket are summed into a single user row update.
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public void upsert(Map<RollupBucketDto, Long> deltas, int batchSize) {
+        // Sorted so concurrent flushes from several nodes lock rows in the same order.
+        List<Map.Entry<RollupBucketDto, Long>> sorted = new ArrayList<>(deltas.entrySet());
+        sorted.sort(Map.Entry.comparingByKey(LOCK_ORDER));
+
+        jdbcTemplate.batchUpdate(UPSERT_LINK_ROLLUP_SQL, sorted, batchSize, (ps, delta) -> {
+            ps.setString(1, delta.getKey()
+                    .shortUrl());
+            ps.setString(2, delta.getKey()
+                    .granularity()
+                    .name());
+            ps.setTimestamp(3, Timestamp.from(delta.getKey()
+                    .bucketStart()));
+            ps.setLong(4, delta.getValue());
+        });
+
+        // User rows are locked in their own (subject, granularity, bucket) order, which the link order above
+        // does not imply once links of different users interleave.
+        Map<String, String> owners = findOwners(deltas.keySet());
+        Map<UserBucket, Long> userDeltas = new TreeMap<>(USER_LOCK_ORDER);
+        sorted.forEach(delta -> {
+            String subject = owners.get(delta.getKey()
+                    .shortUrl());
+            if (subject != null) {
+                userDeltas.merge(new UserBucket(subject, delta.getKey()
+                        .granularity(), delta.getKey()
+                        .bucketStart()), delta.getValue(), Long::sum);
+            }
+        });
+        jdbcTemplate.batchUpdate(UPSERT_USER_ROLLUP_SQL, new ArrayList<>(userDeltas.entrySet()), batchSize, (ps, delta) -> {
+            ps.setString(1, delta.getKey()
+                    .subject());
+            ps.setString(2, delta.getKey()
+                    .granularity()
+                    .name());
+            ps.setTimestamp(3, Timestamp.from(delta.getKey()
+                    .bucketStart()));
+            ps.setLong(4, delta.getValue());
+        });
+    }
+
+    @ReadOnly
+    public List<StatsPointDto> findSeries(RollupScope scope, String subject, RollupGranularity granularity, Instant from, Instant to) {
+        return jdbcTemplate.query(SELECT_SERIES_SQL, (rs, rowNum) -> new StatsPointDto(rs.getTimestamp("bucket_start")
+                        .toInstant(), rs.getLong("clicks")),
+                scope.name(), subject, granularity.name(), Timestamp.from(from), Timestamp.from(to));
+    }
+
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public int deleteOlderThan(RollupGranularity granularity, Instant before) {
+        return jdbcTemplate.update(DELETE_OLDER_THAN_SQL, granularity.name(), Timestamp.from(before));
+    }
+
+    // Owning user of each link as the click_rollup subject; links that no longer exist are left out.
+    private Map<String, String> findOwners(Collection<RollupBucketDto> buckets) {
+        Object[] shortUrls = buckets.stream()
+                .map(RollupBucketDto::shortUrl)
+                .distinct()
+                .toArray();
+        Map<String, String> owners = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_OWNERS_SQL);
+            ps.setArray(1, connection.createArrayOf("text", shortUrls));
+            return ps;
+        }, rs -> {
+            owners.put(rs.getString("short_url"), rs.getString("subject"));
+        });
+        return owners;
+    }
+
+    private record UserBucket(String subject, RollupGranularity granularity, Instant bucketStart) {
+    }
+}
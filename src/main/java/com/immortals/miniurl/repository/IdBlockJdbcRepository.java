@@ -0,0 +1,37 @@
+package com.immortals.miniurl.repository;
+
+import com.immortals.miniurl.annotation.WriteOnly;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Leases blocks of IDs from the id_block counters.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdBlockJdbcRepository {
+
+    // Creates the counter on first use; the row lock taken by the update serialises concurrent leases.
+    private static final String LEASE_BLOCK_SQL =
+            "INSERT INTO mini_url.id_block (name, next_value) VALUES (?, ? + 1) " +
+                    "ON CONFLICT (name) DO UPDATE SET next_value = id_block.next_value + EXCLUDED.next_value - 1 " +
+                    "RETURNING next_value";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserves the next {@code size} IDs of {@code counter}; counters start at 1.
+     *
+     * @return the first ID of the block; the block ends before {@code start + size}
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public long leaseBlock(String counter, long size) {
+        Long end = jdbcTemplate.queryForObject(LEASE_BLOCK_SQL, Long.class, counter, size);
+        return end - size;
+    }
+}
@@ -0,0 +1,164 @@
+package com.immortals.miniurl.repository;
+
+import com.immortals.miniurl.annotation.WriteOnly;
+import com.immortals.miniurl.model.domain.UrlMapping;
+import com.immortals.miniurl.model.enums.RedirectType;
+import com.immortals.miniurl.model.enums.UrlStrategyType;
+import com.immortals.miniurl.model.enums.UserTypes;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Bulk loads links into url_mapping through the Postgres COPY protocol, together with the checkpoint of the
+ * import they belong to.
+ * <p>
+ * COPY cannot skip rows that break a constraint, so each chunk is copied into a session-local staging table
+ * first and moved over with {@code INSERT ... ON CONFLICT DO NOTHING}: a short code that is already taken is
+ * counted as a duplicate instead of failing the chunk. Rows are not written to url_mapping_aud.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LinkImportJdbcRepository {
+
+    private static final String IMPORT_USER_AGENT = "link-import";
+
+    private static final String CREATE_STAGE_SQL =
+            "CREATE TEMPORARY TABLE IF NOT EXISTS link_import_stage (" +
+                    "line BIGINT NOT NULL, url_mapping_id BIGINT NOT NULL, short_code TEXT NOT NULL, original_url TEXT NOT NULL, " +
+                    "url_hash BIGINT NOT NULL, user_id BIGINT NOT NULL, redirect_type INTEGER NOT NULL, expires_at TIMESTAMPTZ NOT NULL" +
+                    ") ON COMMIT DELETE ROWS";
+
+    private static final String COPY_STAGE_SQL =
+            "COPY link_import_stage (line, url_mapping_id, short_code, original_url, url_hash, user_id, redirect_type, expires_at) " +
+                    "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval('mini_url.url_mapping_url_mapping_id_seq') FROM generate_series(1, ?)";
+
+    private static final String INSERT_FROM_STAGE_SQL =
+            "INSERT INTO mini_url.url_mapping (url_mapping_id, original_url, url_hash, short_url, user_id, number_of_clicks, notes, " +
+                    "custom_alias_flag, premium_user_flag, high_throughput_flag, needs_determinism_flag, internal_tool_flag, " +
+                    "custom_alias_name, redirect_type, strategy, expires_at, created_user_agent, is_active, created_by, created_date) " +
+                    "SELECT url_mapping_id, original_url, url_hash, short_code, user_id, 0, '', " +
+                    "'true', 'false', 'false', 'false', 'false', " +
+                    "short_code, redirect_type, ?, expires_at, ?, true, ?, ? " +
+                    "FROM link_import_stage ORDER BY line " +
+                    "ON CONFLICT (short_url) DO NOTHING";
+
+    private static final String FIND_LAST_LINE_SQL =
+            "SELECT last_line FROM mini_url.link_import_checkpoint WHERE import_name = ?";
+
+    private static final String UPSERT_CHECKPOINT_SQL =
+            "INSERT INTO mini_url.link_import_checkpoint (import_name, last_line, imported, duplicates, rejected, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (import_name) DO UPDATE SET last_line = EXCLUDED.last_line, " +
+                    "imported = link_import_checkpoint.imported + EXCLUDED.imported, " +
+                    "duplicates = link_import_checkpoint.duplicates + EXCLUDED.duplicates, " +
+                    "rejected = link_import_checkpoint.rejected + EXCLUDED.rejected, " +
+                    "updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A validated input line, ready to be copied.
+     */
+    public record ImportRow(long line, String shortCode, String originalUrl, long urlHash, long userId, RedirectType redirectType,
+                            Instant expiresAt) {
+    }
+
+    /**
+     * Last input line applied by the import called {@code importName}, 0 when it has not committed a chunk yet.
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public long findLastLine(String importName) {
+        List<Long> lastLine = jdbcTemplate.queryForList(FIND_LAST_LINE_SQL, Long.class, importName);
+        return lastLine.isEmpty() ? 0L : lastLine.get(0);
+    }
+
+    /**
+     * Inserts {@code rows} and moves the checkpoint to {@code lastLine} in one transaction, so a rerun after a
+     * crash neither loses nor repeats a chunk.
+     *
+     * @param rejected input lines in this chunk that failed validation, recorded on the checkpoint only
+     * @return rows inserted; the rest had a short code that was already taken
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public int importChunk(String importName, List<ImportRow> rows, long lastLine, long rejected) {
+        int inserted = 0;
+        if (!rows.isEmpty()) {
+            jdbcTemplate.execute(CREATE_STAGE_SQL);
+            String csv = toCsv(rows, allocateIds(rows.size()));
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> copy(connection, csv));
+            inserted = jdbcTemplate.update(INSERT_FROM_STAGE_SQL, UrlStrategyType.CUSTOM_ALIAS.name(), IMPORT_USER_AGENT,
+                    UserTypes.SYSTEM.name(), Timestamp.valueOf(DateTimeUtils.now()));
+        }
+        jdbcTemplate.update(UPSERT_CHECKPOINT_SQL, importName, lastLine, inserted, rows.size() - inserted, rejected,
+                Timestamp.from(DateTimeUtils.nowInstant()));
+        return inserted;
+    }
+
+    // Same scheme as Hibernate's pooled-lo optimiser on UrlMapping: each nextval owns the next ID_ALLOCATION_SIZE IDs.
+    private long[] allocateIds(int count) {
+        int blocks = (count + UrlMapping.ID_ALLOCATION_SIZE - 1) / UrlMapping.ID_ALLOCATION_SIZE;
+        List<Long> blockStarts = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, blocks);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = blockStarts.get(i / UrlMapping.ID_ALLOCATION_SIZE) + i % UrlMapping.ID_ALLOCATION_SIZE;
+        }
+        return ids;
+    }
+
+    private static long copy(Connection connection, String csv) throws SQLException {
+        try {
+            return connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_STAGE_SQL, new StringReader(csv));
+        } catch (IOException e) {
+            throw new SQLException("Failed to stream the import chunk", e);
+        }
+    }
+
+    // Short codes are validated to [a-zA-Z0-9_-], so only the URL can need quoting.
+    private static String toCsv(List<ImportRow> rows, long[] ids) {
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            csv.append(row.line())
+                    .append(',')
+                    .append(ids[i])
+                    .append(',')
+                    .append(row.shortCode())
+                    .append(",\"")
+                    .append(row.originalUrl()
+                            .replace("\"", "\"\""))
+                    .append("\",")
+                    .append(row.urlHash())
+                    .append(',')
+                    .append(row.userId())
+                    .append(',')
+                    .append(row.redirectType()
+                            .ordinal())
+                    .append(',')
+                    .append(row.expiresAt())
+                    .append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.immortals.miniurl.repository;
+
+import com.immortals.miniurl.annotation.WriteOnly;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reservations of pre-generated short codes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservedShortCodeJdbcRepository {
+
+    // Existence check and reservation in one statement: codes already used by a link or reserved by another
+    // node are skipped, and only the codes actually reserved come back.
+    private static final String RESERVE_SQL =
+            "INSERT INTO mini_url.reserved_short_code (short_code, reserved_at) " +
+                    "SELECT c.code, now() FROM unnest(?::text[]) AS c(code) " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM mini_url.url_mapping um WHERE um.short_url = c.code) " +
+                    "ON CONFLICT (short_code) DO NOTHING RETURNING short_code";
+
+    private static final String PRUNE_USED_SQL =
+            "DELETE FROM mini_url.reserved_short_code r USING mini_url.url_mapping um WHERE um.short_url = r.short_code";
+
+    private static final String PRUNE_OLDER_THAN_SQL =
+            "DELETE FROM mini_url.reserved_short_code WHERE reserved_at < now() - ? * INTERVAL '1 second'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserves those of {@code candidates} that are neither in use nor reserved yet.
+     *
+     * @return the reserved codes
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public List<String> reserve(Collection<String> candidates) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(RESERVE_SQL);
+            ps.setArray(1, connection.createArrayOf("text", candidates.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getString("short_code"));
+    }
+
+    /**
+     * Deletes reservations whose code has since been used by a link.
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public int pruneUsed() {
+        return jdbcTemplate.update(PRUNE_USED_SQL);
+    }
+
+    /**
+     * Deletes reservations older than {@code retention}, whether or not a link has used their code.
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public int pruneOlderThan(Duration retention) {
+        return jdbcTemplate.update(PRUNE_OLDER_THAN_SQL, retention.toSeconds());
+    }
+}
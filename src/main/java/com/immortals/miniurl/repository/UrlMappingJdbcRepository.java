@@ -0,0 +1,117 @@
+package com.immortals.miniurl.repository;
+
+import com.immortals.miniurl.annotation.WriteOnly;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Plain JDBC writes on url_mapping for the hot counters that must not go through the audited entity.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UrlMappingJdbcRepository {
+
+    private static final String INCREMENT_CLICKS_SQL =
+            "UPDATE mini_url.url_mapping SET number_of_clicks = number_of_clicks + ? WHERE short_url = ? AND is_active = true";
+
+    private static final String INSERT_DRAIN_LOG_SQL =
+            "INSERT INTO mini_url.click_drain_log (batch_id, drained_at) VALUES (?, ?) ON CONFLICT (batch_id) DO NOTHING";
+
+    private static final String PRUNE_DRAIN_LOG_SQL =
+            "DELETE FROM mini_url.click_drain_log WHERE drained_at < ?";
+
+    private static final String REWRITE_SHORT_URL_SQL =
+            "UPDATE mini_url.url_mapping SET short_url = ? WHERE url_mapping_id = ? " +
+                    "AND NOT EXISTS (SELECT 1 FROM mini_url.url_mapping WHERE short_url = ?)";
+
+    private static final String SET_URL_HASH_SQL =
+            "UPDATE mini_url.url_mapping SET url_hash = ? WHERE url_mapping_id = ? AND url_hash IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds each delta to the link's click count; one statement per link, sent in JDBC batches.
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public void incrementClicks(Map<String, Long> deltas, int batchSize) {
+        // Sorted so concurrent flushes from several nodes lock rows in the same order.
+        jdbcTemplate.batchUpdate(INCREMENT_CLICKS_SQL, new ArrayList<>(new TreeMap<>(deltas).entrySet()), batchSize, (ps, delta) -> {
+            ps.setLong(1, delta.getValue());
+            ps.setString(2, delta.getKey());
+        });
+    }
+
+    /**
+     * Applies a drained click batch exactly once: the batch id is recorded in the same transaction as the
+     * increments, and a batch id that was already recorded is skipped.
+     *
+     * @return false when the batch had already been applied
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public boolean applyClickBatch(String batchId, Map<String, Long> deltas, int batchSize) {
+        int recorded = jdbcTemplate.update(INSERT_DRAIN_LOG_SQL, batchId, Timestamp.from(DateTimeUtils.nowInstant()));
+        if (recorded == 0) {
+            return false;
+        }
+        if (!deltas.isEmpty()) {
+            incrementClicks(deltas, batchSize);
+        }
+        return true;
+    }
+
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public int pruneClickDrainLog(Instant before) {
+        return jdbcTemplate.update(PRUNE_DRAIN_LOG_SQL, Timestamp.from(before));
+    }
+
+    /**
+     * Replaces the short_url of each row (keyed by id) with the given value, skipping rows whose new value
+     * is already taken by another row.
+     *
+     * @return number of rows rewritten
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public int rewriteShortUrls(Map<Long, String> shortUrlsById) {
+        int[] updated = jdbcTemplate.batchUpdate(REWRITE_SHORT_URL_SQL, shortUrlsById.entrySet()
+                .stream()
+                .map(row -> new Object[]{row.getValue(), row.getKey(), row.getValue()})
+                .toList());
+        return Arrays.stream(updated)
+                .map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count)
+                .sum();
+    }
+
+    /**
+     * Fills in url_hash (keyed by id) on rows that do not have one yet.
+     *
+     * @return number of rows updated
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
+    public int setUrlHashes(Map<Long, Long> urlHashesById) {
+        int[] updated = jdbcTemplate.batchUpdate(SET_URL_HASH_SQL, urlHashesById.entrySet()
+                .stream()
+                .map(row -> new Object[]{row.getValue(), row.getKey()})
+                .toList());
+        return Arrays.stream(updated)
+                .map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count)
+                .sum();
+    }
+}
@@ -1,11 +1,18 @@
 package com.immortals.miniurl.repository;
 
 import com.immortals.miniurl.model.domain.UrlMapping;
+import com.immortals.miniurl.model.projection.HotLinkProjection;
+import com.immortals.miniurl.model.projection.OriginalUrlProjection;
+import com.immortals.miniurl.model.projection.ShortUrlProjection;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +21,55 @@ public interface UrlMappingRepository extends JpaRepository<UrlMapping, Long> {
     @Lock(LockModeType.PESSIMISTIC_READ)
     Optional<UrlMapping> findByShortUrlAndIsActiveTrue(String shortUrl);
 
-    @Lock(LockModeType.PESSIMISTIC_READ)
     Optional<UrlMapping> findByShortUrlAndIsActiveTrueAndUserId(String shortUrl,Long userId);
 
+    Optional<UrlMapping> findByShortUrl(String shortUrl);
+
+    /**
+     * Active links of a user whose original URL hashes to {@code urlHash}; served by idx_url_mapping_user_url_hash.
+     */
+    List<UrlMapping> findByUserIdAndUrlHashAndIsActiveTrue(Long userId, Long urlHash);
+
+    List<UrlMapping> findByUserIdAndUrlHashInAndIsActiveTrue(Long userId, Collection<Long> urlHashes);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<UrlMapping> findByExpiresAtBeforeAndIsActiveTrue(Instant now);
+
+    @Query("select u.urlMappingId as urlMappingId, u.shortUrl as shortUrl from UrlMapping u " +
+            "where u.isActive = true and u.urlMappingId > :afterId order by u.urlMappingId")
+    List<ShortUrlProjection> findActiveShortUrlsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Rows whose short_url still holds a full URL (host and path) instead of the bare short code.
+     */
+    @Query("select u.urlMappingId as urlMappingId, u.shortUrl as shortUrl from UrlMapping u " +
+            "where u.shortUrl like '%/%' and u.urlMappingId > :afterId order by u.urlMappingId")
+    List<ShortUrlProjection> findLegacyShortUrlsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Rows created before url_mapping.url_hash existed, for the url-hash backfill.
+     */
+    @Query("select u.urlMappingId as urlMappingId, u.originalUrl as originalUrl from UrlMapping u " +
+            "where u.urlHash is null and u.urlMappingId > :afterId order by u.urlMappingId")
+    List<OriginalUrlProjection> findMissingUrlHashAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * First page of live links ordered from most to least clicked; continue with {@link #findHottestAfter}.
+     */
+    @Query("select u.urlMappingId as urlMappingId, u.shortUrl as shortUrl, u.originalUrl as originalUrl, " +
+            "u.expiresAt as expiresAt, u.numberOfClicks as numberOfClicks, u.redirectType as redirectType from UrlMapping u " +
+            "where u.isActive = true and u.expiresAt > :now " +
+            "order by u.numberOfClicks desc, u.urlMappingId desc")
+    List<HotLinkProjection> findHottest(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Keyset continuation of {@link #findHottest} after the row ({@code clicks}, {@code id}).
+     */
+    @Query("select u.urlMappingId as urlMappingId, u.shortUrl as shortUrl, u.originalUrl as originalUrl, " +
+            "u.expiresAt as expiresAt, u.numberOfClicks as numberOfClicks, u.redirectType as redirectType from UrlMapping u " +
+            "where u.isActive = true and u.expiresAt > :now " +
+            "and (u.numberOfClicks < :clicks or (u.numberOfClicks = :clicks and u.urlMappingId < :id)) " +
+            "order by u.numberOfClicks desc, u.urlMappingId desc")
+    List<HotLinkProjection> findHottestAfter(@Param("now") Instant now, @Param("clicks") Long clicks,
+                                             @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,120 @@
+package com.immortals.miniurl.service;
+
+import com.immortals.miniurl.annotation.WriteOnly;
+import com.immortals.miniurl.config.id.CollisionRetryProperties;
+import com.immortals.miniurl.model.domain.UrlMapping;
+import com.immortals.miniurl.model.enums.UrlStrategyType;
+import com.immortals.miniurl.repository.UrlMappingRepository;
+import com.immortals.miniurl.service.exception.UrlShorteningException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+/**
+ * Inserts new links optimistically: nothing is read before the insert, the unique index on
+ * url_mapping.short_url detects a taken code, and the code is then regenerated and the insert retried up
+ * to {@code collision-retry.max-attempts} times. Only a failed insert costs a lookup, to tell a collision
+ * from another constraint violation and from the same user shortening the same URL again.
+ * <p>
+ * Each attempt runs in its own transaction, so callers must not wrap this in one: Postgres aborts the
+ * whole transaction on a constraint violation.
+ */
+@Service
+@Slf4j
+public class UrlMappingInserter {
+
+    private final UrlMappingRepository urlMappingRepository;
+    private final CollisionRetryProperties collisionRetryProperties;
+
+    private final Map<UrlStrategyType, Counter> collisions = new EnumMap<>(UrlStrategyType.class);
+    private final Map<UrlStrategyType, Counter> retries = new EnumMap<>(UrlStrategyType.class);
+    private final Counter exhausted;
+
+    public UrlMappingInserter(UrlMappingRepository urlMappingRepository,
+                              CollisionRetryProperties collisionRetryProperties,
+                              MeterRegistry meterRegistry) {
+        this.urlMappingRepository = urlMappingRepository;
+        this.collisionRetryProperties = collisionRetryProperties;
+
+        for (UrlStrategyType strategy : UrlStrategyType.values()) {
+            collisions.put(strategy, Counter.builder("url.create.collisions")
+                    .tag("strategy", strategy.name())
+                    .register(meterRegistry));
+            retries.put(strategy, Counter.builder("url.create.retries")
+                    .tag("strategy", strategy.name())
+                    .register(meterRegistry));
+        }
+        this.exhausted = Counter.builder("url.create.retries.exhausted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param regenerate the code to try on the given retry, numbered from 1
+     */
+    public Outcome insert(UrlMapping mapping, UrlStrategyType strategy, IntFunction<String> regenerate) {
+        int maxAttempts = strategy == UrlStrategyType.CUSTOM_ALIAS ? 1 : collisionRetryProperties.getMaxAttempts();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return new Outcome(urlMappingRepository.saveAndFlush(mapping), true);
+            } catch (DataIntegrityViolationException e) {
+                Optional<UrlMapping> holder = urlMappingRepository.findByShortUrl(mapping.getShortUrl());
+                if (holder.isEmpty()) {
+                    throw e;
+                }
+                collisions.get(strategy)
+                        .increment();
+                if (isSameLink(holder.get(), mapping)) {
+                    return new Outcome(holder.get(), false);
+                }
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw new UrlShorteningException("Short URL " + mapping.getShortUrl() + " is already taken, gave up after "
+                            + attempt + " attempt(s)", e);
+                }
+                retries.get(strategy)
+                        .increment();
+                log.debug("Short URL {} is already taken, retrying with a new code (attempt {})", mapping.getShortUrl(), attempt + 1);
+                // The failed persist assigned an ID; clear it so the retry persists instead of merging.
+                mapping.setUrlMappingId(null);
+                mapping.setShortUrl(regenerate.apply(attempt));
+            }
+        }
+    }
+
+    /**
+     * Inserts all mappings in one transaction, sent to the database in JDBC batches. A taken short code
+     * rolls the whole batch back and surfaces as a {@link DataIntegrityViolationException}; callers then
+     * insert the mappings one by one with {@link #insert}, after clearing the IDs the failed flush assigned.
+     */
+    @WriteOnly
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public List<UrlMapping> insertAll(List<UrlMapping> mappings) {
+        List<UrlMapping> saved = urlMappingRepository.saveAll(mappings);
+        urlMappingRepository.flush();
+        return saved;
+    }
+
+    private static boolean isSameLink(UrlMapping holder, UrlMapping mapping) {
+        return Boolean.TRUE.equals(holder.getIsActive())
+                && Objects.equals(holder.getUserId(), mapping.getUserId())
+                && Objects.equals(holder.getOriginalUrl(), mapping.getOriginalUrl());
+    }
+
+    /**
+     * @param created false when the same user had already shortened the same URL to this code
+     */
+    public record Outcome(UrlMapping mapping, boolean created) {
+    }
+}
@@ -1,6 +1,9 @@
 package com.immortals.miniurl.service;
 
 
+import com.immortals.miniurl.model.dto.BatchShortenRequestDto;
+import com.immortals.miniurl.model.dto.BatchShortenResponseDto;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
 import com.immortals.miniurl.model.dto.MiniUrlRequestDto;
 import com.immortals.miniurl.model.dto.MiniUrlResponseDto;
 
@@ -8,5 +11,18 @@ public interface UrlShortenerService {
 
     MiniUrlResponseDto createShortUrl(MiniUrlRequestDto miniUrlRequestDto);
 
+    /**
+     * Creates a link for every valid item; invalid or failing items are reported per item instead of
+     * failing the whole batch.
+     */
+    BatchShortenResponseDto shortenBatch(BatchShortenRequestDto batchShortenRequestDto);
+
     String getLongUrl(String shortUrl);
+
+    /**
+     * Like {@link #getLongUrl} but with everything a redirect response needs (expiry and redirect type).
+     *
+     * @return null when the short URL is unknown or inactive
+     */
+    CachedUrlDataDto resolve(String shortUrl);
 }
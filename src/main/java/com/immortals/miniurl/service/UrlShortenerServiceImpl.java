@@ -2,42 +2,64 @@ package com.immortals.miniurl.service;
 
 import com.immortals.miniurl.annotation.ReadOnly;
 import com.immortals.miniurl.annotation.WriteOnly;
+import com.immortals.miniurl.config.id.BatchShortenProperties;
+import com.immortals.miniurl.config.id.UrlDedupeProperties;
 import com.immortals.miniurl.context.RequestContext;
 import com.immortals.miniurl.context.StrategyContext;
 import com.immortals.miniurl.factory.SmartUrlStrategySelectorFactory;
+import com.immortals.miniurl.factory.UrlShorteningStrategy;
 import com.immortals.miniurl.factory.UrlShorteningStrategyFactory;
 import com.immortals.miniurl.model.domain.UrlMapping;
+import com.immortals.miniurl.model.dto.BatchShortenItemDto;
+import com.immortals.miniurl.model.dto.BatchShortenRequestDto;
+import com.immortals.miniurl.model.dto.BatchShortenResponseDto;
 import com.immortals.miniurl.model.dto.CachedUrlDataDto;
 import com.immortals.miniurl.model.dto.MiniUrlRequestDto;
 import com.immortals.miniurl.model.dto.MiniUrlResponseDto;
+import com.immortals.miniurl.model.enums.BatchItemStatus;
 import com.immortals.miniurl.model.enums.RedirectType;
 import com.immortals.miniurl.model.enums.UrlStrategyType;
 import com.immortals.miniurl.model.enums.UserTypes;
 import com.immortals.miniurl.model.security.CurrentUserProvider;
 import com.immortals.miniurl.repository.UrlMappingRepository;
 import com.immortals.miniurl.service.cache.CacheService;
+import com.immortals.miniurl.service.cache.SingleFlight;
+import com.immortals.miniurl.service.click.ClickCountService;
 import com.immortals.miniurl.service.exception.CacheException;
 import com.immortals.miniurl.service.exception.UrlShorteningException;
+import com.immortals.miniurl.service.hotkey.HotKeyDetector;
+import com.immortals.miniurl.service.membership.ShortUrlMembershipService;
 import com.immortals.miniurl.utils.DateTimeUtils;
 import com.immortals.miniurl.utils.JsonUtils;
+import com.immortals.miniurl.utils.UrlUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.immortals.miniurl.constants.UrlConstants.CACHE_TTL_JITTER_RATIO;
 import static com.immortals.miniurl.utils.UrlUtil.buildFullUrl;
+import static com.immortals.miniurl.utils.UrlUtil.cacheKey;
 
 
 @Service
@@ -48,9 +70,16 @@ public class UrlShortenerServiceImpl implements UrlShortenerService {
     private final UrlMappingRepository urlMappingRepository;
     private final UrlShorteningStrategyFactory urlShorteningStrategyFactory;
     private final CurrentUserProvider currentUserProvider;
-    private final CacheService<String, String> cacheService;
+    private final CacheService<String, CachedUrlDataDto> cacheService;
+    private final ShortUrlMembershipService shortUrlMembershipService;
+    private final ClickCountService clickCountService;
+    private final HotKeyDetector hotKeyDetector;
+    private final UrlMappingInserter urlMappingInserter;
+    private final UrlDedupeProperties urlDedupeProperties;
+    private final BatchShortenProperties batchShortenProperties;
+    private final Validator validator;
 
-    AtomicLong hitUrlCount = new AtomicLong(0);
+    private final SingleFlight<String, CachedUrlDataDto> cacheMissLoads = new SingleFlight<>();
 
     @Value("${server.address}")
     private String address;
@@ -59,9 +88,9 @@ public class UrlShortenerServiceImpl implements UrlShortenerService {
     private Long port;
 
 
+    // Not transactional: the inserter commits each attempt on its own so a collision can be retried.
     @WriteOnly
     @Override
-    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
     public MiniUrlResponseDto createShortUrl(MiniUrlRequestDto miniUrlRequestDto) {
         log.info("Creating short URL for: {}", miniUrlRequestDto.getOriginalUrl());
 
@@ -70,125 +99,456 @@ public class UrlShortenerServiceImpl implements UrlShortenerService {
                 throw new UrlShorteningException("Original URL must not be null or empty");
             }
 
-            StrategyContext strategyContext = StrategyContext.builder()
-                    .customAlias(miniUrlRequestDto.getCustomAlias())
-                    .highThroughput(miniUrlRequestDto.getHighThroughput())
-                    .internalTool(miniUrlRequestDto.getInternalTool())
-                    .needsDeterminism(miniUrlRequestDto.getNeedsDeterminism())
-                    .premiumUser(miniUrlRequestDto.getPremiumUser())
-                    .useTimestamp(miniUrlRequestDto.getUseTimestamp())
-                    .build();
-
-            UrlStrategyType strategy = SmartUrlStrategySelectorFactory.selectStrategy(strategyContext);
+            UrlStrategyType strategy = selectStrategy(miniUrlRequestDto);
             log.trace("Selected shortening strategy: {}", strategy.name());
 
-            String shortUrl = urlShorteningStrategyFactory.getStrategy(strategy)
-                    .generate(miniUrlRequestDto.getOriginalUrl());
-
-
-            String finalShortUrl = buildFullUrl(address + ":" + port, shortUrl);
+            Long userId = currentUserId();
+            long urlHash = UrlUtil.urlHash(miniUrlRequestDto.getOriginalUrl());
+            if (strategy != UrlStrategyType.CUSTOM_ALIAS && Boolean.TRUE.equals(urlDedupeProperties.getEnabled())) {
+                Optional<UrlMapping> existing = findExistingLink(userId, miniUrlRequestDto.getOriginalUrl(), urlHash);
+                if (existing.isPresent()) {
+                    return alreadyExists(existing.get()
+                            .getShortUrl());
+                }
+            }
 
+            UrlShorteningStrategy generator = urlShorteningStrategyFactory.getStrategy(strategy);
+            String shortUrl = generateCode(generator, strategy, miniUrlRequestDto);
+            log.trace("Generated short URL: {}", shortUrl);
 
-            log.trace("Generated short URL: {}", finalShortUrl);
+            UrlMapping urlMapping = newMapping(miniUrlRequestDto, strategy, shortUrl, userId, urlHash);
 
-            String existingUrl = getShortUrlIfExists(finalShortUrl, new AtomicReference<>(), currentUserProvider.getCurrentUser()
-                    .getId());
-            if (existingUrl != null && existingUrl.equals(miniUrlRequestDto.getOriginalUrl())) {
-                log.info("Short URL already exists for given original URL: {}", finalShortUrl);
-                return MiniUrlResponseDto.builder()
-                        .shortUrl("Short URL already exists: " + finalShortUrl)
-                        .build();
+            UrlMappingInserter.Outcome outcome = urlMappingInserter.insert(urlMapping, strategy,
+                    attempt -> regenerate(generator, strategy, miniUrlRequestDto.getOriginalUrl(), attempt));
+            UrlMapping savedMapping = outcome.mapping();
+            shortUrl = savedMapping.getShortUrl();
+            if (!outcome.created()) {
+                return alreadyExists(shortUrl);
             }
-
-            Instant expiryTime = DateTimeUtils.calculateExpiry(miniUrlRequestDto.getAmountOfTime(), miniUrlRequestDto.getUnitTime());
-            UrlMapping urlMapping = UrlMapping.builder()
-                    .originalUrl(miniUrlRequestDto.getOriginalUrl())
-                    .shortUrl(finalShortUrl)
-                    .userId(currentUserProvider.getCurrentUser()
-                            .getId() != null ? currentUserProvider.getCurrentUser()
-                            .getId() : 0L)
-                    .numberOfClicks(hitUrlCount.get())
-                    .notes(miniUrlRequestDto.getNote())
-                    .customAliasName(miniUrlRequestDto.getCustomAliasName())
-                    .customAlias(miniUrlRequestDto.getCustomAlias())
-                    .premiumUser(miniUrlRequestDto.getPremiumUser())
-                    .highThroughput(miniUrlRequestDto.getHighThroughput())
-                    .needsDeterminism(miniUrlRequestDto.getNeedsDeterminism())
-                    .internalTool(miniUrlRequestDto.getInternalTool())
-                    .expiresAt(expiryTime)
-                    .tags(JsonUtils.toJson(miniUrlRequestDto.getTags()))
-                    .redirectType(RedirectType.TEMPORARY)
-                    .strategy(strategy.name())
-                    .createdUserAgent(RequestContext.getUserAgent())
-                    .createdBy(UserTypes.SYSTEM.name())
-                    .createdDate(DateTimeUtils.now())
-                    .isActive(Boolean.TRUE)
-                    .build();
-
-            UrlMapping savedMapping = urlMappingRepository.saveAndFlush(urlMapping);
+            String finalShortUrl = buildFullUrl(address + ":" + port, shortUrl);
             log.info("Short URL saved to DB: {}", finalShortUrl);
 
-            cacheService.put(finalShortUrl, JsonUtils.toJson(new CachedUrlDataDto(savedMapping.getOriginalUrl(), savedMapping.getExpiresAt())), DateTimeUtils.durationBetween(Instant.now(), savedMapping.getExpiresAt()));
+            shortUrlMembershipService.register(shortUrl);
 
-            log.info("Short URL successfully cached: {}", finalShortUrl);
+            try {
+                cacheService.put(cacheKey(shortUrl), toCachedUrlData(savedMapping), cacheTtl(savedMapping.getExpiresAt()));
+                log.info("Short URL successfully cached: {}", finalShortUrl);
+            } catch (CacheException e) {
+                // The link is already committed; redirects load it from the database until it is cached.
+                log.warn("Failed to cache new short URL {}: {}", finalShortUrl, e.getMessage());
+            }
             return MiniUrlResponseDto.builder()
                     .shortUrl(finalShortUrl)
                     .build();
 
-        } catch (DataAccessException | URISyntaxException | CacheException e) {
+        } catch (DataAccessException | URISyntaxException e) {
             log.error("Error occurred while creating short URL: {}", e.getMessage(), e);
             throw new UrlShorteningException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Creates many links at once: existing links for all items are found with one query, new ones are
+     * inserted in JDBC batches within one transaction, and the membership broadcasts and cache writes are
+     * each pipelined into one Redis round trip. A taken short code rolls the batch insert back, after which
+     * the items are inserted one by one with the usual collision retry.
+     */
+    @WriteOnly
+    @Override
+    public BatchShortenResponseDto shortenBatch(BatchShortenRequestDto batchShortenRequestDto) {
+        List<MiniUrlRequestDto> items = batchShortenRequestDto.getItems();
+        if (items.size() > batchShortenProperties.getMaxItems()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch can hold at most " + batchShortenProperties.getMaxItems() + " items");
+        }
+        log.info("Creating up to {} short URL(s) in a batch", items.size());
+
+        Long userId = currentUserId();
+        BatchShortenItemDto[] results = new BatchShortenItemDto[items.size()];
+        List<BatchLink> links = new ArrayList<>(items.size());
+        for (int index = 0; index < items.size(); index++) {
+            MiniUrlRequestDto item = items.get(index);
+            String violation = firstViolation(item);
+            if (violation != null) {
+                results[index] = failedItem(index, item, violation);
+                continue;
+            }
+            links.add(new BatchLink(index, item, selectStrategy(item), UrlUtil.normalize(item.getOriginalUrl()),
+                    UrlUtil.urlHash(item.getOriginalUrl())));
+        }
+
+        Map<String, UrlMapping> existing = findExistingLinks(userId, links);
+        Map<String, BatchLink> firstByUrl = new HashMap<>();
+        List<BatchLink> toInsert = new ArrayList<>(links.size());
+        for (BatchLink link : links) {
+            if (link.strategy != UrlStrategyType.CUSTOM_ALIAS) {
+                UrlMapping found = existing.get(link.normalizedUrl);
+                if (found != null) {
+                    link.mapping = found;
+                    link.status = BatchItemStatus.EXISTING;
+                    continue;
+                }
+                BatchLink first = firstByUrl.putIfAbsent(link.normalizedUrl, link);
+                if (first != null) {
+                    link.duplicateOf = first;
+                    continue;
+                }
+            }
+            try {
+                link.generator = urlShorteningStrategyFactory.getStrategy(link.strategy);
+                link.mapping = newMapping(link.request, link.strategy, generateCode(link.generator, link.strategy, link.request),
+                        userId, link.urlHash);
+                toInsert.add(link);
+            } catch (UrlShorteningException e) {
+                link.fail(e.getMessage());
+            }
+        }
+
+        insertBatch(toInsert);
+        publishCreated(toInsert);
+
+        int created = 0;
+        int existingCount = 0;
+        for (BatchLink link : links) {
+            if (link.duplicateOf != null) {
+                link.copyOutcomeOf(link.duplicateOf);
+            }
+            results[link.index] = link.status == BatchItemStatus.FAILED
+                    ? failedItem(link.index, link.request, link.error)
+                    : BatchShortenItemDto.builder()
+                    .index(link.index)
+                    .originalUrl(link.request.getOriginalUrl())
+                    .status(link.status)
+                    .shortUrl(fullShortUrl(link.mapping.getShortUrl()))
+                    .build();
+            if (link.status == BatchItemStatus.CREATED) {
+                created++;
+            } else if (link.status == BatchItemStatus.EXISTING) {
+                existingCount++;
+            }
+        }
+        log.info("Batch of {} item(s): {} created, {} existing", items.size(), created, existingCount);
+        return BatchShortenResponseDto.builder()
+                .created(created)
+                .existing(existingCount)
+                .failed(items.size() - created - existingCount)
+                .items(Arrays.asList(results))
+                .build();
+    }
+
     @ReadOnly
     @Override
     public String getLongUrl(String shortUrl) {
+        CachedUrlDataDto target = resolve(shortUrl);
+        return target == null ? null : target.getOriginalUrl();
+    }
+
+    @ReadOnly
+    @Override
+    public CachedUrlDataDto resolve(String shortUrl) {
         log.trace("Resolving original URL for short URL: {}", shortUrl);
 
-        Object cachedData = cacheService.get(shortUrl);
-        if (cachedData != null) {
-            incrementUrlAndUpdateTable(shortUrl, hitUrlCount.incrementAndGet());
-            CachedUrlDataDto cachedUrlDataDto = JsonUtils.fromJson(cachedData.toString(), CachedUrlDataDto.class);
+        // The filter can lag behind links created on other nodes, so a miss only skips the DB load: the
+        // cache is still checked, which keeps enumeration traffic off Postgres without 404ing new links.
+        boolean mightExist = shortUrlMembershipService.mightExist(shortUrl);
+        if (mightExist) {
+            hotKeyDetector.record(shortUrl);
+        }
+
+        CachedUrlDataDto cachedUrlDataDto = cacheService.get(cacheKey(shortUrl));
+        if (cachedUrlDataDto != null) {
+            clickCountService.recordClick(shortUrl);
             log.trace("Cache hit for short URL: {}", shortUrl);
-            return cachedUrlDataDto.getOriginalUrl();
+            return cachedUrlDataDto;
+        }
+        if (!mightExist) {
+            log.trace("Short URL rejected by membership filter: {}", shortUrl);
+            return null;
         }
 
         log.trace("Cache miss for short URL: {}", shortUrl);
 
-        AtomicReference<String> originalUrl = new AtomicReference<>();
-
-        incrementUrlAndUpdateTable(shortUrl, hitUrlCount.incrementAndGet());
-        getUrlIfNotFoundInCache(shortUrl, originalUrl);
-        return originalUrl.get();
+        // Only one caller per short URL loads from the DB; concurrent misses wait for its result.
+        CachedUrlDataDto loaded = cacheMissLoads.execute(shortUrl, () -> {
+            AtomicReference<CachedUrlDataDto> loadedUrl = new AtomicReference<>();
+            getUrlIfNotFoundInCache(shortUrl, loadedUrl);
+            return loadedUrl.get();
+        });
+        if (loaded != null) {
+            clickCountService.recordClick(shortUrl);
+        }
+        return loaded;
     }
 
     @ReadOnly
-    private void getUrlIfNotFoundInCache(String shortUrl, AtomicReference<String> originalUrl) {
+    private void getUrlIfNotFoundInCache(String shortUrl, AtomicReference<CachedUrlDataDto> loadedUrl) {
         urlMappingRepository.findByShortUrlAndIsActiveTrue(shortUrl)
                 .ifPresentOrElse(mapping -> {
                     log.trace("Found original URL in DB for short URL: {}", shortUrl);
-                    originalUrl.set(mapping.getOriginalUrl());
-                }, () -> log.warn("No mapping found in DB for short URL: {}", shortUrl));
+                    loadedUrl.set(toCachedUrlData(mapping));
+                    repopulateCache(shortUrl, mapping);
+                }, () -> {
+                    log.warn("No mapping found in DB for short URL: {}", shortUrl);
+                    shortUrlMembershipService.recordMiss(shortUrl);
+                });
     }
 
-    @WriteOnly
-    @Async
-    public void incrementUrlAndUpdateTable(String shortUrl, long urlHitCount) {
-        Optional<UrlMapping> urlMapping = urlMappingRepository.findByShortUrlAndIsActiveTrue(shortUrl);
-        urlMapping.ifPresent(mapping -> {
-            mapping.setNumberOfClicks(urlHitCount);
-            urlMappingRepository.saveAndFlush(mapping);
-        });
+    private void repopulateCache(String shortUrl, UrlMapping mapping) {
+        if (mapping.getExpiresAt() == null || !mapping.getExpiresAt()
+                .isAfter(DateTimeUtils.nowInstant())) {
+            return;
+        }
+        try {
+            cacheService.put(cacheKey(shortUrl), toCachedUrlData(mapping), cacheTtl(mapping.getExpiresAt()));
+        } catch (CacheException e) {
+            log.warn("Failed to repopulate cache for short URL {}: {}", shortUrl, e.getMessage());
+        }
     }
 
-    @ReadOnly
-    private String getShortUrlIfExists(String shortUrl, AtomicReference<String> originalUrl, Long userId) {
-        urlMappingRepository.findByShortUrlAndIsActiveTrueAndUserId(shortUrl, userId)
-                .ifPresentOrElse(mapping -> {
-                    log.trace("Found original URL in DB for short URL with User Id: {} {}", shortUrl, userId);
-                    originalUrl.set(mapping.getOriginalUrl());
-                }, () -> log.warn("No mapping found in DB for short URL with User Id: {} {}", shortUrl, userId));
-        return originalUrl.get();
+    private static CachedUrlDataDto toCachedUrlData(UrlMapping mapping) {
+        return new CachedUrlDataDto(mapping.getOriginalUrl(), mapping.getExpiresAt(), mapping.getRedirectType());
+    }
+
+    /**
+     * Cache lifetime for a link: the time left until it expires, shortened by a random jitter so links
+     * created in bulk do not all drop out of Redis in the same second.
+     */
+    private Duration cacheTtl(Instant expiresAt) {
+        return DateTimeUtils.withJitter(DateTimeUtils.durationBetween(DateTimeUtils.nowInstant(), expiresAt), CACHE_TTL_JITTER_RATIO);
+    }
+
+    /**
+     * The user's live link for the same URL, found through idx_url_mapping_user_url_hash. The hash only
+     * narrows the candidates; the normalised URLs must match too.
+     */
+    private Optional<UrlMapping> findExistingLink(Long userId, String originalUrl, long urlHash) {
+        String normalized = UrlUtil.normalize(originalUrl);
+        Instant now = DateTimeUtils.nowInstant();
+        return urlMappingRepository.findByUserIdAndUrlHashAndIsActiveTrue(userId, urlHash)
+                .stream()
+                .filter(mapping -> mapping.getExpiresAt() == null || mapping.getExpiresAt()
+                        .isAfter(now))
+                .filter(mapping -> normalized.equals(UrlUtil.normalize(mapping.getOriginalUrl())))
+                .findFirst();
+    }
+
+    private MiniUrlResponseDto alreadyExists(String shortCode) throws URISyntaxException {
+        String finalShortUrl = buildFullUrl(address + ":" + port, shortCode);
+        log.info("Short URL already exists for given original URL: {}", finalShortUrl);
+        return MiniUrlResponseDto.builder()
+                .shortUrl("Short URL already exists: " + finalShortUrl)
+                .build();
+    }
+
+    private void insertBatch(List<BatchLink> links) {
+        if (links.isEmpty()) {
+            return;
+        }
+        try {
+            urlMappingInserter.insertAll(links.stream()
+                    .map(link -> link.mapping)
+                    .toList());
+            links.forEach(link -> link.status = BatchItemStatus.CREATED);
+            return;
+        } catch (DataIntegrityViolationException e) {
+            log.info("Batch insert of {} link(s) was rolled back ({}), inserting them one by one", links.size(), e.getMessage());
+        }
+        for (BatchLink link : links) {
+            link.mapping.setUrlMappingId(null);
+            try {
+                UrlMappingInserter.Outcome outcome = urlMappingInserter.insert(link.mapping, link.strategy,
+                        attempt -> regenerate(link.generator, link.strategy, link.request.getOriginalUrl(), attempt));
+                link.mapping = outcome.mapping();
+                link.status = outcome.created() ? BatchItemStatus.CREATED : BatchItemStatus.EXISTING;
+            } catch (UrlShorteningException | DataAccessException e) {
+                link.fail(e.getMessage());
+            }
+        }
+    }
+
+    private void publishCreated(List<BatchLink> links) {
+        Map<String, CachedUrlDataDto> entries = new HashMap<>();
+        List<String> codes = new ArrayList<>();
+        for (BatchLink link : links) {
+            if (link.status == BatchItemStatus.CREATED) {
+                codes.add(link.mapping.getShortUrl());
+                entries.put(cacheKey(link.mapping.getShortUrl()), toCachedUrlData(link.mapping));
+            }
+        }
+        if (codes.isEmpty()) {
+            return;
+        }
+        shortUrlMembershipService.registerAll(codes);
+        try {
+            cacheService.putAll(entries, value -> cacheTtl(value.getExpiresAt()));
+        } catch (CacheException e) {
+            // The links are already committed; redirects load them from the database until they are cached.
+            log.warn("Failed to cache {} new short URL(s): {}", entries.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * The user's live links for any of the batch's URLs, keyed by normalised URL, from one query on
+     * idx_url_mapping_user_url_hash.
+     */
+    private Map<String, UrlMapping> findExistingLinks(Long userId, List<BatchLink> links) {
+        if (!Boolean.TRUE.equals(urlDedupeProperties.getEnabled())) {
+            return Map.of();
+        }
+        Set<Long> hashes = new HashSet<>();
+        for (BatchLink link : links) {
+            if (link.strategy != UrlStrategyType.CUSTOM_ALIAS) {
+                hashes.add(link.urlHash);
+            }
+        }
+        if (hashes.isEmpty()) {
+            return Map.of();
+        }
+        Instant now = DateTimeUtils.nowInstant();
+        Map<String, UrlMapping> existing = new HashMap<>();
+        for (UrlMapping mapping : urlMappingRepository.findByUserIdAndUrlHashInAndIsActiveTrue(userId, hashes)) {
+            if (mapping.getExpiresAt() == null || mapping.getExpiresAt()
+                    .isAfter(now)) {
+                existing.putIfAbsent(UrlUtil.normalize(mapping.getOriginalUrl()), mapping);
+            }
+        }
+        return existing;
+    }
+
+    private String firstViolation(MiniUrlRequestDto item) {
+        if (item == null) {
+            return "Item cannot be null";
+        }
+        // Required to compute the expiry, though not enforced by the DTO's constraints.
+        if (item.getAmountOfTime() == null || item.getUnitTime() == null) {
+            return "amountOfTime and unitTime are required";
+        }
+        return validator.validate(item)
+                .stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static BatchShortenItemDto failedItem(int index, MiniUrlRequestDto item, String error) {
+        return BatchShortenItemDto.builder()
+                .index(index)
+                .originalUrl(item == null ? null : item.getOriginalUrl())
+                .status(BatchItemStatus.FAILED)
+                .error(error)
+                .build();
+    }
+
+    private String fullShortUrl(String shortCode) {
+        try {
+            return buildFullUrl(address + ":" + port, shortCode);
+        } catch (URISyntaxException e) {
+            throw new UrlShorteningException(e.getMessage(), e);
+        }
+    }
+
+    private Long currentUserId() {
+        Long userId = currentUserProvider.getCurrentUser()
+                .getId();
+        return userId != null ? userId : 0L;
+    }
+
+    // Missing flags count as false.
+    private static UrlStrategyType selectStrategy(MiniUrlRequestDto request) {
+        return SmartUrlStrategySelectorFactory.selectStrategy(StrategyContext.builder()
+                .customAlias(Boolean.TRUE.equals(request.getCustomAlias()))
+                .highThroughput(Boolean.TRUE.equals(request.getHighThroughput()))
+                .internalTool(Boolean.TRUE.equals(request.getInternalTool()))
+                .needsDeterminism(Boolean.TRUE.equals(request.getNeedsDeterminism()))
+                .premiumUser(Boolean.TRUE.equals(request.getPremiumUser()))
+                .useTimestamp(Boolean.TRUE.equals(request.getUseTimestamp()))
+                .build());
+    }
+
+    /**
+     * First code for a link; custom aliases take the requested alias name.
+     */
+    private static String generateCode(UrlShorteningStrategy generator, UrlStrategyType strategy, MiniUrlRequestDto request) {
+        if (strategy == UrlStrategyType.CUSTOM_ALIAS) {
+            return generator.generate(request.getOriginalUrl(), request.getCustomAliasName());
+        }
+        return generator.generate(request.getOriginalUrl());
+    }
+
+    private static UrlMapping newMapping(MiniUrlRequestDto request, UrlStrategyType strategy, String shortUrl, Long userId, long urlHash) {
+        return UrlMapping.builder()
+                .originalUrl(request.getOriginalUrl())
+                .urlHash(urlHash)
+                .shortUrl(shortUrl)
+                .userId(userId)
+                .numberOfClicks(0L)
+                .notes(request.getNote())
+                .customAliasName(request.getCustomAliasName())
+                .customAlias(request.getCustomAlias())
+                .premiumUser(request.getPremiumUser())
+                .highThroughput(request.getHighThroughput())
+                .needsDeterminism(request.getNeedsDeterminism())
+                .internalTool(request.getInternalTool())
+                .expiresAt(DateTimeUtils.calculateExpiry(request.getAmountOfTime(), request.getUnitTime()))
+                .tags(JsonUtils.toJson(request.getTags()))
+                .redirectType(request.getRedirectType() != null ? request.getRedirectType() : RedirectType.TEMPORARY)
+                .strategy(strategy.name())
+                .createdUserAgent(RequestContext.getUserAgent())
+                .createdBy(UserTypes.SYSTEM.name())
+                .createdDate(DateTimeUtils.now())
+                .isActive(Boolean.TRUE)
+                .build();
+    }
+
+    /**
+     * Code for the given retry after a collision: hash-based codes are rehashed with the attempt number as
+     * salt, since rehashing the same URL would collide again; every other strategy simply draws again.
+     */
+    private static String regenerate(UrlShorteningStrategy generator, UrlStrategyType strategy, String originalUrl, int attempt) {
+        if (strategy == UrlStrategyType.HASH) {
+            return generator.generate(originalUrl, String.valueOf(attempt));
+        }
+        return generator.generate(originalUrl);
+    }
+
+    /**
+     * Working state of one batch item between validation and the response.
+     */
+    private static final class BatchLink {
+        private final int index;
+        private final MiniUrlRequestDto request;
+        private final UrlStrategyType strategy;
+        private final String normalizedUrl;
+        private final long urlHash;
+
+        private UrlShorteningStrategy generator;
+        private UrlMapping mapping;
+        private BatchItemStatus status;
+        private String error;
+        // An earlier item of the same batch with the same URL, whose outcome this item reports.
+        private BatchLink duplicateOf;
+
+        private BatchLink(int index, MiniUrlRequestDto request, UrlStrategyType strategy, String normalizedUrl, long urlHash) {
+            this.index = index;
+            this.request = request;
+            this.strategy = strategy;
+            this.normalizedUrl = normalizedUrl;
+            this.urlHash = urlHash;
+        }
+
+        private void fail(String error) {
+            this.status = BatchItemStatus.FAILED;
+            this.error = error;
+        }
+
+        private void copyOutcomeOf(BatchLink first) {
+            if (first.status == BatchItemStatus.FAILED) {
+                fail(first.error);
+            } else {
+                this.mapping = first.mapping;
+                this.status = BatchItemStatus.EXISTING;
+            }
+        }
     }
-}
\ No newline at end of file
+}
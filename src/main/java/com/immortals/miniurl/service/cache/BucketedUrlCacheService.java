@@ -0,0 +1,255 @@
+package com.immortals.miniurl.service.cache;
+
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.service.exception.CacheException;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.immortals.miniurl.constants.UrlConstants.URL_CACHE_BUCKET_PREFIX;
+
+/**
+ * Memory-optimised Redis layout for short URL entries: each key is stored as a field of one of a fixed
+ * number of small hashes instead of as a top-level key, avoiding the per-key overhead of the Redis
+ * keyspace.
+ * <p>
+ * Hash fields carry no TTL of their own, so the {@code ttl} arguments are ignored. Entries are treated as
+ * missing once their {@code expiresAt} has passed and are deleted when such a read happens, or by the
+ * periodic {@link #sweepExpired() sweep} for entries that are never read again.
+ */
+@Slf4j
+public class BucketedUrlCacheService implements CacheService<String, CachedUrlDataDto> {
+
+    static final String SWEEP_LOCK_KEY = "cache:url:sweep-lock";
+
+    private static final int CLEAR_BATCH_SIZE = 1_000;
+    private static final ScanOptions SWEEP_SCAN_OPTIONS = ScanOptions.scanOptions()
+            .count(1_000)
+            .build();
+
+    private final RedisTemplate<String, CachedUrlDataDto> redisTemplate;
+    private final HashOperations<String, String, CachedUrlDataDto> hashOps;
+    private final int buckets;
+    private final RedisCacheOperations<String, Object> lockService;
+    private final Duration sweepLockTtl;
+    private final String nodeId = UUID.randomUUID()
+            .toString();
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+
+    /**
+     * @param lockService  holds the lease that lets a single node sweep per run
+     * @param sweepLockTtl how long that lease outlives a node that dies mid-sweep
+     */
+    public BucketedUrlCacheService(RedisTemplate<String, CachedUrlDataDto> redisTemplate, int buckets,
+                                   RedisCacheOperations<String, Object> lockService, Duration sweepLockTtl) {
+        this.redisTemplate = redisTemplate;
+        this.hashOps = redisTemplate.opsForHash();
+        this.buckets = buckets;
+        this.lockService = lockService;
+        this.sweepLockTtl = sweepLockTtl;
+    }
+
+    @Override
+    public void put(String key, CachedUrlDataDto value, Duration ttl) {
+        try {
+            hashOps.put(bucketOf(key), key, value);
+        } catch (DataAccessException e) {
+            log.error("Redis HSET failed for key [{}]: {}", key, e.getMessage(), e);
+            throw new CacheException("Failed to put value in cache", e);
+        }
+    }
+
+    @Override
+    public Boolean putIfAbsent(String key, CachedUrlDataDto value, Duration ttl) {
+        try {
+            return hashOps.putIfAbsent(bucketOf(key), key, value);
+        } catch (DataAccessException e) {
+            log.error("Redis HSETNX failed for key [{}]: {}", key, e.getMessage(), e);
+            throw new CacheException("Failed to perform putIfAbsent in cache", e);
+        }
+    }
+
+    @Override
+    public void putMultipleIfAbsent(Map<String, CachedUrlDataDto> entries, Duration ttl) {
+        entries.forEach((key, value) -> putIfAbsent(key, value, ttl));
+    }
+
+    /**
+     * Pipelined HSETs; {@code ttl} is ignored as for {@link #put}.
+     */
+    @Override
+    public void putAll(Map<String, CachedUrlDataDto> entries, Function<CachedUrlDataDto, Duration> ttl) {
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    HashOperations<String, String, CachedUrlDataDto> pipelinedOps = ((RedisOperations<String, CachedUrlDataDto>) operations).opsForHash();
+                    entries.forEach((key, value) -> pipelinedOps.put(bucketOf(key), key, value));
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            log.error("Redis pipelined HSET of {} entries failed: {}", entries.size(), e.getMessage(), e);
+            throw new CacheException("Failed to put values in cache", e);
+        }
+    }
+
+    @Override
+    public CachedUrlDataDto get(String key) {
+        try {
+            CachedUrlDataDto value = hashOps.get(bucketOf(key), key);
+            if (value != null && isExpired(value)) {
+                hashOps.delete(bucketOf(key), key);
+                value = null;
+            }
+            if (value != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+            return value;
+        } catch (DataAccessException e) {
+            misses.incrementAndGet();
+            log.error("Redis HGET failed for key [{}]: {}", key, e.getMessage(), e);
+            throw new CacheException("Failed to get value from cache", e);
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        try {
+            hashOps.delete(bucketOf(key), key);
+        } catch (DataAccessException e) {
+            log.error("Redis HDEL failed for key [{}]: {}", key, e.getMessage(), e);
+            throw new CacheException("Failed to remove cache key", e);
+        }
+    }
+
+    /**
+     * Deletes every bucket of this layout; other keys in the Redis database are left alone.
+     */
+    @Override
+    public void clear() {
+        try {
+            List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                batch.add(URL_CACHE_BUCKET_PREFIX + bucket);
+                if (batch.size() == CLEAR_BATCH_SIZE) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                redisTemplate.delete(batch);
+            }
+        } catch (DataAccessException e) {
+            log.error("Redis bucket clear failed: {}", e.getMessage(), e);
+            throw new CacheException("Failed to clear Redis cache", e);
+        }
+    }
+
+    /**
+     * HSCANs every bucket and HDELs the entries whose {@code expiresAt} has passed. Only the node holding the
+     * sweep lease scans; the others skip the run. Should a sweep outlive the lease, a second one is harmless
+     * since the deletes are idempotent. An entry rewritten between the scan and the delete is dropped too,
+     * which only costs a cache miss.
+     */
+    @Scheduled(cron = "${cache.url.sweep-cron:0 45 * * * *}")
+    public void sweepExpired() {
+        long removed = 0L;
+        try {
+            if (!Boolean.TRUE.equals(lockService.putIfAbsent(SWEEP_LOCK_KEY, nodeId, sweepLockTtl))) {
+                log.debug("Cache bucket sweep skipped: another node holds the sweep lease");
+                return;
+            }
+            try {
+                removed = sweepBuckets();
+            } finally {
+                // Only our own lease: a sweep that outlived sweep-lock-ttl may find another node's here.
+                lockService.removeIfValueEquals(SWEEP_LOCK_KEY, nodeId);
+            }
+            log.info("Swept {} expired entries from {} cache buckets", removed, buckets);
+        } catch (CacheException | DataAccessException e) {
+            log.warn("Cache bucket sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private long sweepBuckets() {
+        long removed = 0L;
+        try {
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                String name = URL_CACHE_BUCKET_PREFIX + bucket;
+                List<Object> expired = new ArrayList<>();
+                try (Cursor<Map.Entry<String, CachedUrlDataDto>> cursor = hashOps.scan(name, SWEEP_SCAN_OPTIONS)) {
+                    while (cursor.hasNext()) {
+                        Map.Entry<String, CachedUrlDataDto> entry = cursor.next();
+                        if (entry.getValue() != null && isExpired(entry.getValue())) {
+                            expired.add(entry.getKey());
+                        }
+                    }
+                }
+                if (!expired.isEmpty()) {
+                    Long deleted = hashOps.delete(name, expired.toArray());
+                    removed += deleted != null ? deleted : 0L;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Cache bucket sweep stopped after removing {} expired entries: {}", removed, e.getMessage());
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        try {
+            return Boolean.TRUE.equals(hashOps.hasKey(bucketOf(key), key));
+        } catch (DataAccessException e) {
+            log.error("Redis HEXISTS failed for key [{}]: {}", key, e.getMessage(), e);
+            throw new CacheException("Failed to check key presence in cache", e);
+        }
+    }
+
+    @Override
+    public Long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public Long getMissCount() {
+        return misses.get();
+    }
+
+    String bucketOf(String key) {
+        return bucketOf(key, buckets);
+    }
+
+    /**
+     * Name of the hash holding {@code key} when the layout uses {@code buckets} hashes.
+     */
+    public static String bucketOf(String key, int buckets) {
+        return URL_CACHE_BUCKET_PREFIX + Math.floorMod(key.hashCode(), buckets);
+    }
+
+    public static boolean isExpired(CachedUrlDataDto value) {
+        return value.getExpiresAt() != null && !value.getExpiresAt()
+                .isAfter(DateTimeUtils.nowInstant());
+    }
+}
@@ -2,6 +2,7 @@ package com.immortals.miniurl.service.cache;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.function.Function;
 
 public interface CacheService<K, V> {
     void put(K key, V value, Duration ttl);
@@ -12,6 +13,13 @@ public interface CacheService<K, V> {
 
     V get(K key);
 
+    /**
+     * Writes many entries, each with its own TTL, in as few round trips as the store allows.
+     */
+    default void putAll(Map<K, V> entries, Function<V, Duration> ttl) {
+        entries.forEach((key, value) -> put(key, value, ttl.apply(value)));
+    }
+
     void remove(K key);
 
     void clear();
@@ -25,6 +33,4 @@ public interface CacheService<K, V> {
     default Long getMissCount() {
         return 0L;
     }
-
-
 }
@@ -0,0 +1,28 @@
+package com.immortals.miniurl.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * OUT_OF_SERVICE until the startup cache warm-up has finished (successfully or not), UP afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupRunner cacheWarmupRunner;
+
+    @Override
+    public Health health() {
+        CacheWarmupRunner.State state = cacheWarmupRunner.getState();
+        Health.Builder builder = switch (state) {
+            case PENDING, WARMING -> Health.outOfService();
+            case DONE, DISABLED, FAILED -> Health.up();
+        };
+        return builder.withDetail("state", state)
+                .withDetail("loaded", cacheWarmupRunner.getLoaded())
+                .build();
+    }
+}
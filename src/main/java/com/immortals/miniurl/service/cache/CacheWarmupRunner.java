@@ -0,0 +1,132 @@
+package com.immortals.miniurl.service.cache;
+
+import com.immortals.miniurl.annotation.ReadOnly;
+import com.immortals.miniurl.config.cache.CacheWarmupProperties;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.model.projection.HotLinkProjection;
+import com.immortals.miniurl.repository.UrlMappingRepository;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.immortals.miniurl.constants.UrlConstants.CACHE_TTL_JITTER_RATIO;
+import static com.immortals.miniurl.utils.UrlUtil.cacheKey;
+
+/**
+ * Loads the most-clicked live links into Redis and the near cache at startup, so a freshly started (or
+ * restarted) instance does not send its first burst of redirects to the database.
+ * <p>
+ * Runs as an {@link ApplicationRunner}: Spring Boot only marks the application ready once every runner has
+ * returned, and {@link CacheWarmupHealthIndicator} reports OUT_OF_SERVICE until then, which Eureka picks up
+ * when {@code eureka.client.healthcheck.enabled} is set. Failures end the warm-up early instead of blocking
+ * startup; the cache then fills on demand as usual.
+ */
+@Component
+@Slf4j
+public class CacheWarmupRunner implements ApplicationRunner {
+
+    public enum State {PENDING, WARMING, DONE, DISABLED, FAILED}
+
+    private final UrlMappingRepository urlMappingRepository;
+    private final CacheService<String, CachedUrlDataDto> cacheService;
+    private final CacheWarmupProperties cacheWarmupProperties;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+    private final AtomicLong loaded = new AtomicLong();
+
+    public CacheWarmupRunner(UrlMappingRepository urlMappingRepository,
+                             CacheService<String, CachedUrlDataDto> cacheService,
+                             CacheWarmupProperties cacheWarmupProperties,
+                             MeterRegistry meterRegistry) {
+        this.urlMappingRepository = urlMappingRepository;
+        this.cacheService = cacheService;
+        this.cacheWarmupProperties = cacheWarmupProperties;
+
+        Gauge.builder("cache.warmup.loaded", loaded, AtomicLong::get)
+                .description("Links loaded into the URL cache by the startup warm-up")
+                .register(meterRegistry);
+        Gauge.builder("cache.warmup.progress", this, CacheWarmupRunner::progress)
+                .description("Fraction of cache.warmup.top-n loaded so far")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @ReadOnly
+    public void run(ApplicationArguments args) {
+        if (!Boolean.TRUE.equals(cacheWarmupProperties.getEnabled()) || cacheWarmupProperties.getTopN() <= 0) {
+            state.set(State.DISABLED);
+            return;
+        }
+        state.set(State.WARMING);
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + cacheWarmupProperties.getMaxDuration()
+                .toNanos();
+        int topN = cacheWarmupProperties.getTopN();
+        int batchSize = cacheWarmupProperties.getBatchSize();
+        Instant now = DateTimeUtils.nowInstant();
+
+        try {
+            HotLinkProjection last = null;
+            List<HotLinkProjection> page;
+            int limit;
+            do {
+                limit = (int) Math.min(batchSize, topN - loaded.get());
+                page = last == null
+                        ? urlMappingRepository.findHottest(now, PageRequest.of(0, limit))
+                        : urlMappingRepository.findHottestAfter(now, last.getNumberOfClicks(), last.getUrlMappingId(), PageRequest.of(0, limit));
+                if (page.isEmpty()) {
+                    break;
+                }
+                Map<String, CachedUrlDataDto> entries = new LinkedHashMap<>(page.size() * 2);
+                for (HotLinkProjection row : page) {
+                    entries.put(cacheKey(row.getShortUrl()), new CachedUrlDataDto(row.getOriginalUrl(), row.getExpiresAt(), row.getRedirectType()));
+                }
+                cacheService.putAll(entries, CacheWarmupRunner::cacheTtl);
+                loaded.addAndGet(page.size());
+                last = page.get(page.size() - 1);
+            } while (page.size() == limit && loaded.get() < topN && System.nanoTime() < deadline);
+
+            state.set(State.DONE);
+            log.info("Cache warm-up loaded {} link(s) in {} ms", loaded.get(),
+                    Duration.ofNanos(System.nanoTime() - startNanos)
+                            .toMillis());
+        } catch (RuntimeException e) {
+            // Also covers CannotCreateTransactionException when the replica is down: the warm-up must never
+            // fail startup.
+            state.set(State.FAILED);
+            log.warn("Cache warm-up stopped after {} link(s): {}", loaded.get(), e.getMessage());
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public long getLoaded() {
+        return loaded.get();
+    }
+
+    double progress() {
+        return switch (state.get()) {
+            case DONE, DISABLED, FAILED -> 1.0;
+            default -> Math.min(1.0, (double) loaded.get() / cacheWarmupProperties.getTopN());
+        };
+    }
+
+    private static Duration cacheTtl(CachedUrlDataDto value) {
+        return DateTimeUtils.withJitter(DateTimeUtils.durationBetween(DateTimeUtils.nowInstant(), value.getExpiresAt()), CACHE_TTL_JITTER_RATIO);
+    }
+}
@@ -0,0 +1,60 @@
+package com.immortals.miniurl.service.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Redis data-structure commands beyond plain key/value caching. Only {@link RedisCacheService} implements
+ * them, so services that need them depend on this type instead of {@link CacheService}.
+ */
+public interface RedisCacheOperations<K, V> extends CacheService<K, V> {
+
+    /**
+     * Atomically adds {@code delta} to a numeric field of a hash, creating both if needed (HINCRBY).
+     *
+     * @return the value of the field after the increment
+     */
+    Long incrementHashField(K key, String field, long delta);
+
+    /**
+     * Sets a hash field only if it does not exist yet (HSETNX).
+     */
+    Boolean putHashFieldIfAbsent(K key, String field, String value);
+
+    /**
+     * All fields of a hash with their values rendered as strings; empty when the key does not exist.
+     */
+    Map<String, String> getHashEntries(K key);
+
+    /**
+     * Renames {@code key} to {@code newKey} unless {@code newKey} already exists (RENAMENX).
+     *
+     * @return false when {@code key} does not exist or {@code newKey} already exists
+     */
+    Boolean renameIfAbsent(K key, K newKey);
+
+    /**
+     * Adds raw elements to the HyperLogLog at each key (PFADD) in as few round trips as possible, then sets
+     * each key to expire after {@code ttl} unless it is null.
+     */
+    void addToHyperLogLogs(Map<K, ? extends Collection<byte[]>> elements, Duration ttl);
+
+    /**
+     * Estimated number of distinct elements added to the HyperLogLog at {@code key} (PFCOUNT); 0 when the
+     * key does not exist.
+     */
+    Long countHyperLogLog(K key);
+
+    /**
+     * Resets the TTL of {@code key} only while it still holds {@code expected}, atomically.
+     *
+     * @return false when the key is missing or holds another value
+     */
+    Boolean expireIfValueEquals(K key, V expected, Duration ttl);
+
+    /**
+     * Deletes {@code key} only while it still holds {@code expected}, atomically.
+     */
+    Boolean removeIfValueEquals(K key, V expected);
+}
@@ -6,22 +6,35 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 @Service
 @Slf4j
-public class RedisCacheService<K, V> implements CacheService<K, V> {
+public class RedisCacheService<K, V> implements RedisCacheOperations<K, V> {
+
+    private static final byte[] EXPIRE_IF_VALUE_EQUALS =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DELETE_IF_VALUE_EQUALS =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end".getBytes(StandardCharsets.UTF_8);
 
     private final RedisTemplate<K, V> redisTemplate;
     private final ValueOperations<K, V> valueOps;
@@ -80,6 +93,27 @@ public class RedisCacheService<K, V> implements CacheService<K, V> {
         }
     }
 
+    /**
+     * Pipelined SETs: one round trip for the whole map instead of one per entry.
+     */
+    @Override
+    public void putAll(Map<K, V> entries, Function<V, Duration> ttl) {
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <OK, OV> Object execute(RedisOperations<OK, OV> operations) {
+                    ValueOperations<K, V> pipelinedOps = ((RedisOperations<K, V>) operations).opsForValue();
+                    entries.forEach((key, value) -> pipelinedOps.set(key, value, ttl.apply(value)));
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            log.error("Redis pipelined PUT of {} entries failed: {}", entries.size(), e.getMessage(), e);
+            throw new CacheException("Failed to put values in cache", e);
+        }
+    }
+
     @Override
     public V get(K key) {
         try {
@@ -168,6 +202,133 @@ public class RedisCacheService<K, V> implements CacheService<K, V> {
         }
     }
 
+    @Override
+    public Long incrementHashField(K key, String field, long delta) {
+        try {
+            return redisTemplate.opsForHash()
+                    .increment(key, field, delta);
+        } catch (DataAccessException e) {
+            log.error("Redis HINCRBY failed for key [{}] field [{}]: {}", key, field, e.getMessage(), e);
+            throw new CacheException("Failed to increment hash field", e);
+        }
+    }
+
+    @Override
+    public Boolean putHashFieldIfAbsent(K key, String field, String value) {
+        try {
+            return redisTemplate.opsForHash()
+                    .putIfAbsent(key, field, value);
+        } catch (DataAccessException e) {
+            log.error("Redis HSETNX failed for key [{}] field [{}]: {}", key, field, e.getMessage(), e);
+            throw new CacheException("Failed to put hash field", e);
+        }
+    }
+
+    @Override
+    public Map<String, String> getHashEntries(K key) {
+        try {
+            Map<String, String> entries = new HashMap<>();
+            redisTemplate.opsForHash()
+                    .entries(key)
+                    .forEach((field, value) -> entries.put(String.valueOf(field), String.valueOf(value)));
+            return entries;
+        } catch (DataAccessException e) {
+            log.error("Redis HGETALL failed for key [{}]: {}", key, e.getMessage(), e);
+            throw new CacheException("Failed to read hash entries", e);
+        }
+    }
+
+    @Override
+    public Boolean renameIfAbsent(K key, K newKey) {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                return Boolean.FALSE;
+            }
+            return redisTemplate.renameIfAbsent(key, newKey);
+        } catch (DataAccessException e) {
+            log.error("Redis RENAMENX failed for key [{}] to [{}]: {}", key, newKey, e.getMessage(), e);
+            throw new CacheException("Failed to rename cache key", e);
+        }
+    }
+
+    @Override
+    public Boolean expireIfValueEquals(K key, V expected, Duration ttl) {
+        byte[] rawKey = keySerializer().serialize(key);
+        byte[] rawExpected = valueSerializer().serialize(expected);
+        byte[] rawTtl = String.valueOf(ttl.toMillis())
+                .getBytes(StandardCharsets.UTF_8);
+        try {
+            Long result = redisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands()
+                    .eval(EXPIRE_IF_VALUE_EQUALS, ReturnType.INTEGER, 1, rawKey, rawExpected, rawTtl));
+            return result != null && result == 1L;
+        } catch (DataAccessException e) {
+            log.error("Redis conditional PEXPIRE failed for key [{}]: {}", key, e.getMessage(), e);
+            throw new CacheException("Failed to renew cache key", e);
+        }
+    }
+
+    @Override
+    public Boolean removeIfValueEquals(K key, V expected) {
+        byte[] rawKey = keySerializer().serialize(key);
+        byte[] rawExpected = valueSerializer().serialize(expected);
+        try {
+            Long result = redisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands()
+                    .eval(DELETE_IF_VALUE_EQUALS, ReturnType.INTEGER, 1, rawKey, rawExpected));
+            return result != null && result == 1L;
+        } catch (DataAccessException e) {
+            log.error("Redis conditional DEL failed for key [{}]: {}", key, e.getMessage(), e);
+            throw new CacheException("Failed to remove cache key", e);
+        }
+    }
+
+    /**
+     * Pipelined PFADDs on the raw connection, so elements are stored as given instead of going through
+     * the template's value serializer.
+     */
+    @Override
+    public void addToHyperLogLogs(Map<K, ? extends Collection<byte[]>> elements, Duration ttl) {
+        RedisSerializer<K> keySerializer = keySerializer();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                elements.forEach((key, values) -> {
+                    byte[] rawKey = keySerializer.serialize(key);
+                    connection.hyperLogLogCommands()
+                            .pfAdd(rawKey, values.toArray(new byte[0][]));
+                    if (ttl != null) {
+                        connection.keyCommands()
+                                .expire(rawKey, ttl.toSeconds());
+                    }
+                });
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.error("Redis pipelined PFADD of {} keys failed: {}", elements.size(), e.getMessage(), e);
+            throw new CacheException("Failed to add HyperLogLog elements", e);
+        }
+    }
+
+    @Override
+    public Long countHyperLogLog(K key) {
+        RedisSerializer<K> keySerializer = keySerializer();
+        try {
+            return redisTemplate.execute((RedisCallback<Long>) connection -> connection.hyperLogLogCommands()
+                    .pfCount(keySerializer.serialize(key)));
+        } catch (DataAccessException e) {
+            log.error("Redis PFCOUNT failed for key [{}]: {}", key, e.getMessage(), e);
+            throw new CacheException("Failed to count HyperLogLog", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<K> keySerializer() {
+        return (RedisSerializer<K>) redisTemplate.getKeySerializer();
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<V> valueSerializer() {
+        return (RedisSerializer<V>) redisTemplate.getValueSerializer();
+    }
+
     public Long getHitCount() {
         return hits.get();
     }
@@ -0,0 +1,245 @@
+package com.immortals.miniurl.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.immortals.miniurl.config.cache.NearCacheProperties;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Two-tier cache for short URL lookups: a bounded in-process near cache (L1) in front of Redis (L2).
+ * <p>
+ * Reads are served from L1 when possible and fall through to Redis on a miss; Redis hits are admitted
+ * into L1 for at most {@link NearCacheProperties#getMaximumTtl()} and never beyond the link's own
+ * {@code expiresAt}. Writes always go to Redis first so other nodes observe them.
+ * <p>
+ * Hot codes can additionally be pinned: pinned entries are never evicted or expired by the near cache and
+ * are reloaded from Redis in the background through {@link #pin}, so lookups for them stay in process.
+ */
+@Service
+@Primary
+@Slf4j
+public class TieredUrlCacheService implements CacheService<String, CachedUrlDataDto> {
+
+    private static final String NEAR_CACHE_NAME = "url-near-cache";
+
+    private final CacheService<String, CachedUrlDataDto> remoteCache;
+    private final NearCacheProperties nearCacheProperties;
+    private final Cache<String, NearCacheEntry> nearCache;
+    private final Map<String, CachedUrlDataDto> pinned = new ConcurrentHashMap<>();
+
+    public TieredUrlCacheService(@Qualifier("urlRedisCacheService") CacheService<String, CachedUrlDataDto> remoteCache,
+                                 NearCacheProperties nearCacheProperties,
+                                 MeterRegistry meterRegistry) {
+        this.remoteCache = remoteCache;
+        this.nearCacheProperties = nearCacheProperties;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumWeight(nearCacheProperties.getMaximumWeight())
+                .weigher((String key, NearCacheEntry entry) -> weigh(key, entry.value()))
+                .expireAfter(new NearCacheExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, NEAR_CACHE_NAME, "tier", "near");
+        FunctionCounter.builder("cache.tier.gets", remoteCache, CacheService::getHitCount)
+                .tags("tier", "remote", "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.tier.gets", remoteCache, CacheService::getMissCount)
+                .tags("tier", "remote", "result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("cache.tier.pinned", pinned, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void put(String key, CachedUrlDataDto value, Duration ttl) {
+        remoteCache.put(key, value, ttl);
+        admit(key, value, ttl);
+        pinned.computeIfPresent(key, (k, previous) -> value);
+    }
+
+    @Override
+    public Boolean putIfAbsent(String key, CachedUrlDataDto value, Duration ttl) {
+        Boolean stored = remoteCache.putIfAbsent(key, value, ttl);
+        if (Boolean.TRUE.equals(stored)) {
+            admit(key, value, ttl);
+        }
+        return stored;
+    }
+
+    @Override
+    public void putAll(Map<String, CachedUrlDataDto> entries, Function<CachedUrlDataDto, Duration> ttl) {
+        remoteCache.putAll(entries, ttl);
+        entries.forEach((key, value) -> admit(key, value, ttl.apply(value)));
+    }
+
+    @Override
+    public void putMultipleIfAbsent(Map<String, CachedUrlDataDto> entries, Duration ttl) {
+        remoteCache.putMultipleIfAbsent(entries, ttl);
+        nearCache.invalidateAll(entries.keySet());
+    }
+
+    @Override
+    public CachedUrlDataDto get(String key) {
+        CachedUrlDataDto local = getLocal(key);
+        if (local != null) {
+            return local;
+        }
+
+        CachedUrlDataDto value = remoteCache.get(key);
+        if (value != null) {
+            admit(key, value, remainingLifetime(value));
+        }
+        return value;
+    }
+
+    @Override
+    public void remove(String key) {
+        pinned.remove(key);
+        nearCache.invalidate(key);
+        remoteCache.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        pinned.clear();
+        nearCache.invalidateAll();
+        remoteCache.clear();
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return pinned.containsKey(key) || (isNearCacheEnabled() && nearCache.getIfPresent(key) != null) || remoteCache.containsKey(key);
+    }
+
+    @Override
+    public Long getHitCount() {
+        return nearCache.stats()
+                .hitCount() + remoteCache.getHitCount();
+    }
+
+    @Override
+    public Long getMissCount() {
+        return remoteCache.getMissCount();
+    }
+
+    /**
+     * Hit, miss and eviction statistics of the in-process tier only.
+     */
+    public CacheStats getNearCacheStats() {
+        return nearCache.stats();
+    }
+
+    /**
+     * Looks up this node's near cache only, never Redis.
+     */
+    public CachedUrlDataDto getLocal(String key) {
+        CachedUrlDataDto pinnedValue = pinned.get(key);
+        if (pinnedValue != null && !BucketedUrlCacheService.isExpired(pinnedValue)) {
+            return pinnedValue;
+        }
+        if (!isNearCacheEnabled()) {
+            return null;
+        }
+        NearCacheEntry entry = nearCache.getIfPresent(key);
+        return entry == null ? null : entry.value();
+    }
+
+    /**
+     * Admits a value read from Redis by another path (e.g. the reactive client) into the near cache.
+     */
+    public void cacheLocally(String key, CachedUrlDataDto value) {
+        admit(key, value, remainingLifetime(value));
+    }
+
+    /**
+     * Drops an entry from this node's near cache without touching Redis.
+     */
+    public void evictLocal(String key) {
+        nearCache.invalidate(key);
+    }
+
+    /**
+     * Loads {@code key} from Redis and pins it locally, or unpins it if Redis no longer holds a live entry.
+     */
+    public void pin(String key) {
+        CachedUrlDataDto value = remoteCache.get(key);
+        if (value == null || BucketedUrlCacheService.isExpired(value)) {
+            pinned.remove(key);
+        } else {
+            pinned.put(key, value);
+        }
+    }
+
+    public void unpin(String key) {
+        pinned.remove(key);
+    }
+
+    public Set<String> pinnedKeys() {
+        return Set.copyOf(pinned.keySet());
+    }
+
+    private void admit(String key, CachedUrlDataDto value, Duration ttl) {
+        if (!isNearCacheEnabled() || ttl == null || ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        if (weigh(key, value) > nearCacheProperties.getMaximumEntryWeight()) {
+            log.trace("Skipping near cache admission for oversized entry [{}]", key);
+            return;
+        }
+        Duration localTtl = ttl.compareTo(nearCacheProperties.getMaximumTtl()) < 0 ? ttl : nearCacheProperties.getMaximumTtl();
+        nearCache.put(key, new NearCacheEntry(value, localTtl.toNanos()));
+    }
+
+    private Duration remainingLifetime(CachedUrlDataDto value) {
+        Instant expiresAt = value.getExpiresAt();
+        return expiresAt == null ? nearCacheProperties.getMaximumTtl() : DateTimeUtils.durationBetween(DateTimeUtils.nowInstant(), expiresAt);
+    }
+
+    private boolean isNearCacheEnabled() {
+        return Boolean.TRUE.equals(nearCacheProperties.getEnabled());
+    }
+
+    private static int weigh(String key, CachedUrlDataDto value) {
+        return key.length() + value.getOriginalUrl()
+                .length();
+    }
+
+    private record NearCacheEntry(CachedUrlDataDto value, long ttlNanos) {
+    }
+
+    private static final class NearCacheExpiry implements Expiry<String, NearCacheEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, NearCacheEntry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, NearCacheEntry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, NearCacheEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
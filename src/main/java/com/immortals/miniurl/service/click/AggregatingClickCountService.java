@@ -0,0 +1,121 @@
+package com.immortals.miniurl.service.click;
+
+import com.immortals.miniurl.config.click.ClickCounterProperties;
+import com.immortals.miniurl.repository.UrlMappingJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Aggregates clicks in memory with one {@link LongAdder} per short URL and periodically adds the deltas
+ * to url_mapping in a single batched UPDATE, so the number of writes depends on the number of distinct
+ * links clicked per interval rather than on the number of clicks.
+ * <p>
+ * Counters of links that received no click during an interval are dropped from the map. They are kept
+ * aside for one more flush so that an increment racing with the removal is still written.
+ */
+@Service
+@ConditionalOnProperty(prefix = "click-counter", name = "store", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class AggregatingClickCountService implements ClickCountService {
+
+    private final UrlMappingJdbcRepository urlMappingJdbcRepository;
+    private final ClickCounterProperties clickCounterProperties;
+
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> retired = new HashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter flushedClicks;
+    private final Counter failedFlushes;
+
+    public AggregatingClickCountService(UrlMappingJdbcRepository urlMappingJdbcRepository,
+                                        ClickCounterProperties clickCounterProperties,
+                                        MeterRegistry meterRegistry) {
+        this.urlMappingJdbcRepository = urlMappingJdbcRepository;
+        this.clickCounterProperties = clickCounterProperties;
+
+        this.flushedClicks = Counter.builder("url.clicks.flushed")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("url.clicks.flush.failures")
+                .register(meterRegistry);
+        Gauge.builder("url.clicks.pending.links", counters, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordClick(String shortUrl) {
+        counters.computeIfAbsent(shortUrl, key -> new LongAdder())
+                .increment();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${click-counter.flush-interval:5s}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<String, Long> deltas = collectDeltas();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                urlMappingJdbcRepository.incrementClicks(deltas, clickCounterProperties.getBatchSize());
+                flushedClicks.increment(deltas.values()
+                        .stream()
+                        .mapToLong(Long::longValue)
+                        .sum());
+                log.debug("Flushed clicks for {} short URL(s)", deltas.size());
+            } catch (RuntimeException e) {
+                // Keep the deltas for the next attempt rather than losing them. Not only DataAccessException:
+                // an unreachable primary fails with CannotCreateTransactionException before any statement runs.
+                failedFlushes.increment();
+                deltas.forEach((shortUrl, delta) -> counters.computeIfAbsent(shortUrl, key -> new LongAdder())
+                        .add(delta));
+                log.warn("Failed to flush clicks for {} short URL(s): {}", deltas.size(), e.getMessage());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Map<String, Long> collectDeltas() {
+        Map<String, Long> deltas = new HashMap<>();
+
+        retired.forEach((shortUrl, adder) -> addDelta(deltas, shortUrl, adder.sumThenReset()));
+        retired.clear();
+
+        counters.forEach((shortUrl, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                addDelta(deltas, shortUrl, delta);
+            } else if (counters.remove(shortUrl, adder)) {
+                retired.put(shortUrl, adder);
+            }
+        });
+        return deltas;
+    }
+
+    private static void addDelta(Map<String, Long> deltas, String shortUrl, long delta) {
+        if (delta > 0) {
+            deltas.merge(shortUrl, delta, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.immortals.miniurl.service.click;
+
+/**
+ * Counts redirects per short URL without touching the database on the request path.
+ */
+public interface ClickCountService {
+
+    void recordClick(String shortUrl);
+
+    /**
+     * Writes the clicks accumulated since the previous flush to url_mapping.
+     */
+    void flush();
+}
@@ -0,0 +1,219 @@
+package com.immortals.miniurl.service.click;
+
+import com.immortals.miniurl.config.click.ClickEventProperties;
+import com.immortals.miniurl.model.dto.ClickEventDto;
+import com.immortals.miniurl.repository.ClickEventJdbcRepository;
+import com.immortals.miniurl.service.stats.ClickRollupService;
+import com.immortals.miniurl.service.stats.UniqueVisitorService;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Per-click analytics off the redirect path. Redirect threads {@link #publish} events into a lock-free
+ * {@link MpmcRingBuffer}; a single background writer drains it and group-commits the events into
+ * click_event with JDBC batch inserts.
+ * <p>
+ * Publishing never blocks: when the queue is full the configured {@link ClickEventProperties.DropPolicy}
+ * decides which event is lost, and batches the database rejects are dropped too. Every loss is counted in
+ * {@code click.events.dropped}, so a slow database costs analytics completeness, never redirect latency.
+ * <p>
+ * Every published click is also counted by the {@link ClickRollupService} and the
+ * {@link UniqueVisitorService} before it is queued, so the link stats are unaffected by queue drops and by
+ * this pipeline being disabled.
+ */
+@Service
+@Slf4j
+public class ClickEventPipeline implements SmartLifecycle {
+
+    private static final int MAX_HEADER_LENGTH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long STOP_TIMEOUT_MILLIS = 5_000L;
+
+    private final ClickEventJdbcRepository clickEventJdbcRepository;
+    private final ClickEventProperties clickEventProperties;
+    private final ClickRollupService clickRollupService;
+    private final UniqueVisitorService uniqueVisitorService;
+    private final MpmcRingBuffer<ClickEventDto> queue;
+
+    private final Counter published;
+    private final Counter persisted;
+    private final Counter droppedQueueFull;
+    private final Counter droppedWriteFailure;
+    private final Timer batchWrites;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ClickEventPipeline(ClickEventJdbcRepository clickEventJdbcRepository,
+                              ClickEventProperties clickEventProperties,
+                              ClickRollupService clickRollupService,
+                              UniqueVisitorService uniqueVisitorService,
+                              MeterRegistry meterRegistry) {
+        this.clickEventJdbcRepository = clickEventJdbcRepository;
+        this.clickEventProperties = clickEventProperties;
+        this.clickRollupService = clickRollupService;
+        this.uniqueVisitorService = uniqueVisitorService;
+        this.queue = new MpmcRingBuffer<>(clickEventProperties.getCapacity());
+
+        this.published = Counter.builder("click.events.published")
+                .register(meterRegistry);
+        this.persisted = Counter.builder("click.events.persisted")
+                .register(meterRegistry);
+        this.droppedQueueFull = Counter.builder("click.events.dropped")
+                .tag("reason", "queue-full")
+                .tag("policy", clickEventProperties.getDropPolicy()
+                        .name())
+                .register(meterRegistry);
+        this.droppedWriteFailure = Counter.builder("click.events.dropped")
+                .tag("reason", "write-failure")
+                .register(meterRegistry);
+        this.batchWrites = Timer.builder("click.events.batch.write")
+                .register(meterRegistry);
+        Gauge.builder("click.events.queue.depth", queue, MpmcRingBuffer::size)
+                .register(meterRegistry);
+        Gauge.builder("click.events.queue.capacity", queue, MpmcRingBuffer::capacity)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a click on {@code shortUrl} described by the redirect request.
+     */
+    public void publish(String shortUrl, HttpServletRequest request) {
+        publish(ClickEventDto.builder()
+                .shortUrl(shortUrl)
+                .clickedAt(DateTimeUtils.nowInstant())
+                .userAgent(truncate(request.getHeader(HttpHeaders.USER_AGENT)))
+                .referrer(truncate(request.getHeader(HttpHeaders.REFERER)))
+                .clientIp(request.getRemoteAddr())
+                .build());
+    }
+
+    public void publish(ClickEventDto event) {
+        clickRollupService.record(event.getShortUrl(), event.getClickedAt());
+        uniqueVisitorService.record(event.getShortUrl(), event.getClientIp(), event.getUserAgent());
+        enqueue(event);
+    }
+
+    private void enqueue(ClickEventDto event) {
+        if (!isEnabled()) {
+            return;
+        }
+        published.increment();
+        if (queue.offer(event)) {
+            return;
+        }
+        droppedQueueFull.increment();
+        if (clickEventProperties.getDropPolicy() == ClickEventProperties.DropPolicy.DROP_OLDEST) {
+            queue.poll();
+            if (!queue.offer(event)) {
+                // Other producers refilled the freed slot first; this event is lost after all.
+                droppedQueueFull.increment();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("click-event-writer")
+                .daemon(true)
+                .start(this::writeLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current == null) {
+            return;
+        }
+        LockSupport.unpark(current);
+        try {
+            current.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+        }
+        if (queue.size() > 0) {
+            log.warn("Stopped click event writer with {} event(s) still queued", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void writeLoop() {
+        int batchSize = clickEventProperties.getBatchSize();
+        long maxDelayNanos = clickEventProperties.getMaxBatchDelay()
+                .toNanos();
+        List<ClickEventDto> batch = new ArrayList<>(batchSize);
+        long batchStartedAt = 0L;
+
+        while (running || queue.size() > 0) {
+            if (batch.isEmpty()) {
+                batchStartedAt = System.nanoTime();
+            }
+            int drained = queue.drainTo(batch, batchSize - batch.size());
+            boolean due = batch.size() >= batchSize || !running || System.nanoTime() - batchStartedAt >= maxDelayNanos;
+            if (!batch.isEmpty() && due) {
+                write(batch);
+                batch.clear();
+            } else if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    void write(List<ClickEventDto> batch) {
+        try {
+            batchWrites.record(() -> clickEventJdbcRepository.insertBatch(batch));
+            persisted.increment(batch.size());
+        } catch (RuntimeException e) {
+            // Not only DataAccessException: a failure to open the transaction or any other error escaping here
+            // would end the writer thread, and every later event would be queued and lost.
+            droppedWriteFailure.increment(batch.size());
+            log.warn("Dropped {} click event(s) after a failed batch insert: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Drains and writes whatever is queued on the calling thread.
+     */
+    void writePending() {
+        List<ClickEventDto> batch = new ArrayList<>();
+        while (queue.drainTo(batch, clickEventProperties.getBatchSize()) > 0) {
+            write(batch);
+            batch = new ArrayList<>();
+        }
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(clickEventProperties.getEnabled());
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_HEADER_LENGTH ? value : value.substring(0, MAX_HEADER_LENGTH);
+    }
+}
@@ -0,0 +1,143 @@
+package com.immortals.miniurl.service.click;
+
+import com.immortals.miniurl.config.click.ClickCounterProperties;
+import com.immortals.miniurl.repository.UrlMappingJdbcRepository;
+import com.immortals.miniurl.service.cache.RedisCacheOperations;
+import com.immortals.miniurl.service.exception.CacheException;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts clicks in Redis so counts survive node crashes and are shared by the whole cluster.
+ * <p>
+ * A click is a single HINCRBY on one of {@code click-counter.redis-buckets} hashes. The drain job moves
+ * each bucket aside with RENAMENX, tags the moved hash with a batch id and applies it to url_mapping
+ * together with that batch id in one transaction, then deletes it. A drain interrupted at any point is
+ * resumed from the moved hash on the next run, and the batch id keeps it from being counted twice.
+ */
+@Service
+@ConditionalOnProperty(prefix = "click-counter", name = "store", havingValue = "redis")
+@Slf4j
+public class RedisClickCountService implements ClickCountService {
+
+    // The bucket number is a hash tag so a bucket and its draining copy share a cluster slot, as RENAMENX requires.
+    static final String BUCKET_KEY = "clicks:{%d}:bucket";
+    static final String DRAINING_KEY = "clicks:{%d}:draining";
+    static final String DRAIN_LOCK_KEY = "clicks:drain-lock";
+    static final String BATCH_FIELD = "__batch";
+
+    private final RedisCacheOperations<String, Object> cacheService;
+    private final UrlMappingJdbcRepository urlMappingJdbcRepository;
+    private final ClickCounterProperties clickCounterProperties;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final String nodeId = UUID.randomUUID()
+            .toString();
+
+    private final Counter flushedClicks;
+    private final Counter failedFlushes;
+    private final Counter droppedClicks;
+
+    public RedisClickCountService(@Qualifier("redisCacheService") RedisCacheOperations<String, Object> cacheService,
+                                  UrlMappingJdbcRepository urlMappingJdbcRepository,
+                                  ClickCounterProperties clickCounterProperties,
+                                  MeterRegistry meterRegistry) {
+        this.cacheService = cacheService;
+        this.urlMappingJdbcRepository = urlMappingJdbcRepository;
+        this.clickCounterProperties = clickCounterProperties;
+
+        this.flushedClicks = Counter.builder("url.clicks.flushed")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("url.clicks.flush.failures")
+                .register(meterRegistry);
+        this.droppedClicks = Counter.builder("url.clicks.dropped")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordClick(String shortUrl) {
+        try {
+            cacheService.incrementHashField(bucketKey(shortUrl), shortUrl, 1L);
+        } catch (CacheException e) {
+            // Counting must never fail a redirect.
+            droppedClicks.increment();
+            log.debug("Dropped click for short URL [{}]: {}", shortUrl, e.getMessage());
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${click-counter.flush-interval:5s}")
+    public void flush() {
+        if (!drainLock.tryLock()) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(cacheService.putIfAbsent(DRAIN_LOCK_KEY, nodeId, clickCounterProperties.getDrainLockTtl()))) {
+                return;
+            }
+            try {
+                for (int bucket = 0; bucket < clickCounterProperties.getRedisBuckets(); bucket++) {
+                    drainBucket(bucket);
+                }
+                urlMappingJdbcRepository.pruneClickDrainLog(DateTimeUtils.nowInstant()
+                        .minus(clickCounterProperties.getDrainLogRetention()));
+            } finally {
+                // Only our own lock: a drain that outlived drain-lock-ttl may find another node's lock here.
+                cacheService.removeIfValueEquals(DRAIN_LOCK_KEY, nodeId);
+            }
+        } catch (CacheException | DataAccessException e) {
+            failedFlushes.increment();
+            log.warn("Failed to drain click counters from Redis: {}", e.getMessage());
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void drainBucket(int bucket) {
+        String draining = DRAINING_KEY.formatted(bucket);
+
+        // A leftover draining hash means an earlier drain stopped half-way: finish it before moving new clicks.
+        if (!cacheService.containsKey(draining) && !Boolean.TRUE.equals(cacheService.renameIfAbsent(BUCKET_KEY.formatted(bucket), draining))) {
+            return;
+        }
+
+        cacheService.putHashFieldIfAbsent(draining, BATCH_FIELD, UUID.randomUUID()
+                .toString());
+        Map<String, String> entries = cacheService.getHashEntries(draining);
+        String batchId = entries.remove(BATCH_FIELD);
+
+        Map<String, Long> deltas = new HashMap<>();
+        entries.forEach((shortUrl, value) -> {
+            long delta = Long.parseLong(value);
+            if (delta > 0) {
+                deltas.put(shortUrl, delta);
+            }
+        });
+
+        if (urlMappingJdbcRepository.applyClickBatch(batchId, deltas, clickCounterProperties.getBatchSize())) {
+            flushedClicks.increment(deltas.values()
+                    .stream()
+                    .mapToLong(Long::longValue)
+                    .sum());
+        } else {
+            log.info("Click batch {} from bucket {} was already applied, discarding it", batchId, bucket);
+        }
+        cacheService.remove(draining);
+    }
+
+    private String bucketKey(String shortUrl) {
+        return BUCKET_KEY.formatted(Math.floorMod(shortUrl.hashCode(), clickCounterProperties.getRedisBuckets()));
+    }
+}
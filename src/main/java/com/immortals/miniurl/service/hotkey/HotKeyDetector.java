@@ -0,0 +1,175 @@
+package com.immortals.miniurl.service.hotkey;
+
+import com.immortals.miniurl.config.cache.HotKeyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streaming heavy-hitter detection for short codes: a {@link CountMinSketch} estimates how often each code
+ * is looked up and a bounded min-heap keeps the top-K codes whose estimate passes
+ * {@code cache.hot-keys.threshold}.
+ * <p>
+ * {@link #record} is on the redirect path. It costs one sketch update; codes already in the hot set update
+ * their count in the map without locking, and the heap lock is only taken to admit a new code.
+ */
+@Component
+public class HotKeyDetector {
+
+    private static final Comparator<Candidate> BY_COUNT = Comparator.comparingLong(Candidate::count);
+
+    private final HotKeyProperties hotKeyProperties;
+    private final CountMinSketch sketch;
+
+    private final ReentrantLock heapLock = new ReentrantLock();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(BY_COUNT);
+    private final Map<String, Long> hotKeys = new ConcurrentHashMap<>();
+    private volatile long admissionFloor;
+
+    private final Counter promotions;
+
+    public HotKeyDetector(HotKeyProperties hotKeyProperties, MeterRegistry meterRegistry) {
+        this.hotKeyProperties = hotKeyProperties;
+        this.sketch = new CountMinSketch(hotKeyProperties.getSketchWidth(), hotKeyProperties.getSketchDepth());
+        this.admissionFloor = hotKeyProperties.getThreshold();
+
+        this.promotions = Counter.builder("cache.hot-keys.promotions")
+                .description("Short codes that entered the hot set")
+                .register(meterRegistry);
+        Gauge.builder("cache.hot-keys.size", hotKeys, Map::size)
+                .register(meterRegistry);
+    }
+
+    public void record(String key) {
+        if (!isEnabled()) {
+            return;
+        }
+        long estimate = sketch.increment(key);
+        // A code that is already hot only has its count raised, which needs no lock.
+        if (raiseCount(key, estimate)) {
+            return;
+        }
+        if (estimate < admissionFloor) {
+            return;
+        }
+        heapLock.lock();
+        try {
+            admit(key, estimate);
+        } finally {
+            heapLock.unlock();
+        }
+    }
+
+    public boolean isHot(String key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * Current hot set, most frequent first, with the estimated count of each code in this decay window.
+     */
+    public List<Map.Entry<String, Long>> hotKeys() {
+        List<Map.Entry<String, Long>> snapshot = new ArrayList<>(Map.copyOf(hotKeys)
+                .entrySet());
+        snapshot.sort(Map.Entry.<String, Long>comparingByValue()
+                .reversed());
+        return snapshot;
+    }
+
+    /**
+     * Halves all counts and drops codes that fall below the threshold as a result.
+     */
+    @Scheduled(fixedDelayString = "${cache.hot-keys.decay-interval:10s}")
+    public void decay() {
+        if (!isEnabled()) {
+            return;
+        }
+        sketch.decay();
+        heapLock.lock();
+        try {
+            // Rebuilt from the map, which holds the current counts; the heap's may be stale.
+            heap.clear();
+            Iterator<Map.Entry<String, Long>> entries = hotKeys.entrySet()
+                    .iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, Long> entry = entries.next();
+                long halved = entry.getValue() >>> 1;
+                if (halved >= hotKeyProperties.getThreshold()) {
+                    entry.setValue(halved);
+                    heap.add(new Candidate(entry.getKey(), halved));
+                } else {
+                    entries.remove();
+                }
+            }
+            updateAdmissionFloor();
+        } finally {
+            heapLock.unlock();
+        }
+    }
+
+    private boolean raiseCount(String key, long estimate) {
+        return hotKeys.computeIfPresent(key, (hotKey, count) -> Math.max(count, estimate)) != null;
+    }
+
+    private void admit(String key, long estimate) {
+        if (estimate < hotKeyProperties.getThreshold() || raiseCount(key, estimate)) {
+            return;
+        }
+        while (heap.size() >= hotKeyProperties.getTopK()) {
+            Candidate coldest = coldest();
+            if (coldest == null || estimate <= coldest.count()) {
+                return;
+            }
+            // Fails when record() raised the count after coldest() looked at it; look again.
+            if (hotKeys.remove(coldest.key(), coldest.count())) {
+                heap.poll();
+            }
+        }
+        heap.add(new Candidate(key, estimate));
+        hotKeys.put(key, estimate);
+        promotions.increment();
+        updateAdmissionFloor();
+    }
+
+    /**
+     * Coldest hot code with its current count. record() raises counts without the lock, so heap entries can
+     * be lower than the map's; stale entries at the head are re-inserted with their current count first.
+     */
+    private Candidate coldest() {
+        Candidate coldest;
+        while ((coldest = heap.peek()) != null) {
+            Long current = hotKeys.get(coldest.key());
+            if (current == null || current == coldest.count()) {
+                return coldest;
+            }
+            heap.poll();
+            heap.add(new Candidate(coldest.key(), current));
+        }
+        return null;
+    }
+
+    // Below this estimate a code that is not already hot cannot enter the hot set, so record() skips the lock.
+    private void updateAdmissionFloor() {
+        Candidate coldest = coldest();
+        admissionFloor = heap.size() < hotKeyProperties.getTopK() || coldest == null
+                ? hotKeyProperties.getThreshold()
+                : Math.max(hotKeyProperties.getThreshold(), coldest.count() + 1);
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(hotKeyProperties.getEnabled());
+    }
+
+    private record Candidate(String key, long count) {
+    }
+}
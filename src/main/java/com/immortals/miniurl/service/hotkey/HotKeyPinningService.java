@@ -0,0 +1,54 @@
+package com.immortals.miniurl.service.hotkey;
+
+import com.immortals.miniurl.config.cache.HotKeyProperties;
+import com.immortals.miniurl.service.cache.TieredUrlCacheService;
+import com.immortals.miniurl.service.exception.CacheException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.immortals.miniurl.utils.UrlUtil.cacheKey;
+
+/**
+ * Keeps the codes in the {@link HotKeyDetector} hot set pinned in this node's {@link TieredUrlCacheService}
+ * and reloads them from Redis off the request path, so a viral link costs one Redis read per refresh
+ * interval per node instead of one per redirect.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotKeyPinningService {
+
+    private final HotKeyDetector hotKeyDetector;
+    private final TieredUrlCacheService tieredUrlCacheService;
+    private final HotKeyProperties hotKeyProperties;
+
+    @Scheduled(fixedDelayString = "${cache.hot-keys.refresh-interval:2s}")
+    public void refresh() {
+        Set<String> wanted = new HashSet<>();
+        if (Boolean.TRUE.equals(hotKeyProperties.getEnabled())) {
+            for (Map.Entry<String, Long> hotKey : hotKeyDetector.hotKeys()) {
+                wanted.add(cacheKey(hotKey.getKey()));
+            }
+        }
+
+        for (String key : tieredUrlCacheService.pinnedKeys()) {
+            if (!wanted.contains(key)) {
+                tieredUrlCacheService.unpin(key);
+            }
+        }
+        for (String key : wanted) {
+            try {
+                tieredUrlCacheService.pin(key);
+            } catch (CacheException e) {
+                // Keep serving the previous pinned value until Redis answers again.
+                log.warn("Failed to refresh pinned hot key [{}]: {}", key, e.getMessage());
+            }
+        }
+    }
+}
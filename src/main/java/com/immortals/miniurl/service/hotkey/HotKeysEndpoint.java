@@ -0,0 +1,38 @@
+package com.immortals.miniurl.service.hotkey;
+
+import com.immortals.miniurl.model.dto.HotKeyDto;
+import com.immortals.miniurl.service.cache.TieredUrlCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.immortals.miniurl.utils.UrlUtil.cacheKey;
+
+/**
+ * {@code /actuator/hotkeys}: this node's current hot set, most frequent first.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    private final HotKeyDetector hotKeyDetector;
+    private final TieredUrlCacheService tieredUrlCacheService;
+
+    @ReadOperation
+    public List<HotKeyDto> hotKeys() {
+        Set<String> pinned = tieredUrlCacheService.pinnedKeys();
+        return hotKeyDetector.hotKeys()
+                .stream()
+                .map(hotKey -> HotKeyDto.builder()
+                        .shortUrl(hotKey.getKey())
+                        .estimatedLookups(hotKey.getValue())
+                        .pinned(pinned.contains(cacheKey(hotKey.getKey())))
+                        .build())
+                .toList();
+    }
+}
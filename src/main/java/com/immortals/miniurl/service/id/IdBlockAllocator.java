@@ -0,0 +1,135 @@
+package com.immortals.miniurl.service.id;
+
+import com.immortals.miniurl.config.id.IdAllocationProperties;
+import com.immortals.miniurl.repository.IdBlockJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out unique, roughly increasing IDs from blocks leased from the id_block table (hi/lo allocation).
+ * <p>
+ * Within a block an ID costs a single {@code getAndIncrement}. When a block is {@code prefetch-threshold}
+ * from exhausted the next one is leased in the background, so callers normally never wait for the
+ * database; only the thread that finds the block exhausted takes a lock to swap in the next one. Every
+ * node leases its own blocks, and a restart simply leases a fresh block, leaving the unused rest of the
+ * old one as a gap.
+ */
+@Service
+@Slf4j
+public class IdBlockAllocator implements LongSupplier {
+
+    private static final Block EXHAUSTED = new Block(0L, 0L, 0L);
+
+    private final IdBlockJdbcRepository idBlockJdbcRepository;
+    private final IdAllocationProperties idAllocationProperties;
+    private final Executor prefetchExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("id-block-prefetch-", 0)
+            .factory());
+    private final ReentrantLock swapLock = new ReentrantLock();
+
+    private volatile Block current = EXHAUSTED;
+    private volatile CompletableFuture<Block> next;
+
+    private final Counter leasedBlocks;
+    private final Counter failedPrefetches;
+    private final Timer leaseTimer;
+
+    public IdBlockAllocator(IdBlockJdbcRepository idBlockJdbcRepository,
+                            IdAllocationProperties idAllocationProperties,
+                            MeterRegistry meterRegistry) {
+        this.idBlockJdbcRepository = idBlockJdbcRepository;
+        this.idAllocationProperties = idAllocationProperties;
+
+        this.leasedBlocks = Counter.builder("id.blocks.leased")
+                .register(meterRegistry);
+        this.failedPrefetches = Counter.builder("id.blocks.prefetch.failures")
+                .register(meterRegistry);
+        this.leaseTimer = Timer.builder("id.blocks.lease")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long getAsLong() {
+        return nextId();
+    }
+
+    public long nextId() {
+        while (true) {
+            Block block = current;
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                if (id == block.prefetchAt) {
+                    // Exactly one caller draws this ID, so each block triggers at most one prefetch.
+                    next = CompletableFuture.supplyAsync(this::lease, prefetchExecutor);
+                }
+                return id;
+            }
+            swap(block);
+        }
+    }
+
+    private void swap(Block exhausted) {
+        swapLock.lock();
+        try {
+            if (current != exhausted) {
+                return;
+            }
+            Block replacement = takePrefetched();
+            current = replacement != null ? replacement : lease();
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    private Block takePrefetched() {
+        CompletableFuture<Block> prefetched = next;
+        next = null;
+        if (prefetched == null) {
+            return null;
+        }
+        try {
+            return prefetched.get();
+        } catch (ExecutionException e) {
+            failedPrefetches.increment();
+            log.warn("Prefetching the next ID block failed, leasing synchronously: {}", e.getCause()
+                    .getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next ID block", e);
+        }
+    }
+
+    private Block lease() {
+        long size = idAllocationProperties.getBlockSize();
+        long start = leaseTimer.record(() -> idBlockJdbcRepository.leaseBlock(idAllocationProperties.getCounter(), size));
+        leasedBlocks.increment();
+        log.debug("Leased ID block [{}, {}) of counter [{}]", start, start + size, idAllocationProperties.getCounter());
+        long remainingAtPrefetch = (long) Math.ceil(size * idAllocationProperties.getPrefetchThreshold());
+        return new Block(start, start + size, start + size - Math.max(1L, remainingAtPrefetch));
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+        private final long prefetchAt;
+
+        private Block(long start, long end, long prefetchAt) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+            this.prefetchAt = prefetchAt;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.immortals.miniurl.service.id;
+
+import com.immortals.miniurl.config.id.ShortCodePoolProperties;
+import com.immortals.miniurl.factory.UrlShorteningStrategy;
+import com.immortals.miniurl.helper.RandomStrategy;
+import com.immortals.miniurl.repository.ReservedShortCodeJdbcRepository;
+import com.immortals.miniurl.service.click.MpmcRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Random short codes generated ahead of time. A background refill draws candidate codes, drops those
+ * already used by a link or reserved by another node, and reserves the rest in reserved_short_code in one
+ * statement per batch; reserved codes wait in a lock-free {@link MpmcRingBuffer}.
+ * <p>
+ * Creating a link then takes a code with a single poll, without generating randomness or checking for
+ * collisions. Taking a code below the low watermark starts a refill; when the pool has run dry, or is
+ * disabled, a code is generated inline as before.
+ * <p>
+ * Reservations no link has used are pruned after {@code unused-retention}, so codes pooled on a node that
+ * stopped become available again. A running node discards its pooled codes at half that age instead of
+ * handing out a code another node may have reserved since.
+ */
+@Service
+@Slf4j
+public class ShortCodePool implements UrlShorteningStrategy {
+
+    private final ReservedShortCodeJdbcRepository reservedShortCodeJdbcRepository;
+    private final ShortCodePoolProperties shortCodePoolProperties;
+    private final RandomStrategy randomStrategy;
+    private final MpmcRingBuffer<Reservation> pool;
+    private final int lowWatermark;
+    private final long maxPooledNanos;
+    private final Executor refillExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("short-code-refill-", 0)
+            .factory());
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    private final Counter taken;
+    private final Counter misses;
+    private final Counter expired;
+    private final Counter failedRefills;
+
+    public ShortCodePool(ReservedShortCodeJdbcRepository reservedShortCodeJdbcRepository,
+                         ShortCodePoolProperties shortCodePoolProperties,
+                         MeterRegistry meterRegistry) {
+        this.reservedShortCodeJdbcRepository = reservedShortCodeJdbcRepository;
+        this.shortCodePoolProperties = shortCodePoolProperties;
+        this.randomStrategy = new RandomStrategy(shortCodePoolProperties.getCodeLength());
+        this.pool = new MpmcRingBuffer<>(shortCodePoolProperties.getCapacity());
+        this.lowWatermark = (int) (shortCodePoolProperties.getCapacity() * shortCodePoolProperties.getLowWatermark());
+        this.maxPooledNanos = shortCodePoolProperties.getUnusedRetention()
+                .toNanos() / 2;
+
+        this.taken = Counter.builder("short.code.pool.taken")
+                .register(meterRegistry);
+        this.misses = Counter.builder("short.code.pool.misses")
+                .register(meterRegistry);
+        this.expired = Counter.builder("short.code.pool.expired")
+                .register(meterRegistry);
+        this.failedRefills = Counter.builder("short.code.pool.refill.failures")
+                .register(meterRegistry);
+        Gauge.builder("short.code.pool.size", pool, MpmcRingBuffer::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String generate(String originalUrl, String... params) {
+        if (!isEnabled()) {
+            return randomStrategy.generate(originalUrl, params);
+        }
+        Reservation reservation = pool.poll();
+        while (reservation != null && System.nanoTime() - reservation.reservedAt() >= maxPooledNanos) {
+            expired.increment();
+            reservation = pool.poll();
+        }
+        if (pool.size() < lowWatermark && !refilling.get()) {
+            refillExecutor.execute(this::refill);
+        }
+        if (reservation == null) {
+            misses.increment();
+            return randomStrategy.generate(originalUrl, params);
+        }
+        taken.increment();
+        return reservation.code();
+    }
+
+    /**
+     * Tops the pool up to {@code capacity}; a no-op while another refill is running.
+     */
+    @Scheduled(fixedDelayString = "${short-code-pool.refill-interval:5s}")
+    public void refill() {
+        if (!isEnabled() || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int missing;
+            while ((missing = shortCodePoolProperties.getCapacity() - pool.size()) > 0) {
+                Set<String> candidates = new LinkedHashSet<>();
+                int wanted = Math.min(missing, shortCodePoolProperties.getRefillBatchSize());
+                while (candidates.size() < wanted) {
+                    candidates.add(randomStrategy.generate(null));
+                }
+                // Taken before the reservation so the code's age in the pool never lags its age in the table.
+                long reservedAt = System.nanoTime();
+                List<String> reserved = reservedShortCodeJdbcRepository.reserve(candidates);
+                reserved.forEach(code -> pool.offer(new Reservation(code, reservedAt)));
+                log.debug("Reserved {} of {} candidate short code(s)", reserved.size(), candidates.size());
+                if (reserved.isEmpty()) {
+                    // Every candidate collided: the code space is crowded, try again on the next schedule.
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            failedRefills.increment();
+            log.warn("Failed to refill the short code pool: {}", e.getMessage());
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    /**
+     * Deletes reservations of codes that links now use, whose unique index on url_mapping guards them from
+     * then on, and reservations older than {@code unused-retention} that no link has used.
+     */
+    @Scheduled(cron = "${short-code-pool.prune-cron:0 30 * * * *}")
+    public void prune() {
+        try {
+            int used = reservedShortCodeJdbcRepository.pruneUsed();
+            int stale = reservedShortCodeJdbcRepository.pruneOlderThan(shortCodePoolProperties.getUnusedRetention());
+            log.debug("Pruned {} used and {} stale short code reservation(s)", used, stale);
+        } catch (DataAccessException e) {
+            log.warn("Failed to prune short code reservations: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(shortCodePoolProperties.getEnabled());
+    }
+
+    /**
+     * A pooled code with the {@link System#nanoTime()} at which it was reserved.
+     */
+    private record Reservation(String code, long reservedAt) {
+    }
+}
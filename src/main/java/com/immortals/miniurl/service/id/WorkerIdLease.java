@@ -0,0 +1,158 @@
+package com.immortals.miniurl.service.id;
+
+import com.immortals.miniurl.config.id.SnowflakeProperties;
+import com.immortals.miniurl.service.cache.RedisCacheOperations;
+import com.immortals.miniurl.service.exception.CacheException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.immortals.miniurl.constants.UrlConstants.MACHINE_ID_BITS;
+
+/**
+ * Leases this node's Snowflake worker ID as a Redis key holding the node's id with a TTL, renewed by a
+ * heartbeat. A node that dies stops renewing and its worker ID becomes free again after {@code
+ * snowflake.lease-ttl}. A node that finds its lease taken over leases another worker ID.
+ * <p>
+ * A node that cannot renew keeps its worker ID only until its own lease may have expired in Redis; after
+ * that another node could lease the same ID, so {@link #workerId()} fails until a new lease is taken.
+ */
+@Service
+@Slf4j
+public class WorkerIdLease {
+
+    static final String WORKER_KEY = "snowflake:worker:%d";
+
+    private static final int WORKER_IDS = 1 << MACHINE_ID_BITS;
+
+    // Stop using a lease this share of lease-ttl before Redis may expire it.
+    private static final int LEASE_MARGIN_DIVISOR = 10;
+
+    private final RedisCacheOperations<String, Object> cacheService;
+    private final SnowflakeProperties snowflakeProperties;
+    private final String nodeId = UUID.randomUUID()
+            .toString();
+
+    private volatile int workerId = -1;
+    // System.nanoTime() after which the lease may have expired in Redis; only meaningful while workerId >= 0.
+    private volatile long leaseValidUntil;
+
+    public WorkerIdLease(@Qualifier("redisCacheService") RedisCacheOperations<String, Object> cacheService,
+                         SnowflakeProperties snowflakeProperties) {
+        this.cacheService = cacheService;
+        this.snowflakeProperties = snowflakeProperties;
+    }
+
+    @PostConstruct
+    public void acquire() {
+        if (snowflakeProperties.getWorkerId() != null) {
+            workerId = snowflakeProperties.getWorkerId();
+            log.info("Using configured Snowflake worker ID {}", workerId);
+            return;
+        }
+        tryAcquire();
+    }
+
+    /**
+     * The leased worker ID.
+     *
+     * @throws IllegalStateException while no worker ID is held, e.g. because Redis is unreachable
+     */
+    public int workerId() {
+        int id = workerId;
+        if (id < 0) {
+            throw new IllegalStateException("No Snowflake worker ID is leased");
+        }
+        if (snowflakeProperties.getWorkerId() == null && leaseExpired()) {
+            throw new IllegalStateException("The lease on Snowflake worker ID " + id + " expired without being renewed");
+        }
+        return id;
+    }
+
+    @Scheduled(fixedDelayString = "${snowflake.heartbeat-interval:10s}")
+    public void heartbeat() {
+        if (snowflakeProperties.getWorkerId() != null) {
+            return;
+        }
+        int id = workerId;
+        if (id < 0) {
+            tryAcquire();
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            if (Boolean.TRUE.equals(cacheService.expireIfValueEquals(workerKey(id), nodeId, snowflakeProperties.getLeaseTtl()))) {
+                leaseValidUntil = validUntil(startedAt);
+            } else {
+                log.warn("Lost the lease on Snowflake worker ID {}, leasing another one", id);
+                workerId = -1;
+                tryAcquire();
+            }
+        } catch (CacheException e) {
+            if (!leaseExpired()) {
+                // Keep the ID: nobody else can take it before the lease expires.
+                log.warn("Could not renew the lease on Snowflake worker ID {}: {}", id, e.getMessage());
+                return;
+            }
+            log.error("Lease on Snowflake worker ID {} expired without renewal, giving it up: {}", id, e.getMessage());
+            workerId = -1;
+            tryAcquire();
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        int id = workerId;
+        if (snowflakeProperties.getWorkerId() != null || id < 0) {
+            return;
+        }
+        workerId = -1;
+        try {
+            cacheService.removeIfValueEquals(workerKey(id), nodeId);
+        } catch (CacheException e) {
+            log.warn("Could not release Snowflake worker ID {}, it frees up when the lease expires: {}", id, e.getMessage());
+        }
+    }
+
+    private void tryAcquire() {
+        // Random start so nodes booting together do not all race for worker ID 0.
+        int offset = ThreadLocalRandom.current()
+                .nextInt(WORKER_IDS);
+        try {
+            for (int i = 0; i < WORKER_IDS; i++) {
+                int candidate = (offset + i) % WORKER_IDS;
+                long startedAt = System.nanoTime();
+                if (Boolean.TRUE.equals(cacheService.putIfAbsent(workerKey(candidate), nodeId, snowflakeProperties.getLeaseTtl()))) {
+                    leaseValidUntil = validUntil(startedAt);
+                    workerId = candidate;
+                    log.info("Leased Snowflake worker ID {}", candidate);
+                    return;
+                }
+            }
+            log.error("All {} Snowflake worker IDs are leased by other nodes", WORKER_IDS);
+        } catch (CacheException e) {
+            log.error("Could not lease a Snowflake worker ID: {}", e.getMessage());
+        }
+    }
+
+    // Measured from before the Redis call, so the deadline never falls after the TTL Redis started.
+    private long validUntil(long startedAt) {
+        long ttlNanos = snowflakeProperties.getLeaseTtl()
+                .toNanos();
+        return startedAt + ttlNanos - ttlNanos / LEASE_MARGIN_DIVISOR;
+    }
+
+    private boolean leaseExpired() {
+        return System.nanoTime() - leaseValidUntil >= 0;
+    }
+
+    static String workerKey(int workerId) {
+        return WORKER_KEY.formatted(workerId);
+    }
+}
@@ -0,0 +1,217 @@
+package com.immortals.miniurl.service.maintenance;
+
+import com.immortals.miniurl.config.maintenance.LinkImportProperties;
+import com.immortals.miniurl.factory.UrlShorteningStrategy;
+import com.immortals.miniurl.factory.UrlShorteningStrategyFactory;
+import com.immortals.miniurl.model.enums.LinkImportFormat;
+import com.immortals.miniurl.model.enums.RedirectType;
+import com.immortals.miniurl.model.enums.UrlStrategyType;
+import com.immortals.miniurl.repository.LinkImportJdbcRepository;
+import com.immortals.miniurl.repository.LinkImportJdbcRepository.ImportRow;
+import com.immortals.miniurl.service.exception.UrlShorteningException;
+import com.immortals.miniurl.service.membership.ShortUrlMembershipService;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import com.immortals.miniurl.utils.JsonUtils;
+import com.immortals.miniurl.utils.UrlUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports links from another shortener, keeping their short codes. Enable with
+ * {@code maintenance.link-import.enabled=true} and {@code maintenance.link-import.file}; the import runs at
+ * startup.
+ * <p>
+ * Columns: {@code short_code} and {@code original_url} are required; {@code user_id}, {@code expires_at}
+ * (ISO-8601) and {@code redirect_type} (301, 302, 307 or 308) fall back to the configured defaults. Codes go
+ * through the same validation and reserved-alias rules as custom aliases. Lines that fail validation are
+ * logged and counted as rejected, codes that are already taken as duplicates; neither stops the import.
+ * <p>
+ * The file is streamed and written in chunks of {@code chunk-size} lines, each committed with its checkpoint.
+ * Restarting with the same {@code name} resumes after the last committed chunk. Nothing is written to the
+ * cache: redirects load imported links on first use. The codes of each committed chunk are registered with
+ * the membership filter and broadcast to every node, so imported links resolve fleet-wide as the import
+ * progresses; codes whose broadcast is lost are picked up by each node's next scheduled rebuild.
+ */
+@Component
+@ConditionalOnProperty(prefix = "maintenance.link-import", name = "enabled", havingValue = "true")
+@Slf4j
+public class LinkImportRunner implements ApplicationRunner {
+
+    private static final String URL_PATTERN = "^(https?://).+";
+
+    private final LinkImportJdbcRepository linkImportJdbcRepository;
+    private final UrlShorteningStrategyFactory urlShorteningStrategyFactory;
+    private final ShortUrlMembershipService shortUrlMembershipService;
+    private final LinkImportProperties linkImportProperties;
+
+    private final AtomicLong currentLine = new AtomicLong();
+    private final Counter importedRows;
+    private final Counter duplicateRows;
+    private final Counter rejectedRows;
+
+    public LinkImportRunner(LinkImportJdbcRepository linkImportJdbcRepository, UrlShorteningStrategyFactory urlShorteningStrategyFactory,
+                            ShortUrlMembershipService shortUrlMembershipService, LinkImportProperties linkImportProperties,
+                            MeterRegistry meterRegistry) {
+        this.linkImportJdbcRepository = linkImportJdbcRepository;
+        this.urlShorteningStrategyFactory = urlShorteningStrategyFactory;
+        this.shortUrlMembershipService = shortUrlMembershipService;
+        this.linkImportProperties = linkImportProperties;
+
+        this.importedRows = Counter.builder("link.import.rows")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.duplicateRows = Counter.builder("link.import.rows")
+                .tag("outcome", "duplicate")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("link.import.rows")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        Gauge.builder("link.import.line", currentLine, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (linkImportProperties.getFile() == null) {
+            throw new IllegalStateException("maintenance.link-import.file must be set");
+        }
+        Path file = Path.of(linkImportProperties.getFile());
+        String importName = linkImportProperties.getName() != null ? linkImportProperties.getName() : file.getFileName()
+                .toString();
+        LinkImportFormat format = linkImportProperties.getFormat() != null ? linkImportProperties.getFormat()
+                : LinkImportFormat.fromFileName(file.getFileName()
+                .toString());
+        UrlShorteningStrategy aliasValidator = urlShorteningStrategyFactory.getStrategy(UrlStrategyType.CUSTOM_ALIAS);
+        int chunkSize = linkImportProperties.getChunkSize();
+
+        long resumeAfter = linkImportJdbcRepository.findLastLine(importName);
+        if (resumeAfter > 0) {
+            log.info("Resuming link import '{}' after line {}", importName, resumeAfter);
+        }
+
+        long imported = 0L;
+        long duplicates = 0L;
+        long rejected = 0L;
+        try (LinkRecordReader reader = new LinkRecordReader(Files.newBufferedReader(file, StandardCharsets.UTF_8), format,
+                JsonUtils.getMapper())) {
+            reader.skipTo(resumeAfter);
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            long chunkRejected = 0L;
+            while (true) {
+                Map<String, String> fields;
+                try {
+                    fields = reader.next();
+                    if (fields == null) {
+                        break;
+                    }
+                    chunk.add(toRow(fields, reader.lineNumber(), aliasValidator));
+                } catch (IllegalArgumentException | UrlShorteningException e) {
+                    log.warn("Link import '{}' rejected line {}: {}", importName, reader.lineNumber(), e.getMessage());
+                    chunkRejected++;
+                }
+
+                if (chunk.size() + chunkRejected >= chunkSize) {
+                    int inserted = commit(importName, chunk, reader.lineNumber(), chunkRejected);
+                    imported += inserted;
+                    duplicates += chunk.size() - inserted;
+                    rejected += chunkRejected;
+                    chunk.clear();
+                    chunkRejected = 0L;
+                    log.info("Link import '{}' at line {}: {} imported, {} duplicate(s), {} rejected so far", importName,
+                            reader.lineNumber(), imported, duplicates, rejected);
+                }
+            }
+            if (!chunk.isEmpty() || chunkRejected > 0) {
+                int inserted = commit(importName, chunk, reader.lineNumber(), chunkRejected);
+                imported += inserted;
+                duplicates += chunk.size() - inserted;
+                rejected += chunkRejected;
+            }
+        }
+
+        log.info("Link import '{}' finished: {} imported, {} duplicate(s), {} rejected", importName, imported, duplicates, rejected);
+    }
+
+    private int commit(String importName, List<ImportRow> chunk, long lastLine, long chunkRejected) {
+        int inserted = linkImportJdbcRepository.importChunk(importName, chunk, lastLine, chunkRejected);
+        importedRows.increment(inserted);
+        duplicateRows.increment(chunk.size() - inserted);
+        rejectedRows.increment(chunkRejected);
+        currentLine.set(lastLine);
+        if (!chunk.isEmpty()) {
+            // Duplicates are registered too: their codes exist already, so adding them again is harmless.
+            shortUrlMembershipService.registerAll(chunk.stream()
+                    .map(ImportRow::shortCode)
+                    .toList());
+        }
+        return inserted;
+    }
+
+    private ImportRow toRow(Map<String, String> fields, long line, UrlShorteningStrategy aliasValidator) {
+        String originalUrl = fields.get(LinkRecordReader.ORIGINAL_URL);
+        if (originalUrl == null || !originalUrl.matches(URL_PATTERN)) {
+            throw new IllegalArgumentException("original_url must start with http:// or https://");
+        }
+        String shortCode = aliasValidator.generate(originalUrl, fields.get(LinkRecordReader.SHORT_CODE));
+
+        String userId = fields.get(LinkRecordReader.USER_ID);
+        String redirectType = fields.get(LinkRecordReader.REDIRECT_TYPE);
+        return new ImportRow(line, shortCode, originalUrl, UrlUtil.urlHash(originalUrl),
+                userId != null ? parseLong(LinkRecordReader.USER_ID, userId) : linkImportProperties.getUserId(),
+                redirectType != null ? parseRedirectType(redirectType) : linkImportProperties.getRedirectType(),
+                expiresAt(fields.get(LinkRecordReader.EXPIRES_AT)));
+    }
+
+    private Instant expiresAt(String value) {
+        Instant now = DateTimeUtils.nowInstant();
+        if (value == null) {
+            return now.plus(linkImportProperties.getDefaultExpiry());
+        }
+        Instant expiresAt;
+        try {
+            expiresAt = Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("expires_at is not an ISO-8601 instant: " + value);
+        }
+        if (!expiresAt.isAfter(now)) {
+            throw new IllegalArgumentException("Link has already expired");
+        }
+        return expiresAt;
+    }
+
+    private static long parseLong(String column, String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static RedirectType parseRedirectType(String value) {
+        long code = parseLong(LinkRecordReader.REDIRECT_TYPE, value);
+        for (RedirectType type : RedirectType.values()) {
+            if (type.getCode() == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("redirect_type must be 301, 302, 307 or 308: " + value);
+    }
+}
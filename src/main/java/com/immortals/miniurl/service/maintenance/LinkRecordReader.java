@@ -0,0 +1,180 @@
+package com.immortals.miniurl.service.maintenance;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.immortals.miniurl.model.enums.LinkImportFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads bulk import input one line at a time, so only the current line is ever held in memory.
+ * <p>
+ * Each record is returned as a map from column name to value, with absent and empty values left out. CSV
+ * input starts with a header line naming the columns; a quoted field cannot span lines. Line numbers count
+ * every physical line including the header, and are what import checkpoints refer to.
+ */
+public class LinkRecordReader implements Closeable {
+
+    public static final String SHORT_CODE = "short_code";
+    public static final String ORIGINAL_URL = "original_url";
+    public static final String USER_ID = "user_id";
+    public static final String EXPIRES_AT = "expires_at";
+    public static final String REDIRECT_TYPE = "redirect_type";
+
+    private final BufferedReader reader;
+    private final LinkImportFormat format;
+    private final ObjectMapper objectMapper;
+
+    private List<String> header;
+    private long lineNumber;
+
+    public LinkRecordReader(BufferedReader reader, LinkImportFormat format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Line number of the record last returned, or of the malformed line last rejected.
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Skips without parsing every line up to and including {@code line}, the CSV header excepted.
+     */
+    public void skipTo(long line) throws IOException {
+        readHeader();
+        while (lineNumber < line && reader.readLine() != null) {
+            lineNumber++;
+        }
+    }
+
+    /**
+     * Next record, skipping blank lines.
+     *
+     * @return null at the end of the input
+     * @throws IllegalArgumentException when the line cannot be parsed; the next call moves on to the line after it
+     */
+    public Map<String, String> next() throws IOException {
+        readHeader();
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        return format == LinkImportFormat.CSV ? csvRecord(line) : jsonRecord(line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        if (format != LinkImportFormat.CSV || header != null) {
+            return;
+        }
+        String line = reader.readLine();
+        if (line == null) {
+            header = List.of();
+            return;
+        }
+        lineNumber++;
+        header = new ArrayList<>();
+        for (String column : parseCsvLine(stripBom(line))) {
+            header.add(column.trim()
+                    .toLowerCase());
+        }
+        if (!header.contains(SHORT_CODE) || !header.contains(ORIGINAL_URL)) {
+            throw new IllegalStateException("CSV header must name the " + SHORT_CODE + " and " + ORIGINAL_URL + " columns");
+        }
+    }
+
+    private Map<String, String> csvRecord(String line) {
+        List<String> fields = parseCsvLine(line);
+        if (fields.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " fields but found " + fields.size());
+        }
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i);
+            if (!value.isEmpty()) {
+                record.put(header.get(i), value);
+            }
+        }
+        return record;
+    }
+
+    private Map<String, String> jsonRecord(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        Map<String, String> record = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isValueNode() && !value.isNull() && !value.asText()
+                    .isEmpty()) {
+                record.put(field.getKey(), value.asText());
+            }
+        }
+        return record;
+    }
+
+    // RFC 4180 fields within one line: quoted fields may contain commas, and "" inside quotes is one quote.
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+}
@@ -0,0 +1,68 @@
+package com.immortals.miniurl.service.maintenance;
+
+import com.immortals.miniurl.model.projection.ShortUrlProjection;
+import com.immortals.miniurl.repository.UrlMappingJdbcRepository;
+import com.immortals.miniurl.repository.UrlMappingRepository;
+import com.immortals.miniurl.utils.UrlUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off migration of url_mapping.short_url from full short URLs ("http://host:port/code") to bare short
+ * codes, which is what redirects look up. Enable with {@code maintenance.short-url-backfill.enabled=true},
+ * let it run once at startup, then disable it again.
+ * <p>
+ * Rows whose code is already used by another row are left unchanged and reported. Redis entries keyed by
+ * the old full URLs are not migrated; they simply expire.
+ */
+@Component
+@ConditionalOnProperty(prefix = "maintenance.short-url-backfill", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ShortUrlBackfillRunner implements ApplicationRunner {
+
+    private final UrlMappingRepository urlMappingRepository;
+    private final UrlMappingJdbcRepository urlMappingJdbcRepository;
+
+    @Value("${maintenance.short-url-backfill.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastId = 0L;
+        long rewritten = 0L;
+        long skipped = 0L;
+        List<ShortUrlProjection> page;
+        do {
+            page = findBatch(lastId);
+            Map<Long, String> codesById = new LinkedHashMap<>();
+            for (ShortUrlProjection row : page) {
+                codesById.put(row.getUrlMappingId(), UrlUtil.shortCodeOf(row.getShortUrl()));
+                lastId = row.getUrlMappingId();
+            }
+            if (!codesById.isEmpty()) {
+                int updated = urlMappingJdbcRepository.rewriteShortUrls(codesById);
+                rewritten += updated;
+                skipped += codesById.size() - updated;
+            }
+        } while (page.size() == batchSize);
+
+        log.info("Short URL backfill finished: {} row(s) rewritten to bare codes, {} skipped because the code is already in use",
+                rewritten, skipped);
+    }
+
+    // Read from the primary: replicas may lag behind the batches rewritten so far.
+    private List<ShortUrlProjection> findBatch(long afterId) {
+        return urlMappingRepository.findLegacyShortUrlsAfter(afterId, PageRequest.of(0, batchSize));
+    }
+}
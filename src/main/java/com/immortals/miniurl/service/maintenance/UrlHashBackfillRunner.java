@@ -0,0 +1,63 @@
+package com.immortals.miniurl.service.maintenance;
+
+import com.immortals.miniurl.model.projection.OriginalUrlProjection;
+import com.immortals.miniurl.repository.UrlMappingJdbcRepository;
+import com.immortals.miniurl.repository.UrlMappingRepository;
+import com.immortals.miniurl.utils.UrlUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off fill of url_mapping.url_hash for rows created before the column existed. Enable with
+ * {@code maintenance.url-hash-backfill.enabled=true}, let it run once at startup, then disable it again.
+ * <p>
+ * Until it has run, creating a link for a URL shortened before the column existed makes a new row instead
+ * of returning the existing one.
+ */
+@Component
+@ConditionalOnProperty(prefix = "maintenance.url-hash-backfill", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class UrlHashBackfillRunner implements ApplicationRunner {
+
+    private final UrlMappingRepository urlMappingRepository;
+    private final UrlMappingJdbcRepository urlMappingJdbcRepository;
+
+    @Value("${maintenance.url-hash-backfill.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastId = 0L;
+        long updated = 0L;
+        List<OriginalUrlProjection> page;
+        do {
+            page = findBatch(lastId);
+            Map<Long, Long> hashesById = new LinkedHashMap<>();
+            for (OriginalUrlProjection row : page) {
+                hashesById.put(row.getUrlMappingId(), UrlUtil.urlHash(row.getOriginalUrl()));
+                lastId = row.getUrlMappingId();
+            }
+            if (!hashesById.isEmpty()) {
+                updated += urlMappingJdbcRepository.setUrlHashes(hashesById);
+            }
+        } while (page.size() == batchSize);
+
+        log.info("URL hash backfill finished: {} row(s) updated", updated);
+    }
+
+    // Read from the primary: replicas may lag behind the batches written so far.
+    private List<OriginalUrlProjection> findBatch(long afterId) {
+        return urlMappingRepository.findMissingUrlHashAfter(afterId, PageRequest.of(0, batchSize));
+    }
+}
@@ -0,0 +1,163 @@
+package com.immortals.miniurl.service.membership;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe scalable Bloom filter (Almeida et al.): a chain of fixed-size slices where each new slice
+ * doubles in capacity and halves its false-positive rate, so the compound error stays below the
+ * configured rate no matter how many elements are added.
+ * <p>
+ * Lookups and inserts are lock-free; only growing the chain takes a lock. Elements can never be removed,
+ * so a positive answer means "might exist" and a negative answer means "definitely absent".
+ */
+public final class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final List<Slice> slices = new CopyOnWriteArrayList<>();
+    private final ReentrantLock growLock = new ReentrantLock();
+
+    /**
+     * @param initialCapacity   expected number of elements of the first slice; must be > 0
+     * @param falsePositiveRate target compound false-positive rate; must be in (0, 1)
+     */
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        // The first slice gets (1 - r) * p so that the geometric series over all slices sums to p.
+        slices.add(new Slice(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public void add(String element) {
+        long h1 = hash(element);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        if (mightContain(h1, h2)) {
+            return;
+        }
+        currentSlice().add(h1, h2);
+    }
+
+    public boolean mightContain(String element) {
+        long h1 = hash(element);
+        return mightContain(h1, mix(h1 ^ 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * Approximate number of distinct elements added so far.
+     */
+    public long size() {
+        long total = 0;
+        for (Slice slice : slices) {
+            total += slice.count.get();
+        }
+        return total;
+    }
+
+    public int sliceCount() {
+        return slices.size();
+    }
+
+    private boolean mightContain(long h1, long h2) {
+        for (Slice slice : slices) {
+            if (slice.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Slice currentSlice() {
+        Slice last = slices.get(slices.size() - 1);
+        if (last.count.get() < last.capacity) {
+            return last;
+        }
+        growLock.lock();
+        try {
+            last = slices.get(slices.size() - 1);
+            if (last.count.get() >= last.capacity) {
+                last = new Slice(last.capacity * GROWTH_FACTOR, last.falsePositiveRate * TIGHTENING_RATIO);
+                slices.add(last);
+            }
+            return last;
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finalised with a strong mixer so the low and high bits are
+     * both usable for index derivation.
+     */
+    private static long hash(String element) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : element.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static final class Slice {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final AtomicLong count = new AtomicLong();
+
+        private Slice(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bitCount = Math.max(64, optimalBits);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+            this.bits = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        }
+
+        private void add(long h1, long h2) {
+            boolean changed = false;
+            for (int i = 0; i < hashCount; i++) {
+                long index = index(h1, h2, i);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long previous = bits.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+                changed |= (previous & mask) == 0;
+            }
+            if (changed) {
+                count.incrementAndGet();
+            }
+        }
+
+        private boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashCount; i++) {
+                long index = index(h1, h2, i);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long index(long h1, long h2, int i) {
+            return Math.floorMod(h1 + i * h2, bitCount);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.immortals.miniurl.service.membership;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.immortals.miniurl.annotation.ReadOnly;
+import com.immortals.miniurl.config.cache.MembershipFilterProperties;
+import com.immortals.miniurl.model.projection.ShortUrlProjection;
+import com.immortals.miniurl.repository.UrlMappingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Answers "can this short URL possibly exist?" from memory so that lookups for unknown codes never reach
+ * Redis or the database.
+ * <ul>
+ *     <li>A {@link ScalableBloomFilter} built from url_mapping at startup, rebuilt periodically and updated
+ *     on every create (locally and, through Redis pub/sub, on every other node).</li>
+ *     <li>A short-lived negative cache of codes that were confirmed missing by the database.</li>
+ * </ul>
+ * Until the first build completes every code is reported as possibly existing.
+ */
+@Service
+@Slf4j
+public class ShortUrlMembershipService implements MessageListener {
+
+    private final UrlMappingRepository urlMappingRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MembershipFilterProperties membershipFilterProperties;
+
+    private final AtomicReference<ScalableBloomFilter> filter = new AtomicReference<>();
+    private final AtomicReference<ScalableBloomFilter> pendingFilter = new AtomicReference<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Cache<String, Boolean> negativeCache;
+
+    private final Counter bloomRejections;
+    private final Counter negativeCacheRejections;
+
+    public ShortUrlMembershipService(UrlMappingRepository urlMappingRepository,
+                                     @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                     RedisMessageListenerContainer listenerContainer,
+                                     MembershipFilterProperties membershipFilterProperties,
+                                     MeterRegistry meterRegistry) {
+        this.urlMappingRepository = urlMappingRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.membershipFilterProperties = membershipFilterProperties;
+        this.negativeCache = Caffeine.newBuilder()
+                .maximumSize(membershipFilterProperties.getNegativeMaximumSize())
+                .expireAfterWrite(membershipFilterProperties.getNegativeTtl())
+                .build();
+
+        this.bloomRejections = Counter.builder("url.membership.rejections")
+                .tag("reason", "bloom")
+                .register(meterRegistry);
+        this.negativeCacheRejections = Counter.builder("url.membership.rejections")
+                .tag("reason", "negative-cache")
+                .register(meterRegistry);
+        Gauge.builder("url.membership.filter.size", filter, ref -> ref.get() == null ? 0 : ref.get()
+                        .size())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(membershipFilterProperties.getChannel()));
+    }
+
+    /**
+     * @return false only when the short URL definitely does not exist
+     */
+    public boolean mightExist(String shortUrl) {
+        if (!isEnabled()) {
+            return true;
+        }
+        if (negativeCache.getIfPresent(shortUrl) != null) {
+            negativeCacheRejections.increment();
+            return false;
+        }
+        ScalableBloomFilter current = filter.get();
+        if (current != null && !current.mightContain(shortUrl)) {
+            bloomRejections.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remembers a code the database confirmed as missing, for {@code cache.membership.negative-ttl}.
+     */
+    public void recordMiss(String shortUrl) {
+        if (isEnabled()) {
+            negativeCache.put(shortUrl, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Registers a newly created short URL on this node and broadcasts it to the others.
+     */
+    public void register(String shortUrl) {
+        addLocally(shortUrl);
+        try {
+            redisTemplate.convertAndSend(membershipFilterProperties.getChannel(), shortUrl);
+        } catch (DataAccessException e) {
+            // Other nodes catch up on their next scheduled rebuild.
+            log.warn("Failed to broadcast new short URL [{}]: {}", shortUrl, e.getMessage());
+        }
+    }
+
+    /**
+     * {@link #register} for many codes, with the broadcasts pipelined into one Redis round trip.
+     */
+    public void registerAll(Collection<String> shortUrls) {
+        shortUrls.forEach(this::addLocally);
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> pipelined = (RedisOperations<String, Object>) operations;
+                    shortUrls.forEach(shortUrl -> pipelined.convertAndSend(membershipFilterProperties.getChannel(), shortUrl));
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Failed to broadcast {} new short URL(s): {}", shortUrls.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object shortUrl = redisTemplate.getValueSerializer()
+                .deserialize(message.getBody());
+        if (shortUrl != null) {
+            addLocally(shortUrl.toString());
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the filter from scratch so that deactivated links stop occupying it and any missed
+     * broadcasts are recovered.
+     */
+    @ReadOnly
+    @Scheduled(cron = "${cache.membership.rebuild-cron:0 0 * * * *}")
+    public void rebuild() {
+        if (!isEnabled() || !rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            ScalableBloomFilter next = new ScalableBloomFilter(membershipFilterProperties.getExpectedInsertions(),
+                    membershipFilterProperties.getFalsePositiveRate());
+            pendingFilter.set(next);
+
+            long lastId = 0L;
+            List<ShortUrlProjection> page;
+            do {
+                page = urlMappingRepository.findActiveShortUrlsAfter(lastId, PageRequest.of(0, membershipFilterProperties.getLoadBatchSize()));
+                for (ShortUrlProjection row : page) {
+                    next.add(row.getShortUrl());
+                    lastId = row.getUrlMappingId();
+                }
+            } while (page.size() == membershipFilterProperties.getLoadBatchSize());
+
+            filter.set(next);
+            log.info("Short URL membership filter built with {} entries in {} slice(s)", next.size(), next.sliceCount());
+        } catch (DataAccessException e) {
+            log.error("Failed to build short URL membership filter: {}", e.getMessage(), e);
+        } finally {
+            pendingFilter.set(null);
+            rebuildLock.unlock();
+        }
+    }
+
+    private void addLocally(String shortUrl) {
+        negativeCache.invalidate(shortUrl);
+        ScalableBloomFilter current = filter.get();
+        if (current != null) {
+            current.add(shortUrl);
+        }
+        // Codes created while a rebuild is scanning must survive the swap.
+        ScalableBloomFilter pending = pendingFilter.get();
+        if (pending != null) {
+            pending.add(shortUrl);
+        }
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(membershipFilterProperties.getEnabled());
+    }
+}
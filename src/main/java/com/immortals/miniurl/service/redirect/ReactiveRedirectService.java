@@ -0,0 +1,112 @@
+package com.immortals.miniurl.service.redirect;
+
+import com.immortals.miniurl.config.cache.UrlCacheProperties;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.service.UrlShortenerService;
+import com.immortals.miniurl.service.cache.BucketedUrlCacheService;
+import com.immortals.miniurl.service.cache.TieredUrlCacheService;
+import com.immortals.miniurl.service.click.ClickCountService;
+import com.immortals.miniurl.service.hotkey.HotKeyDetector;
+import com.immortals.miniurl.service.membership.ShortUrlMembershipService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import static com.immortals.miniurl.utils.UrlUtil.cacheKey;
+
+/**
+ * Resolves short codes without holding a thread while Redis answers: near cache first, then a reactive
+ * Lettuce read. Only a Redis miss or failure falls back to the regular blocking lookup (cache, database,
+ * cache repopulation), which runs on a bounded scheduler, and only for codes the membership filter may
+ * contain.
+ */
+@Service
+@ConditionalOnProperty(prefix = "redirect.reactive", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReactiveRedirectService {
+
+    private final ReactiveRedisTemplate<String, CachedUrlDataDto> reactiveRedisTemplate;
+    private final TieredUrlCacheService tieredUrlCacheService;
+    private final UrlCacheProperties urlCacheProperties;
+    private final ShortUrlMembershipService shortUrlMembershipService;
+    private final ClickCountService clickCountService;
+    private final HotKeyDetector hotKeyDetector;
+    private final UrlShortenerService urlShortenerService;
+    private final Scheduler fallbackScheduler;
+
+    private final Counter fallbacks;
+
+    public ReactiveRedirectService(@Qualifier("reactiveUrlCacheRedisTemplate") ReactiveRedisTemplate<String, CachedUrlDataDto> reactiveRedisTemplate,
+                                   TieredUrlCacheService tieredUrlCacheService,
+                                   UrlCacheProperties urlCacheProperties,
+                                   ShortUrlMembershipService shortUrlMembershipService,
+                                   ClickCountService clickCountService,
+                                   HotKeyDetector hotKeyDetector,
+                                   UrlShortenerService urlShortenerService,
+                                   @Qualifier("redirectFallbackScheduler") Scheduler fallbackScheduler,
+                                   MeterRegistry meterRegistry) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.tieredUrlCacheService = tieredUrlCacheService;
+        this.urlCacheProperties = urlCacheProperties;
+        this.shortUrlMembershipService = shortUrlMembershipService;
+        this.clickCountService = clickCountService;
+        this.hotKeyDetector = hotKeyDetector;
+        this.urlShortenerService = urlShortenerService;
+        this.fallbackScheduler = fallbackScheduler;
+        this.fallbacks = Counter.builder("url.redirect.reactive.fallbacks")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the redirect target, or empty when the short code does not resolve
+     */
+    public Mono<CachedUrlDataDto> resolve(String shortUrl) {
+        // As in the blocking lookup, a membership filter miss still reads the caches and only skips the
+        // database fallback.
+        boolean mightExist = shortUrlMembershipService.mightExist(shortUrl);
+        if (mightExist) {
+            // A Redis miss is recorded again by the blocking fallback; only cold codes get that far.
+            hotKeyDetector.record(shortUrl);
+        }
+
+        String key = cacheKey(shortUrl);
+        CachedUrlDataDto local = tieredUrlCacheService.getLocal(key);
+        if (local != null) {
+            clickCountService.recordClick(shortUrl);
+            return Mono.just(local);
+        }
+
+        return readRemote(key).doOnNext(value -> {
+                    tieredUrlCacheService.cacheLocally(key, value);
+                    clickCountService.recordClick(shortUrl);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Reactive cache read failed for short URL [{}], falling back: {}", shortUrl, e.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> mightExist ? fallback(shortUrl) : Mono.empty()));
+    }
+
+    private Mono<CachedUrlDataDto> readRemote(String key) {
+        if ("hashed".equalsIgnoreCase(urlCacheProperties.getLayout())) {
+            return reactiveRedisTemplate.<String, CachedUrlDataDto>opsForHash()
+                    .get(BucketedUrlCacheService.bucketOf(key, urlCacheProperties.getHashBuckets()), key)
+                    .filter(value -> !BucketedUrlCacheService.isExpired(value));
+        }
+        return reactiveRedisTemplate.opsForValue()
+                .get(key);
+    }
+
+    private Mono<CachedUrlDataDto> fallback(String shortUrl) {
+        fallbacks.increment();
+        // The blocking lookup counts the click itself when it resolves the code.
+        return Mono.fromCallable(() -> urlShortenerService.resolve(shortUrl))
+                .subscribeOn(fallbackScheduler);
+    }
+}
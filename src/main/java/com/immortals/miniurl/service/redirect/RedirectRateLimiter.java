@@ -0,0 +1,60 @@
+package com.immortals.miniurl.service.redirect;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.immortals.miniurl.constants.UrlConstants.MAX_TOKENS;
+import static com.immortals.miniurl.constants.UrlConstants.REFILL_TOKENS_PER_SECONDS;
+
+/**
+ * In-process per-client rate limiter for the redirect fast path, with the same rate and burst as
+ * {@link com.immortals.miniurl.service.RateLimiterService} but without Redis round trips.
+ * <p>
+ * Uses the generic cell rate algorithm: each client is a single "theoretical arrival time" updated with a
+ * CAS, which is equivalent to a token bucket but needs no lock and no refill bookkeeping.
+ */
+@Service
+public class RedirectRateLimiter {
+
+    private static final long MAXIMUM_CLIENTS = 100_000L;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> arrivalTimes;
+
+    public RedirectRateLimiter() {
+        this(REFILL_TOKENS_PER_SECONDS, MAX_TOKENS);
+    }
+
+    RedirectRateLimiter(int permitsPerSecond, int burst) {
+        this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.arrivalTimes = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_CLIENTS)
+                .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos * burst))
+                .build();
+    }
+
+    public boolean tryAcquire(String clientKey) {
+        return tryAcquire(clientKey, System.nanoTime());
+    }
+
+    boolean tryAcquire(String clientKey, long nowNanos) {
+        AtomicLong arrivalTime = arrivalTimes.get(clientKey, key -> new AtomicLong(nowNanos));
+        while (true) {
+            long current = arrivalTime.get();
+            long theoretical = Math.max(current, nowNanos);
+            if (theoretical - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (arrivalTime.compareAndSet(current, theoretical + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.immortals.miniurl.service.redirect;
+
+import com.immortals.miniurl.config.redirect.RedirectProperties;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.model.enums.RedirectType;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Builds redirect responses for every redirect endpoint: the status follows the link's
+ * {@link RedirectType} and the caching headers follow its expiry and {@code redirect.caching}.
+ * <ul>
+ *     <li>Permanent (301/308): {@code public}, shareable by CDNs for up to {@code permanent-max-age}.</li>
+ *     <li>Temporary (302/307): {@code private}, browser-only for up to {@code temporary-max-age}.</li>
+ * </ul>
+ * Neither outlives the link's {@code expiresAt}. Click counts only see requests that reach us, so a
+ * sampled share of responses is sent with {@code no-store} to keep cached clients returning.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedirectResponses {
+
+    private static final String NO_STORE = "no-store";
+
+    private final RedirectProperties redirectProperties;
+
+    public void write(HttpServletResponse response, CachedUrlDataDto target) {
+        response.setStatus(redirectTypeOf(target).getCode());
+        response.setHeader(HttpHeaders.LOCATION, target.getOriginalUrl());
+        applyCaching(target, response::setHeader, response::setDateHeader);
+        response.setContentLength(0);
+    }
+
+    public ResponseEntity<Void> toResponseEntity(CachedUrlDataDto target) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setLocation(URI.create(target.getOriginalUrl()));
+        applyCaching(target, headers::set, headers::setDate);
+        return ResponseEntity.status(redirectTypeOf(target).getCode())
+                .headers(headers)
+                .build();
+    }
+
+    static RedirectType redirectTypeOf(CachedUrlDataDto target) {
+        return target.getRedirectType() == null ? RedirectType.TEMPORARY : target.getRedirectType();
+    }
+
+    private void applyCaching(CachedUrlDataDto target, BiConsumer<String, String> headerWriter, ObjLongConsumer<String> dateHeaderWriter) {
+        RedirectProperties.Caching caching = redirectProperties.getCaching();
+        boolean permanent = redirectTypeOf(target).isPermanent();
+        Instant now = DateTimeUtils.nowInstant();
+
+        Duration maxAge = permanent ? caching.getPermanentMaxAge() : caching.getTemporaryMaxAge();
+        if (target.getExpiresAt() != null) {
+            Duration untilExpiry = DateTimeUtils.durationBetween(now, target.getExpiresAt());
+            if (untilExpiry.compareTo(maxAge) < 0) {
+                maxAge = untilExpiry;
+            }
+        }
+
+        if (!Boolean.TRUE.equals(caching.getEnabled()) || maxAge.getSeconds() <= 0 || sampledOut(caching)) {
+            headerWriter.accept(HttpHeaders.CACHE_CONTROL, NO_STORE);
+            return;
+        }
+        headerWriter.accept(HttpHeaders.CACHE_CONTROL, (permanent ? "public" : "private") + ", max-age=" + maxAge.getSeconds());
+        dateHeaderWriter.accept(HttpHeaders.EXPIRES, now.plusSeconds(maxAge.getSeconds())
+                .toEpochMilli());
+    }
+
+    private static boolean sampledOut(RedirectProperties.Caching caching) {
+        return caching.getUncachedSampleRate() > 0 && ThreadLocalRandom.current()
+                .nextDouble() < caching.getUncachedSampleRate();
+    }
+}
@@ -0,0 +1,172 @@
+package com.immortals.miniurl.service.stats;
+
+import com.immortals.miniurl.config.click.ClickRollupProperties;
+import com.immortals.miniurl.model.dto.RollupBucketDto;
+import com.immortals.miniurl.model.enums.RollupGranularity;
+import com.immortals.miniurl.repository.ClickRollupJdbcRepository;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maintains the click_rollup buckets behind the stats API. Clicks are counted in memory per short URL and
+ * minute; each flush turns the counted minutes into deltas for the minute, hour and day buckets they fall
+ * in and upserts them in batches, so the stats queries read precomputed rows instead of scanning
+ * click_event.
+ * <p>
+ * Because hour and day buckets are maintained directly, compaction only has to delete minute and hour
+ * buckets past their retention; their clicks are already in the coarser buckets.
+ */
+@Service
+@Slf4j
+public class ClickRollupService {
+
+    private static final RollupGranularity[] GRANULARITIES = RollupGranularity.values();
+
+    private final ClickRollupJdbcRepository clickRollupJdbcRepository;
+    private final ClickRollupProperties clickRollupProperties;
+
+    private final ConcurrentHashMap<MinuteKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<MinuteKey, LongAdder> retired = new HashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter flushedClicks;
+    private final Counter failedFlushes;
+    private final Counter compactedBuckets;
+
+    public ClickRollupService(ClickRollupJdbcRepository clickRollupJdbcRepository,
+                              ClickRollupProperties clickRollupProperties,
+                              MeterRegistry meterRegistry) {
+        this.clickRollupJdbcRepository = clickRollupJdbcRepository;
+        this.clickRollupProperties = clickRollupProperties;
+
+        this.flushedClicks = Counter.builder("click.rollups.flushed")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("click.rollups.flush.failures")
+                .register(meterRegistry);
+        this.compactedBuckets = Counter.builder("click.rollups.compacted")
+                .register(meterRegistry);
+        Gauge.builder("click.rollups.pending.minutes", counters, Map::size)
+                .register(meterRegistry);
+    }
+
+    public void record(String shortUrl, Instant clickedAt) {
+        if (!isEnabled()) {
+            return;
+        }
+        counters.computeIfAbsent(new MinuteKey(shortUrl, RollupGranularity.MINUTE.bucketOf(clickedAt)), key -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * Upserts the clicks counted since the previous flush into every granularity.
+     */
+    @Scheduled(fixedDelayString = "${click-rollups.flush-interval:10s}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<MinuteKey, Long> minutes = collectDeltas();
+            if (minutes.isEmpty()) {
+                return;
+            }
+            Map<RollupBucketDto, Long> deltas = expand(minutes);
+            try {
+                clickRollupJdbcRepository.upsert(deltas, clickRollupProperties.getBatchSize());
+                flushedClicks.increment(minutes.values()
+                        .stream()
+                        .mapToLong(Long::longValue)
+                        .sum());
+                log.debug("Flushed click rollups for {} link minute(s) into {} bucket(s)", minutes.size(), deltas.size());
+            } catch (RuntimeException e) {
+                // The upsert is one transaction, so none of the deltas were applied; count them again. Not only
+                // DataAccessException: an unreachable primary fails with CannotCreateTransactionException.
+                failedFlushes.increment();
+                minutes.forEach((key, delta) -> counters.computeIfAbsent(key, k -> new LongAdder())
+                        .add(delta));
+                log.warn("Failed to flush click rollups for {} link minute(s): {}", minutes.size(), e.getMessage());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Deletes minute and hour buckets older than their retention.
+     */
+    @Scheduled(cron = "${click-rollups.compaction-cron:0 15 * * * *}")
+    public void compact() {
+        if (!isEnabled()) {
+            return;
+        }
+        Instant now = DateTimeUtils.nowInstant();
+        try {
+            int minutes = clickRollupJdbcRepository.deleteOlderThan(RollupGranularity.MINUTE, now.minus(clickRollupProperties.getMinuteRetention()));
+            int hours = clickRollupJdbcRepository.deleteOlderThan(RollupGranularity.HOUR, now.minus(clickRollupProperties.getHourRetention()));
+            compactedBuckets.increment(minutes + hours);
+            log.info("Compacted click rollups: {} minute bucket(s) and {} hour bucket(s) deleted", minutes, hours);
+        } catch (DataAccessException e) {
+            log.warn("Click rollup compaction failed: {}", e.getMessage());
+        }
+    }
+
+    private Map<MinuteKey, Long> collectDeltas() {
+        Map<MinuteKey, Long> deltas = new HashMap<>();
+
+        retired.forEach((key, adder) -> addDelta(deltas, key, adder.sumThenReset()));
+        retired.clear();
+
+        counters.forEach((key, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                addDelta(deltas, key, delta);
+            } else if (counters.remove(key, adder)) {
+                // Kept for one more flush so that an increment racing with the removal is still written.
+                retired.put(key, adder);
+            }
+        });
+        return deltas;
+    }
+
+    static Map<RollupBucketDto, Long> expand(Map<MinuteKey, Long> minutes) {
+        Map<RollupBucketDto, Long> deltas = new HashMap<>();
+        minutes.forEach((key, delta) -> {
+            for (RollupGranularity granularity : GRANULARITIES) {
+                deltas.merge(new RollupBucketDto(key.shortUrl(), granularity, granularity.bucketOf(key.minute())), delta, Long::sum);
+            }
+        });
+        return deltas;
+    }
+
+    private static void addDelta(Map<MinuteKey, Long> deltas, MinuteKey key, long delta) {
+        if (delta > 0) {
+            deltas.merge(key, delta, Long::sum);
+        }
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(clickRollupProperties.getEnabled());
+    }
+
+    record MinuteKey(String shortUrl, Instant minute) {
+    }
+}
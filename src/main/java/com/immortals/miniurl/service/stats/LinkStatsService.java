@@ -0,0 +1,101 @@
+package com.immortals.miniurl.service.stats;
+
+import com.immortals.miniurl.annotation.ReadOnly;
+import com.immortals.miniurl.config.click.ClickRollupProperties;
+import com.immortals.miniurl.model.dto.ClickStatsDto;
+import com.immortals.miniurl.model.dto.StatsPointDto;
+import com.immortals.miniurl.model.enums.RollupGranularity;
+import com.immortals.miniurl.model.enums.RollupScope;
+import com.immortals.miniurl.model.security.CurrentUserProvider;
+import com.immortals.miniurl.repository.ClickRollupJdbcRepository;
+import com.immortals.miniurl.repository.UrlMappingRepository;
+import com.immortals.miniurl.service.exception.UrlNotFoundException;
+import com.immortals.miniurl.utils.DateTimeUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Click time series for the stats API, read from the click_rollup buckets of the current user's links.
+ */
+@Service
+@RequiredArgsConstructor
+public class LinkStatsService {
+
+    private final ClickRollupJdbcRepository clickRollupJdbcRepository;
+    private final UrlMappingRepository urlMappingRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final ClickRollupProperties clickRollupProperties;
+    private final UniqueVisitorService uniqueVisitorService;
+
+    /**
+     * Clicks on one of the current user's links; links of other users are reported as not found.
+     */
+    @ReadOnly
+    public ClickStatsDto linkStats(String shortUrl, RollupGranularity granularity, Instant from, Instant to) {
+        Long userId = currentUserProvider.getCurrentUser()
+                .getId();
+        if (urlMappingRepository.findByShortUrlAndIsActiveTrueAndUserId(shortUrl, userId)
+                .isEmpty()) {
+            throw new UrlNotFoundException("Short URL not found: " + shortUrl);
+        }
+        ClickStatsDto stats = stats(RollupScope.LINK, shortUrl, granularity, from, to);
+        stats.setUniqueVisitors(uniqueVisitorService.count(shortUrl));
+        return stats;
+    }
+
+    /**
+     * Clicks on all links of the current user.
+     */
+    public ClickStatsDto userStats(RollupGranularity granularity, Instant from, Instant to) {
+        String userId = String.valueOf(currentUserProvider.getCurrentUser()
+                .getId());
+        return stats(RollupScope.USER, userId, granularity, from, to);
+    }
+
+    private ClickStatsDto stats(RollupScope scope, String subject, RollupGranularity granularity, Instant from, Instant to) {
+        RollupGranularity resolvedGranularity = granularity != null ? granularity : RollupGranularity.HOUR;
+        Instant resolvedTo = resolvedGranularity.bucketOf(to != null ? to : DateTimeUtils.nowInstant())
+                .plus(1, resolvedGranularity.getUnit());
+        Instant resolvedFrom = resolvedGranularity.bucketOf(from != null ? from : resolvedTo.minus(defaultWindow(resolvedGranularity)));
+        validateRange(resolvedGranularity, resolvedFrom, resolvedTo);
+
+        List<StatsPointDto> points = clickRollupJdbcRepository.findSeries(scope, subject, resolvedGranularity, resolvedFrom, resolvedTo);
+        return ClickStatsDto.builder()
+                .scope(scope)
+                .subject(subject)
+                .granularity(resolvedGranularity)
+                .from(resolvedFrom)
+                .to(resolvedTo)
+                .clicks(points.stream()
+                        .mapToLong(StatsPointDto::getClicks)
+                        .sum())
+                .points(points)
+                .build();
+    }
+
+    private void validateRange(RollupGranularity granularity, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+        }
+        long points = granularity.getUnit()
+                .between(from, to);
+        if (points > clickRollupProperties.getMaxPoints()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Range spans " + points + " " + granularity + " buckets, the maximum is " + clickRollupProperties.getMaxPoints());
+        }
+    }
+
+    private static Duration defaultWindow(RollupGranularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> Duration.ofHours(1);
+            case HOUR -> Duration.ofDays(1);
+            case DAY -> Duration.ofDays(30);
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package com.immortals.miniurl.service.stats;
+
+import com.immortals.miniurl.config.click.UniqueVisitorProperties;
+import com.immortals.miniurl.service.cache.RedisCacheOperations;
+import com.immortals.miniurl.service.exception.CacheException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estimates distinct visitors per short URL with one Redis HyperLogLog per link: about 12 KB at most per
+ * link with a standard error of 0.81%, however many visitors it has.
+ * <p>
+ * A visitor is the salted SHA-256 of client IP and user agent, truncated to 64 bits; neither is stored.
+ * Redirects only add the hash to an in-memory set per link, and a scheduled flush sends the sets to Redis
+ * as pipelined PFADDs, so repeat visits between flushes cost no Redis traffic at all. Since HyperLogLogs
+ * merge losslessly, every node can add to the same key.
+ * <p>
+ * Without a salt the 64-bit hashes could be reversed by brute force over IPs and common user agents, so
+ * startup fails while the service is enabled and {@code unique-visitors.salt} is blank.
+ */
+@Service
+@Slf4j
+public class UniqueVisitorService {
+
+    static final String VISITORS_KEY_PREFIX = "hll:v:";
+
+    private static final int VISITOR_HASH_BYTES = 8;
+
+    private final ThreadLocal<MessageDigest> digest = ThreadLocal.withInitial(UniqueVisitorService::sha256);
+
+    private final RedisCacheOperations<String, Object> cacheService;
+    private final UniqueVisitorProperties uniqueVisitorProperties;
+
+    private final ConcurrentHashMap<String, Set<Visitor>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingVisitors = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter flushedVisitors;
+    private final Counter droppedVisitors;
+    private final Counter failedFlushes;
+
+    public UniqueVisitorService(@Qualifier("redisCacheService") RedisCacheOperations<String, Object> cacheService,
+                                UniqueVisitorProperties uniqueVisitorProperties,
+                                MeterRegistry meterRegistry) {
+        String salt = uniqueVisitorProperties.getSalt();
+        if (Boolean.TRUE.equals(uniqueVisitorProperties.getEnabled()) && (salt == null || salt.isBlank())) {
+            throw new IllegalStateException("unique-visitors.salt must be set (UNIQUE_VISITORS_SALT) while unique visitors are enabled");
+        }
+        this.cacheService = cacheService;
+        this.uniqueVisitorProperties = uniqueVisitorProperties;
+
+        this.flushedVisitors = Counter.builder("unique.visitors.flushed")
+                .register(meterRegistry);
+        this.droppedVisitors = Counter.builder("unique.visitors.dropped")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("unique.visitors.flush.failures")
+                .register(meterRegistry);
+        Gauge.builder("unique.visitors.pending", pendingVisitors, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public void record(String shortUrl, String clientIp, String userAgent) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (pendingVisitors.get() >= uniqueVisitorProperties.getMaxPending()) {
+            droppedVisitors.increment();
+            return;
+        }
+        Visitor visitor = new Visitor(hash(clientIp, userAgent));
+        // compute() runs under the map's per-key lock, so an add can never race with flush() taking the set.
+        pending.compute(shortUrl, (key, visitors) -> {
+            Set<Visitor> set = visitors != null ? visitors : new HashSet<>();
+            if (set.add(visitor)) {
+                pendingVisitors.incrementAndGet();
+            }
+            return set;
+        });
+    }
+
+    /**
+     * Estimated distinct visitors of {@code shortUrl} so far, or null when Redis cannot be reached.
+     */
+    public Long count(String shortUrl) {
+        if (!isEnabled()) {
+            return null;
+        }
+        try {
+            return cacheService.countHyperLogLog(visitorsKey(shortUrl));
+        } catch (CacheException e) {
+            log.warn("Could not count unique visitors of short URL [{}]: {}", shortUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${unique-visitors.flush-interval:5s}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<String, Set<Visitor>> batch = new HashMap<>();
+            for (String shortUrl : pending.keySet()) {
+                Set<Visitor> visitors = pending.remove(shortUrl);
+                if (visitors != null) {
+                    batch.put(shortUrl, visitors);
+                    pendingVisitors.addAndGet(-visitors.size());
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            Map<String, List<byte[]>> elements = new HashMap<>();
+            batch.forEach((shortUrl, visitors) -> elements.put(visitorsKey(shortUrl), visitors.stream()
+                    .map(Visitor::hash)
+                    .toList()));
+            try {
+                cacheService.addToHyperLogLogs(elements, uniqueVisitorProperties.getRetention());
+                flushedVisitors.increment(batch.values()
+                        .stream()
+                        .mapToInt(Set::size)
+                        .sum());
+            } catch (CacheException e) {
+                // Adding the same visitors again later is harmless, so simply drop this round.
+                failedFlushes.increment();
+                log.warn("Failed to flush unique visitors of {} short URL(s): {}", batch.size(), e.getMessage());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    static String visitorsKey(String shortUrl) {
+        return VISITORS_KEY_PREFIX + shortUrl;
+    }
+
+    private byte[] hash(String clientIp, String userAgent) {
+        MessageDigest digest = this.digest.get();
+        digest.reset();
+        digest.update(uniqueVisitorProperties.getSalt()
+                .getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(clientIp)
+                .getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(userAgent)
+                .getBytes(StandardCharsets.UTF_8));
+        return Arrays.copyOf(digest.digest(), VISITOR_HASH_BYTES);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(uniqueVisitorProperties.getEnabled());
+    }
+
+    /**
+     * A visitor hash with value equality, so repeat visits collapse in the pending sets.
+     */
+    record Visitor(byte[] hash) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Visitor visitor && Arrays.equals(hash, visitor.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(hash);
+        }
+
+        @Override
+        public String toString() {
+            return "Visitor" + Arrays.toString(hash);
+        }
+    }
+}
@@ -1,32 +1,155 @@
 package com.immortals.miniurl.utils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import static com.immortals.miniurl.constants.UrlConstants.ALPHABET;
 
-public class Base62Utils {
+/**
+ * Base62 codec over {@link com.immortals.miniurl.constants.UrlConstants#ALPHABET ALPHABET}.
+ * <p>
+ * Digits are written right to left straight into their final position and decoded through a lookup table,
+ * so the {@code byte[]}/{@code char[]} variants allocate nothing; the {@code String} variants allocate only
+ * the returned string. Fixed-width encodings are left-padded with {@code '0'}, which decodes to the same
+ * value as the unpadded form.
+ */
+public final class Base62Utils {
+
+    /**
+     * Digits needed for any non-negative {@code long}: 62^11 exceeds {@link Long#MAX_VALUE}.
+     */
+    public static final int MAX_WIDTH = 11;
+
+    private static final int BASE = 62;
+    private static final byte[] DIGITS = ALPHABET.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] VALUES = new byte[128];
+    private static final long[] POWERS = new long[MAX_WIDTH];
+
+    static {
+        POWERS[0] = 1;
+        for (int i = 1; i < MAX_WIDTH; i++) {
+            POWERS[i] = POWERS[i - 1] * BASE;
+        }
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+            VALUES[DIGITS[i]] = (byte) i;
+        }
+    }
+
+    private Base62Utils() {
+    }
+
+    /**
+     * Shortest encoding of {@code value}, "0" for zero.
+     */
     public static String encode(long value) {
+        return encode(value, length(value));
+    }
+
+    /**
+     * Encoding of {@code value} padded to exactly {@code width} digits.
+     */
+    public static String encode(long value, int width) {
+        byte[] buffer = new byte[width];
+        encodeTo(value, width, buffer, 0);
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes {@code value} as exactly {@code width} digits to {@code dst} starting at {@code offset}.
+     *
+     * @return the offset just past the written digits
+     */
+    public static int encodeTo(long value, int width, byte[] dst, int offset) {
+        checkWidth(value, width);
+        int end = offset + width;
+        for (int i = end - 1; i >= offset; i--) {
+            dst[i] = DIGITS[(int) (value % BASE)];
+            value /= BASE;
+        }
+        return end;
+    }
+
+    /**
+     * {@code char[]} variant of {@link #encodeTo(long, int, byte[], int)}.
+     */
+    public static int encodeTo(long value, int width, char[] dst, int offset) {
+        checkWidth(value, width);
+        int end = offset + width;
+        for (int i = end - 1; i >= offset; i--) {
+            dst[i] = (char) DIGITS[(int) (value % BASE)];
+            value /= BASE;
+        }
+        return end;
+    }
+
+    /**
+     * Number of digits in the shortest encoding of {@code value}.
+     */
+    public static int length(long value) {
         if (value < 0) {
             throw new IllegalArgumentException("Value must be non-negative");
         }
-        if (value == 0) return "0";
+        int length = 1;
+        while (value >= BASE) {
+            value /= BASE;
+            length++;
+        }
+        return length;
+    }
 
-        StringBuilder sb = new StringBuilder();
-        while (value > 0) {
-            int remainder = (int) (value % 62);
-            sb.append(ALPHABET.charAt(remainder));
-            value /= 62;
+    public static long decode(CharSequence base62) {
+        int length = base62.length();
+        checkLength(length);
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            result = accumulate(result, base62.charAt(i));
         }
-        return sb.reverse()
-                .toString();
+        return result;
     }
 
-    // Optional: Decode method
-    public static long decode(String base62) {
+    public static long decode(byte[] src, int offset, int length) {
+        checkLength(length);
         long result = 0;
-        for (char c : base62.toCharArray()) {
-            int index = ALPHABET.indexOf(c);
-            if (index == -1) throw new IllegalArgumentException("Invalid character in base62 string");
-            result = result * 62 + index;
+        for (int i = offset; i < offset + length; i++) {
+            result = accumulate(result, (char) (src[i] & 0xFF));
         }
         return result;
     }
+
+    private static long accumulate(long result, char c) {
+        int digit = c < VALUES.length ? VALUES[c] : -1;
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid character in base62 string");
+        }
+        if (result > (Long.MAX_VALUE - digit) / BASE) {
+            throw new IllegalArgumentException("Base62 string exceeds the range of a long");
+        }
+        return result * BASE + digit;
+    }
+
+    private static void checkWidth(long value, int width) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be non-negative");
+        }
+        if (width < 1 || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Width must be between 1 and " + MAX_WIDTH);
+        }
+        if (width < MAX_WIDTH && value >= POWERS[width]) {
+            throw new IllegalArgumentException(value + " does not fit in " + width + " base62 digits");
+        }
+    }
+
+    private static void checkLength(int length) {
+        if (length == 0) {
+            throw new IllegalArgumentException("Base62 string cannot be empty");
+        }
+    }
+
+    /**
+     * 62^{@code exponent}, the number of distinct codes of that width, for exponents below {@link #MAX_WIDTH}.
+     */
+    public static long pow62(int exponent) {
+        return POWERS[exponent];
+    }
 }
@@ -7,6 +7,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class DateTimeUtils {
@@ -27,4 +28,18 @@ public final class DateTimeUtils {
         return Duration.between(start, end);
     }
 
+    /**
+     * Shortens a duration by a random amount of up to {@code ratio} of its length. The result is never
+     * longer than the input, so it is safe for TTLs that must not outlive a deadline.
+     */
+    public static Duration withJitter(Duration duration, double ratio) {
+        long millis = duration.toMillis();
+        long maxJitter = (long) (millis * ratio);
+        if (millis <= 0 || maxJitter <= 0) {
+            return duration;
+        }
+        return duration.minusMillis(ThreadLocalRandom.current()
+                .nextLong(maxJitter + 1));
+    }
+
 }
@@ -24,7 +24,6 @@ public final class JsonUtils {
         OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false); // Ignore unknown
         OBJECT_MAPPER.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
         OBJECT_MAPPER.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false); // ISO format
-        OBJECT_MAPPER.enable(SerializationFeature.INDENT_OUTPUT); // Pretty print (can be turned off)
 
         // Register modules for Java 8 compatibility
         OBJECT_MAPPER.registerModule(new Jdk8Module());
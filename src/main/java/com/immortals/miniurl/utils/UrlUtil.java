@@ -1,14 +1,22 @@
 package com.immortals.miniurl.utils;
 
+import com.immortals.miniurl.helper.hash.HashEngine;
+import com.immortals.miniurl.helper.hash.Murmur3HashEngine;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static com.immortals.miniurl.constants.UrlConstants.URL_CACHE_KEY_PREFIX;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class UrlUtil {
 
+    private static final HashEngine URL_HASH_ENGINE = new Murmur3HashEngine();
+
     /**
      * Builds a full URL by ensuring the scheme (http/https) is present and appending the path.
      * If scheme is missing in baseUrl, defaults to http.
@@ -32,4 +40,77 @@ public class UrlUtil {
         return fullUri.toString();
     }
 
+    /**
+     * Redis key of a short code. Only the code is used, so the key does not depend on the host the link
+     * was created on.
+     */
+    public static String cacheKey(String shortCode) {
+        return URL_CACHE_KEY_PREFIX + shortCode;
+    }
+
+    /**
+     * Extracts the short code from a full short URL (e.g. "http://localhost:8080/1lgN0ZPMjK" -> "1lgN0ZPMjK").
+     * Values that are already bare codes are returned unchanged.
+     */
+    public static String shortCodeOf(String shortUrl) {
+        return shortUrl.substring(shortUrl.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Canonical form of a URL for duplicate detection: lower-case scheme and host, no default port and "/" for
+     * an empty path. Path and query are kept as given since servers may treat them case-sensitively, and the
+     * fragment is kept because single-page apps route on it. Values that do not parse as URIs are only trimmed.
+     */
+    public static String normalize(String url) {
+        String trimmed = url.trim();
+        try {
+            URI uri = new URI(trimmed);
+            if (uri.getScheme() == null || uri.getRawAuthority() == null || uri.getHost() == null) {
+                return trimmed;
+            }
+            String scheme = uri.getScheme()
+                    .toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            if (("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443)) {
+                port = -1;
+            }
+            StringBuilder normalized = new StringBuilder(trimmed.length()).append(scheme)
+                    .append("://");
+            if (uri.getRawUserInfo() != null) {
+                normalized.append(uri.getRawUserInfo())
+                        .append('@');
+            }
+            normalized.append(uri.getHost()
+                    .toLowerCase(Locale.ROOT));
+            if (port != -1) {
+                normalized.append(':')
+                        .append(port);
+            }
+            String path = uri.getRawPath();
+            normalized.append(path == null || path.isEmpty() ? "/" : path);
+            if (uri.getRawQuery() != null) {
+                normalized.append('?')
+                        .append(uri.getRawQuery());
+            }
+            if (uri.getRawFragment() != null) {
+                normalized.append('#')
+                        .append(uri.getRawFragment());
+            }
+            return normalized.toString();
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+    }
+
+    /**
+     * 64-bit digest of {@link #normalize normalize(url)}, stored in url_mapping.url_hash so links to the same
+     * URL are found through an index instead of comparing original_url. Different URLs can share a hash,
+     * so matches must still be confirmed against the URL itself.
+     */
+    public static long urlHash(String url) {
+        byte[] input = normalize(url).getBytes(StandardCharsets.UTF_8);
+        long[] hash = new long[2];
+        URL_HASH_ENGINE.hash128(input, input.length, 0L, hash);
+        return hash[0];
+    }
 }
@@ -0,0 +1,89 @@
+package com.immortals.miniurl.config.cache;
+
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.model.enums.RedirectType;
+import com.immortals.miniurl.utils.JsonUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedUrlDataRedisSerializerTest {
+
+    private final CachedUrlDataRedisSerializer serializer = new CachedUrlDataRedisSerializer();
+
+    @Test
+    void testSerialize_roundTrip() {
+        Instant expiresAt = Instant.ofEpochSecond(1_900_000_000L);
+        byte[] bytes = serializer.serialize(new CachedUrlDataDto("https://example.com/päth", expiresAt, RedirectType.PERMANENT_REDIRECT));
+
+        assertEquals(CachedUrlDataRedisSerializer.FORMAT_V2, bytes[0]);
+        CachedUrlDataDto result = serializer.deserialize(bytes);
+        assertEquals("https://example.com/päth", result.getOriginalUrl());
+        assertEquals(expiresAt, result.getExpiresAt());
+        assertEquals(RedirectType.PERMANENT_REDIRECT, result.getRedirectType());
+    }
+
+    @Test
+    void testDeserialize_v1EntryHasNoRedirectType() {
+        byte[] v2 = serializer.serialize(new CachedUrlDataDto("https://example.com", Instant.ofEpochSecond(1_900_000_000L), RedirectType.PERMANENT));
+        byte[] v1 = new byte[v2.length - 1];
+        System.arraycopy(v2, 0, v1, 0, v1.length);
+        v1[0] = CachedUrlDataRedisSerializer.FORMAT_V1;
+
+        CachedUrlDataDto result = serializer.deserialize(v1);
+
+        assertEquals("https://example.com", result.getOriginalUrl());
+        assertNull(result.getRedirectType());
+    }
+
+    @Test
+    void testSerialize_withoutExpiry() {
+        CachedUrlDataDto result = serializer.deserialize(serializer.serialize(new CachedUrlDataDto("https://example.com", null)));
+
+        assertEquals("https://example.com", result.getOriginalUrl());
+        assertNull(result.getExpiresAt());
+    }
+
+    @Test
+    void testSerialize_isSmallerThanLegacyJson() {
+        CachedUrlDataDto dto = new CachedUrlDataDto("https://example.com", Instant.ofEpochSecond(1_900_000_000L));
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(JsonUtils.toJson(dto));
+
+        assertTrue(serializer.serialize(dto).length < legacy.length);
+    }
+
+    @Test
+    void testDeserialize_legacyJsonEntry() {
+        Instant expiresAt = Instant.ofEpochSecond(1_900_000_000L);
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(JsonUtils.toJson(new CachedUrlDataDto("https://example.com", expiresAt)));
+
+        CachedUrlDataDto result = serializer.deserialize(legacy);
+
+        assertEquals("https://example.com", result.getOriginalUrl());
+        assertEquals(expiresAt, result.getExpiresAt());
+    }
+
+    @Test
+    void testDeserialize_unknownFormat() {
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{0x7F, 0x00}));
+    }
+
+    @Test
+    void testDeserialize_truncatedEntry() {
+        byte[] bytes = serializer.serialize(new CachedUrlDataDto("https://example.com", null));
+        byte[] truncated = new byte[bytes.length - 5];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(truncated));
+    }
+
+    @Test
+    void testDeserialize_null() {
+        assertNull(serializer.deserialize(null));
+        assertNull(serializer.serialize(null));
+    }
+}
@@ -1,9 +1,14 @@
 package com.immortals.miniurl.controller;
 
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
 import com.immortals.miniurl.model.dto.MiniUrlRequestDto;
 import com.immortals.miniurl.model.dto.MiniUrlResponseDto;
+import com.immortals.miniurl.model.enums.RedirectType;
 import com.immortals.miniurl.service.UrlShortenerService;
+import com.immortals.miniurl.service.click.ClickEventPipeline;
+import com.immortals.miniurl.service.redirect.RedirectResponses;
 import com.immortals.miniurl.utils.MockValueUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +18,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.security.test.context.support.WithMockUser;
 
 import java.io.IOException;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -26,6 +32,15 @@ class UrlShortenerControllerTest {
     @Mock
     private UrlShortenerService urlShortenerService;
 
+    @Mock
+    private RedirectResponses redirectResponses;
+
+    @Mock
+    private ClickEventPipeline clickEventPipeline;
+
+    @Mock
+    private HttpServletRequest httpServletRequest;
+
     @Mock
     private HttpServletResponse httpServletResponse;
 
@@ -55,13 +70,15 @@ class UrlShortenerControllerTest {
     @Test
     void testRedirectToLongUrl_success() throws IOException {
         String shortUrl = "abc123";
-        String longUrl = "https://example.com";
+        CachedUrlDataDto target = new CachedUrlDataDto("https://example.com", Instant.now()
+                .plusSeconds(3600), RedirectType.PERMANENT);
 
-        when(urlShortenerService.getLongUrl(shortUrl)).thenReturn(longUrl);
+        when(urlShortenerService.resolve(shortUrl)).thenReturn(target);
 
-        urlShortenerController.redirectToLongUrl(shortUrl, httpServletResponse);
+        urlShortenerController.redirectToLongUrl(shortUrl, httpServletRequest, httpServletResponse);
 
-        verify(httpServletResponse, times(1)).sendRedirect(longUrl);
+        verify(redirectResponses, times(1)).write(httpServletResponse, target);
+        verify(clickEventPipeline).publish(shortUrl, httpServletRequest);
         verify(httpServletResponse, never()).sendError(anyInt(), anyString());
     }
 
@@ -69,11 +86,12 @@ class UrlShortenerControllerTest {
     void testRedirectToLongUrl_notFound() throws IOException {
         String shortUrl = "invalid";
 
-        when(urlShortenerService.getLongUrl(shortUrl)).thenReturn(null);
+        when(urlShortenerService.resolve(shortUrl)).thenReturn(null);
 
-        urlShortenerController.redirectToLongUrl(shortUrl, httpServletResponse);
+        urlShortenerController.redirectToLongUrl(shortUrl, httpServletRequest, httpServletResponse);
 
-        verify(httpServletResponse, never()).sendRedirect(anyString());
+        verify(redirectResponses, never()).write(any(), any());
+        verifyNoInteractions(clickEventPipeline);
         verify(httpServletResponse, times(1))
                 .sendError(HttpServletResponse.SC_NOT_FOUND, "Short URL not found");
     }
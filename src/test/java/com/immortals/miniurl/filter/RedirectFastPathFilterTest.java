@@ -0,0 +1,98 @@
+package com.immortals.miniurl.filter;
+
+import com.immortals.miniurl.config.redirect.RedirectProperties;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.service.UrlShortenerService;
+import com.immortals.miniurl.service.click.ClickEventPipeline;
+import com.immortals.miniurl.service.redirect.RedirectRateLimiter;
+import com.immortals.miniurl.service.redirect.RedirectResponses;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RedirectFastPathFilterTest {
+
+    @Mock
+    private UrlShortenerService urlShortenerService;
+
+    @Mock
+    private RedirectRateLimiter redirectRateLimiter;
+
+    @Mock
+    private ClickEventPipeline clickEventPipeline;
+
+    private RedirectFastPathFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redirectRateLimiter.tryAcquire(anyString())).thenReturn(true);
+        filter = new RedirectFastPathFilter(urlShortenerService, redirectRateLimiter,
+                new RedirectResponses(new RedirectProperties()), clickEventPipeline, new RedirectProperties());
+    }
+
+    @Test
+    void testRedirect_knownCode() throws Exception {
+        when(urlShortenerService.resolve("abc123")).thenReturn(new CachedUrlDataDto("https://example.com", Instant.now()
+                .plusSeconds(3600)));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/abc123");
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(302, response.getStatus());
+        assertEquals("https://example.com", response.getHeader("Location"));
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertNull(chain.getRequest());
+        verify(clickEventPipeline).publish("abc123", request);
+    }
+
+    @Test
+    void testRedirect_unknownCode() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/unknown1"), response, new MockFilterChain());
+
+        assertEquals(404, response.getStatus());
+    }
+
+    @Test
+    void testRedirect_rateLimited() throws Exception {
+        when(redirectRateLimiter.tryAcquire(anyString())).thenReturn(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/abc123"), response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        verify(urlShortenerService, never()).resolve(anyString());
+    }
+
+    @Test
+    void testPassThrough_nonRedirectRequests() throws Exception {
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{
+                new MockHttpServletRequest("GET", "/api/v1/url/redirect/abc123"),
+                new MockHttpServletRequest("POST", "/abc123"),
+                new MockHttpServletRequest("GET", "/favicon.ico"),
+                new MockHttpServletRequest("GET", "/health"),
+                new MockHttpServletRequest("GET", "/admin")}) {
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            assertSame(request, chain.getRequest());
+        }
+        verifyNoInteractions(urlShortenerService);
+    }
+}
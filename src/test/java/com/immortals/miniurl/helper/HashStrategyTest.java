@@ -0,0 +1,68 @@
+package com.immortals.miniurl.helper;
+
+import com.immortals.miniurl.helper.hash.Murmur3HashEngine;
+import com.immortals.miniurl.helper.hash.Sha256HashEngine;
+import com.immortals.miniurl.service.exception.UrlShorteningException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.immortals.miniurl.constants.UrlConstants.ALPHABET;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashStrategyTest {
+
+    private static final String URL = "https://example.com/some/long/path?q=1";
+
+    @Test
+    void testMurmur3_matchesReferenceVector() {
+        byte[] input = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+        long[] hash = new long[2];
+
+        new Murmur3HashEngine().hash128(input, input.length, 0L, hash);
+
+        assertEquals(0xe34bbc7bbc071b6cL, hash[0]);
+        assertEquals(0x7a433ca9c49a9347L, hash[1]);
+    }
+
+    @Test
+    void testGenerate_isDeterministicBase62OfRequestedLength() {
+        HashStrategy strategy = new HashStrategy(10, new Murmur3HashEngine());
+
+        String code = strategy.generate(URL);
+
+        assertEquals(code, strategy.generate(URL));
+        assertEquals(10, code.length());
+        assertTrue(code.chars()
+                .allMatch(c -> ALPHABET.indexOf(c) >= 0));
+    }
+
+    @Test
+    void testGenerate_saltGivesAnotherDeterministicCode() {
+        HashStrategy strategy = new HashStrategy(10, new Sha256HashEngine());
+
+        String first = strategy.generate(URL);
+        String salted = strategy.generate(URL, "1");
+
+        assertNotEquals(first, salted);
+        assertEquals(salted, strategy.generate(URL, "1"));
+        assertNotEquals(salted, strategy.generate(URL, "2"));
+    }
+
+    @Test
+    void testGenerate_longCodesUseBothHalvesOfTheHash() {
+        HashStrategy strategy = new HashStrategy(HashStrategy.MAX_LENGTH, new Murmur3HashEngine());
+
+        String code = strategy.generate(URL);
+
+        assertEquals(HashStrategy.MAX_LENGTH, code.length());
+        assertTrue(code.startsWith(new HashStrategy(10, new Murmur3HashEngine()).generate(URL)));
+    }
+
+    @Test
+    void testConstructor_rejectsLengthBeyondHash() {
+        Murmur3HashEngine engine = new Murmur3HashEngine();
+        assertThrows(UrlShorteningException.class, () -> new HashStrategy(HashStrategy.MAX_LENGTH + 1, engine));
+        assertThrows(UrlShorteningException.class, () -> new HashStrategy(0, engine));
+    }
+}
@@ -0,0 +1,80 @@
+package com.immortals.miniurl.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.immortals.miniurl.constants.UrlConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeStrategyTest {
+
+    private static final long NOW = EPOCH + 1_000_000L;
+
+    @Test
+    void testNextId_packsTimestampWorkerAndSequence() {
+        SnowflakeStrategy strategy = new SnowflakeStrategy(() -> 3, () -> NOW);
+
+        long first = strategy.nextId();
+        long second = strategy.nextId();
+
+        assertEquals(1_000_000L, first >>> (MACHINE_ID_BITS + SEQUENCE_BITS));
+        assertEquals(3L, (first >>> SEQUENCE_BITS) & ((1L << MACHINE_ID_BITS) - 1));
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void testNextId_clockMovingBackwardsKeepsIdsIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeStrategy strategy = new SnowflakeStrategy(() -> 1, clock::get);
+
+        long before = strategy.nextId();
+        clock.set(NOW - 5_000L);
+        long after = strategy.nextId();
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void testNextId_exhaustedSequenceBorrowsTheNextMillisecond() {
+        SnowflakeStrategy strategy = new SnowflakeStrategy(() -> 1, () -> NOW);
+
+        long last = 0L;
+        for (int i = 0; i <= 1 << SEQUENCE_BITS; i++) {
+            last = strategy.nextId();
+        }
+
+        assertEquals(1_000_001L, last >>> (MACHINE_ID_BITS + SEQUENCE_BITS));
+        assertEquals(0L, last & ((1L << SEQUENCE_BITS) - 1));
+    }
+
+    @Test
+    void testNextId_invalidWorkerIdIsRejected() {
+        SnowflakeStrategy strategy = new SnowflakeStrategy(() -> 1 << MACHINE_ID_BITS, () -> NOW);
+
+        assertThrows(IllegalStateException.class, strategy::nextId);
+    }
+
+    @Test
+    void testNextId_concurrentCallersGetDistinctIds() throws InterruptedException {
+        SnowflakeStrategy strategy = new SnowflakeStrategy(() -> 1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(strategy.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(80_000, ids.size());
+    }
+}
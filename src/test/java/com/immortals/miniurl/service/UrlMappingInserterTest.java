@@ -0,0 +1,115 @@
+package com.immortals.miniurl.service;
+
+import com.immortals.miniurl.config.id.CollisionRetryProperties;
+import com.immortals.miniurl.model.domain.UrlMapping;
+import com.immortals.miniurl.model.enums.UrlStrategyType;
+import com.immortals.miniurl.repository.UrlMappingRepository;
+import com.immortals.miniurl.service.exception.UrlShorteningException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UrlMappingInserterTest {
+
+    @Mock
+    private UrlMappingRepository urlMappingRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UrlMappingInserter inserter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        CollisionRetryProperties properties = new CollisionRetryProperties();
+        properties.setMaxAttempts(3);
+        inserter = new UrlMappingInserter(urlMappingRepository, properties, meterRegistry);
+    }
+
+    @Test
+    void testInsert_collisionIsRetriedWithNewCode() {
+        UrlMapping mapping = mapping("taken01", 1L);
+        when(urlMappingRepository.saveAndFlush(mapping))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(urlMappingRepository.findByShortUrl("taken01")).thenReturn(Optional.of(mapping("taken01", 2L)));
+
+        UrlMappingInserter.Outcome outcome = inserter.insert(mapping, UrlStrategyType.RANDOM, attempt -> "fresh0" + attempt);
+
+        assertTrue(outcome.created());
+        assertEquals("fresh01", outcome.mapping()
+                .getShortUrl());
+        assertEquals(1.0, meterRegistry.get("url.create.retries")
+                .tag("strategy", "RANDOM")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void testInsert_sameLinkIsReturnedAsExisting() {
+        UrlMapping mapping = mapping("abc1234", 1L);
+        UrlMapping existing = mapping("abc1234", 1L);
+        when(urlMappingRepository.saveAndFlush(mapping)).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(urlMappingRepository.findByShortUrl("abc1234")).thenReturn(Optional.of(existing));
+
+        UrlMappingInserter.Outcome outcome = inserter.insert(mapping, UrlStrategyType.HASH, attempt -> "other");
+
+        assertFalse(outcome.created());
+        assertSame(existing, outcome.mapping());
+        verify(urlMappingRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void testInsert_givesUpAfterMaxAttempts() {
+        UrlMapping mapping = mapping("taken01", 1L);
+        when(urlMappingRepository.saveAndFlush(mapping)).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(urlMappingRepository.findByShortUrl(any())).thenReturn(Optional.of(mapping("taken01", 2L)));
+
+        assertThrows(UrlShorteningException.class, () -> inserter.insert(mapping, UrlStrategyType.RANDOM, attempt -> "taken0" + attempt));
+
+        verify(urlMappingRepository, times(3)).saveAndFlush(mapping);
+        assertEquals(1.0, meterRegistry.get("url.create.retries.exhausted")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void testInsert_customAliasIsNotRetried() {
+        UrlMapping mapping = mapping("my-alias", 1L);
+        when(urlMappingRepository.saveAndFlush(mapping)).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(urlMappingRepository.findByShortUrl("my-alias")).thenReturn(Optional.of(mapping("my-alias", 2L)));
+
+        assertThrows(UrlShorteningException.class, () -> inserter.insert(mapping, UrlStrategyType.CUSTOM_ALIAS, attempt -> "other"));
+
+        verify(urlMappingRepository, times(1)).saveAndFlush(mapping);
+    }
+
+    @Test
+    void testInsert_otherViolationIsRethrown() {
+        UrlMapping mapping = mapping("abc1234", 1L);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not null");
+        when(urlMappingRepository.saveAndFlush(mapping)).thenThrow(violation);
+        when(urlMappingRepository.findByShortUrl("abc1234")).thenReturn(Optional.empty());
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> inserter.insert(mapping, UrlStrategyType.RANDOM, attempt -> "other")));
+    }
+
+    private static UrlMapping mapping(String shortUrl, Long userId) {
+        return UrlMapping.builder()
+                .shortUrl(shortUrl)
+                .originalUrl("https://example.com")
+                .userId(userId)
+                .isActive(Boolean.TRUE)
+                .build();
+    }
+}
@@ -1,19 +1,36 @@
 package com.immortals.miniurl.service;
 
+import com.immortals.miniurl.config.id.BatchShortenProperties;
+import com.immortals.miniurl.config.id.UrlDedupeProperties;
 import com.immortals.miniurl.factory.UrlShorteningStrategy;
 import com.immortals.miniurl.factory.UrlShorteningStrategyFactory;
 import com.immortals.miniurl.model.domain.UrlMapping;
+import com.immortals.miniurl.model.dto.BatchShortenItemDto;
+import com.immortals.miniurl.model.dto.BatchShortenRequestDto;
+import com.immortals.miniurl.model.dto.BatchShortenResponseDto;
 import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.model.dto.MiniUrlRequestDto;
+import com.immortals.miniurl.model.dto.MiniUrlResponseDto;
+import com.immortals.miniurl.model.enums.BatchItemStatus;
+import com.immortals.miniurl.model.enums.RedirectType;
+import com.immortals.miniurl.model.enums.UrlStrategyType;
 import com.immortals.miniurl.model.security.CurrentUserProvider;
+import com.immortals.miniurl.model.security.User;
 import com.immortals.miniurl.repository.UrlMappingRepository;
 import com.immortals.miniurl.service.cache.CacheService;
-import com.immortals.miniurl.utils.JsonUtils;
+import com.immortals.miniurl.service.click.ClickCountService;
+import com.immortals.miniurl.service.hotkey.HotKeyDetector;
+import com.immortals.miniurl.service.membership.ShortUrlMembershipService;
+import com.immortals.miniurl.utils.UrlUtil;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -24,7 +41,14 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
+import static com.immortals.miniurl.utils.UrlUtil.cacheKey;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,11 +64,33 @@ class UrlShortenerServiceImplTest {
     private CurrentUserProvider currentUserProvider;
 
     @Mock
-    private CacheService<String, String> cacheService;
+    private CacheService<String, CachedUrlDataDto> cacheService;
 
     @Mock
     private UrlShorteningStrategy mockStrategy;
 
+    @Mock
+    private ShortUrlMembershipService shortUrlMembershipService;
+
+    @Mock
+    private ClickCountService clickCountService;
+
+    @Mock
+    private HotKeyDetector hotKeyDetector;
+
+    @Mock
+    private UrlMappingInserter urlMappingInserter;
+
+    @Spy
+    private UrlDedupeProperties urlDedupeProperties = new UrlDedupeProperties();
+
+    @Spy
+    private BatchShortenProperties batchShortenProperties = new BatchShortenProperties();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory()
+            .getValidator();
+
     @InjectMocks
     private UrlShortenerServiceImpl urlShortenerService;
 
@@ -53,6 +99,7 @@ class UrlShortenerServiceImplTest {
         MockitoAnnotations.openMocks(this);
         ReflectionTestUtils.setField(urlShortenerService, "address", "localhost");
         ReflectionTestUtils.setField(urlShortenerService, "port", 8080L);
+        when(shortUrlMembershipService.mightExist(anyString())).thenReturn(true);
     }
 
     @BeforeEach
@@ -66,25 +113,26 @@ class UrlShortenerServiceImplTest {
 
     @Test
     void testGetLongUrl_fromCache() {
-        String shortUrl = "localhost:8080/abc123";
+        String shortUrl = "abc123";
         String originalUrl = "https://example.com";
 
         CachedUrlDataDto dto = new CachedUrlDataDto(originalUrl, Instant.now()
                 .plusSeconds(3600));
-        when(cacheService.get(shortUrl)).thenReturn(JsonUtils.toJson(dto));
+        when(cacheService.get(cacheKey(shortUrl))).thenReturn(dto);
 
         String result = urlShortenerService.getLongUrl(shortUrl);
 
         assertEquals(originalUrl, result);
-        verify(cacheService).get(shortUrl);
+        verify(cacheService).get(cacheKey(shortUrl));
+        verify(clickCountService).recordClick(shortUrl);
     }
 
     @Test
     void testGetLongUrl_fallbackToDB() {
-        String shortUrl = "localhost:8080/abc123";
+        String shortUrl = "abc123";
         String originalUrl = "https://example.com";
 
-        when(cacheService.get(shortUrl)).thenReturn(null);
+        when(cacheService.get(cacheKey(shortUrl))).thenReturn(null);
         when(urlMappingRepository.findByShortUrlAndIsActiveTrue(shortUrl))
                 .thenReturn(Optional.of(UrlMapping.builder()
                         .originalUrl(originalUrl)
@@ -92,6 +140,130 @@ class UrlShortenerServiceImplTest {
 
         String result = urlShortenerService.getLongUrl(shortUrl);
         assertEquals(originalUrl, result);
+        verify(clickCountService).recordClick(shortUrl);
+    }
+
+    @Test
+    void testResolve_fallbackToDBCarriesRedirectType() {
+        String shortUrl = "abc123";
+        when(cacheService.get(cacheKey(shortUrl))).thenReturn(null);
+        when(urlMappingRepository.findByShortUrlAndIsActiveTrue(shortUrl))
+                .thenReturn(Optional.of(UrlMapping.builder()
+                        .originalUrl("https://example.com")
+                        .redirectType(RedirectType.PERMANENT)
+                        .build()));
+
+        CachedUrlDataDto result = urlShortenerService.resolve(shortUrl);
+
+        assertEquals("https://example.com", result.getOriginalUrl());
+        assertEquals(RedirectType.PERMANENT, result.getRedirectType());
+    }
+
+    @Test
+    void testGetLongUrl_rejectedByMembershipFilter() {
+        String shortUrl = "unknown1";
+        when(shortUrlMembershipService.mightExist(shortUrl)).thenReturn(false);
+        when(cacheService.get(cacheKey(shortUrl))).thenReturn(null);
+
+        assertNull(urlShortenerService.getLongUrl(shortUrl));
+        verify(cacheService).get(cacheKey(shortUrl));
+        verify(urlMappingRepository, never()).findByShortUrlAndIsActiveTrue(shortUrl);
     }
 
+    @Test
+    void testGetLongUrl_cachedLinkMissingFromMembershipFilter() {
+        String shortUrl = "fresh01";
+        String originalUrl = "https://example.com";
+        when(shortUrlMembershipService.mightExist(shortUrl)).thenReturn(false);
+        when(cacheService.get(cacheKey(shortUrl))).thenReturn(new CachedUrlDataDto(originalUrl, Instant.now()
+                .plusSeconds(3600)));
+
+        assertEquals(originalUrl, urlShortenerService.getLongUrl(shortUrl));
+        verify(urlMappingRepository, never()).findByShortUrlAndIsActiveTrue(shortUrl);
+    }
+
+    @Test
+    void testGetLongUrl_databaseMissIsRecorded() {
+        String shortUrl = "unknown2";
+        when(cacheService.get(cacheKey(shortUrl))).thenReturn(null);
+        when(urlMappingRepository.findByShortUrlAndIsActiveTrue(shortUrl)).thenReturn(Optional.empty());
+
+        assertNull(urlShortenerService.getLongUrl(shortUrl));
+        verify(shortUrlMembershipService).recordMiss(shortUrl);
+        verify(clickCountService, never()).recordClick(shortUrl);
+    }
+
+    @Test
+    void testCreateShortUrl_returnsUsersExistingLinkForSameUrl() {
+        String originalUrl = "https://Example.com:443/page";
+        when(currentUserProvider.getCurrentUser()).thenReturn(new User(7L, "testUser", List.of()));
+        when(urlMappingRepository.findByUserIdAndUrlHashAndIsActiveTrue(7L, UrlUtil.urlHash(originalUrl)))
+                .thenReturn(List.of(UrlMapping.builder()
+                        .originalUrl("https://example.com/page")
+                        .shortUrl("abc1234")
+                        .expiresAt(Instant.now()
+                                .plusSeconds(3600))
+                        .build()));
+
+        MiniUrlResponseDto response = urlShortenerService.createShortUrl(request(originalUrl));
+
+        assertEquals("Short URL already exists: http://localhost:8080/abc1234", response.getShortUrl());
+        verify(strategyFactory, never()).getStrategy(any());
+        verify(urlMappingInserter, never()).insert(any(), any(), any());
+    }
+
+    @Test
+    void testShortenBatch_reportsEachItemAndWritesCacheOnce() {
+        when(currentUserProvider.getCurrentUser()).thenReturn(new User(7L, "testUser", List.of()));
+        when(urlMappingRepository.findByUserIdAndUrlHashInAndIsActiveTrue(eq(7L), any()))
+                .thenReturn(List.of(UrlMapping.builder()
+                        .originalUrl("https://example.com/a")
+                        .shortUrl("exist01")
+                        .expiresAt(Instant.now()
+                                .plusSeconds(3600))
+                        .build()));
+        when(strategyFactory.getStrategy(UrlStrategyType.RANDOM)).thenReturn(mockStrategy);
+        when(mockStrategy.generate("https://example.com/b")).thenReturn("new0001");
+        when(urlMappingInserter.insertAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchShortenResponseDto response = urlShortenerService.shortenBatch(BatchShortenRequestDto.builder()
+                .items(List.of(batchItem("ftp://example.com/x"), batchItem("https://example.com/a"),
+                        batchItem("https://example.com/b"), batchItem("https://EXAMPLE.com/b")))
+                .build());
+
+        assertEquals(List.of(BatchItemStatus.FAILED, BatchItemStatus.EXISTING, BatchItemStatus.CREATED, BatchItemStatus.EXISTING),
+                response.getItems()
+                        .stream()
+                        .map(BatchShortenItemDto::getStatus)
+                        .toList());
+        assertEquals("http://localhost:8080/exist01", response.getItems()
+                .get(1)
+                .getShortUrl());
+        assertEquals("http://localhost:8080/new0001", response.getItems()
+                .get(3)
+                .getShortUrl());
+        assertEquals(1, response.getCreated());
+        verify(shortUrlMembershipService).registerAll(List.of("new0001"));
+        verify(cacheService).putAll(argThat(entries -> entries.size() == 1 && entries.containsKey(cacheKey("new0001"))), any());
+    }
+
+    private static MiniUrlRequestDto batchItem(String originalUrl) {
+        return MiniUrlRequestDto.builder()
+                .originalUrl(originalUrl)
+                .amountOfTime(1L)
+                .unitTime("hours")
+                .build();
+    }
+
+    private static MiniUrlRequestDto request(String originalUrl) {
+        return MiniUrlRequestDto.builder()
+                .originalUrl(originalUrl)
+                .customAlias(false)
+                .premiumUser(false)
+                .highThroughput(false)
+                .needsDeterminism(true)
+                .internalTool(false)
+                .useTimestamp(false)
+                .build();
+    }
 }
@@ -0,0 +1,118 @@
+package com.immortals.miniurl.service.cache;
+
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BucketedUrlCacheServiceTest {
+
+    @Mock
+    private RedisTemplate<String, CachedUrlDataDto> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private RedisCacheOperations<String, Object> lockService;
+
+    private BucketedUrlCacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(lockService.putIfAbsent(eq(BucketedUrlCacheService.SWEEP_LOCK_KEY), any(), any(Duration.class))).thenReturn(true);
+        cacheService = new BucketedUrlCacheService(redisTemplate, 16, lockService, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void testPut_storesEntryAsFieldOfBucket() {
+        CachedUrlDataDto value = new CachedUrlDataDto("https://example.com", Instant.now()
+                .plusSeconds(3600));
+
+        cacheService.put("u:abc123", value, Duration.ofHours(1));
+
+        verify(hashOperations).put(cacheService.bucketOf("u:abc123"), "u:abc123", value);
+    }
+
+    @Test
+    void testBucketOf_isStableAndBounded() {
+        String bucket = cacheService.bucketOf("u:abc123");
+
+        assertEquals(bucket, cacheService.bucketOf("u:abc123"));
+        assertTrue(bucket.startsWith("u:b:"));
+        int index = Integer.parseInt(bucket.substring("u:b:".length()));
+        assertTrue(index >= 0 && index < 16);
+    }
+
+    @Test
+    void testGet_liveEntry() {
+        CachedUrlDataDto value = new CachedUrlDataDto("https://example.com", Instant.now()
+                .plusSeconds(3600));
+        when(hashOperations.get(cacheService.bucketOf("u:abc123"), "u:abc123")).thenReturn(value);
+
+        assertSame(value, cacheService.get("u:abc123"));
+        assertEquals(1L, cacheService.getHitCount());
+    }
+
+    @Test
+    void testGet_expiredEntryIsDeletedAndMissed() {
+        CachedUrlDataDto value = new CachedUrlDataDto("https://example.com", Instant.now()
+                .minusSeconds(5));
+        when(hashOperations.get(cacheService.bucketOf("u:abc123"), "u:abc123")).thenReturn(value);
+
+        assertNull(cacheService.get("u:abc123"));
+        verify(hashOperations).delete(cacheService.bucketOf("u:abc123"), "u:abc123");
+        assertEquals(1L, cacheService.getMissCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSweepExpired_deletesOnlyExpiredEntries() {
+        cacheService = new BucketedUrlCacheService(redisTemplate, 2, lockService, Duration.ofMinutes(30));
+        CachedUrlDataDto expired = new CachedUrlDataDto("https://example.com/old", Instant.now()
+                .minusSeconds(5));
+        CachedUrlDataDto live = new CachedUrlDataDto("https://example.com/new", Instant.now()
+                .plusSeconds(3600));
+        Cursor<Map.Entry<Object, Object>> firstBucket = mock(Cursor.class);
+        when(firstBucket.hasNext()).thenReturn(true, true, false);
+        when(firstBucket.next()).thenReturn(Map.entry("u:old", expired), Map.entry("u:new", live));
+        Cursor<Map.Entry<Object, Object>> secondBucket = mock(Cursor.class);
+        when(hashOperations.scan(eq("u:b:0"), any(ScanOptions.class))).thenReturn(firstBucket);
+        when(hashOperations.scan(eq("u:b:1"), any(ScanOptions.class))).thenReturn(secondBucket);
+
+        cacheService.sweepExpired();
+
+        verify(hashOperations).delete("u:b:0", "u:old");
+        verify(hashOperations, never()).delete(eq("u:b:1"), any(Object[].class));
+        verify(firstBucket).close();
+        ArgumentCaptor<Object> lockOwner = ArgumentCaptor.forClass(Object.class);
+        verify(lockService).putIfAbsent(eq(BucketedUrlCacheService.SWEEP_LOCK_KEY), lockOwner.capture(), eq(Duration.ofMinutes(30)));
+        verify(lockService).removeIfValueEquals(BucketedUrlCacheService.SWEEP_LOCK_KEY, lockOwner.getValue());
+    }
+
+    @Test
+    void testSweepExpired_skippedWhileAnotherNodeHoldsTheLease() {
+        when(lockService.putIfAbsent(eq(BucketedUrlCacheService.SWEEP_LOCK_KEY), any(), any(Duration.class))).thenReturn(false);
+
+        cacheService.sweepExpired();
+
+        verify(hashOperations, never()).scan(anyString(), any(ScanOptions.class));
+        verify(lockService, never()).removeIfValueEquals(anyString(), any());
+    }
+}
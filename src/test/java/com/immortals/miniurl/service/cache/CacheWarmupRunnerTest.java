@@ -0,0 +1,128 @@
+package com.immortals.miniurl.service.cache;
+
+import com.immortals.miniurl.config.cache.CacheWarmupProperties;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.model.projection.HotLinkProjection;
+import com.immortals.miniurl.repository.UrlMappingRepository;
+import com.immortals.miniurl.service.exception.CacheException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CacheWarmupRunnerTest {
+
+    @Mock
+    private UrlMappingRepository urlMappingRepository;
+
+    @Mock
+    private CacheService<String, CachedUrlDataDto> cacheService;
+
+    private CacheWarmupProperties properties;
+    private CacheWarmupRunner cacheWarmupRunner;
+    private CacheWarmupHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new CacheWarmupProperties();
+        properties.setTopN(3);
+        properties.setBatchSize(2);
+        cacheWarmupRunner = new CacheWarmupRunner(urlMappingRepository, cacheService, properties, new SimpleMeterRegistry());
+        healthIndicator = new CacheWarmupHealthIndicator(cacheWarmupRunner);
+    }
+
+    @Test
+    void testRun_loadsTopNInKeysetPages() {
+        HotLinkProjection first = hotLink(10L, "aaa111", 50L);
+        HotLinkProjection second = hotLink(7L, "bbb222", 40L);
+        HotLinkProjection third = hotLink(3L, "ccc333", 40L);
+        when(urlMappingRepository.findHottest(any(Instant.class), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(urlMappingRepository.findHottestAfter(any(Instant.class), eq(40L), eq(7L), any(Pageable.class))).thenReturn(List.of(third));
+
+        assertEquals(Status.OUT_OF_SERVICE, healthIndicator.health()
+                .getStatus());
+
+        cacheWarmupRunner.run(null);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(urlMappingRepository).findHottestAfter(any(Instant.class), eq(40L), eq(7L), pageable.capture());
+        assertEquals(1, pageable.getValue()
+                .getPageSize());
+        verify(cacheService, times(2)).putAll(anyMap(), any());
+        assertEquals(3L, cacheWarmupRunner.getLoaded());
+        assertEquals(Status.UP, healthIndicator.health()
+                .getStatus());
+    }
+
+    @Test
+    void testRun_cacheFailureEndsWarmupWithoutFailingStartup() {
+        when(urlMappingRepository.findHottest(any(Instant.class), any(Pageable.class))).thenReturn(List.of(hotLink(1L, "aaa111", 5L)));
+        doThrow(new CacheException("down")).when(cacheService)
+                .putAll(anyMap(), any());
+
+        cacheWarmupRunner.run(null);
+
+        assertEquals(CacheWarmupRunner.State.FAILED, cacheWarmupRunner.getState());
+        assertEquals(Status.UP, healthIndicator.health()
+                .getStatus());
+    }
+
+    @Test
+    void testRun_unreachableReplicaEndsWarmupWithoutFailingStartup() {
+        when(urlMappingRepository.findHottest(any(Instant.class), any(Pageable.class))).thenThrow(new CannotCreateTransactionException("replica down"));
+
+        cacheWarmupRunner.run(null);
+
+        assertEquals(CacheWarmupRunner.State.FAILED, cacheWarmupRunner.getState());
+        verify(cacheService, never()).putAll(anyMap(), any());
+    }
+
+    @Test
+    void testRun_disabled() {
+        properties.setEnabled(false);
+
+        cacheWarmupRunner.run(null);
+
+        verifyNoInteractions(urlMappingRepository, cacheService);
+        assertEquals(CacheWarmupRunner.State.DISABLED, cacheWarmupRunner.getState());
+    }
+
+    @Test
+    void testRun_writesEntriesUnderCacheKeys() {
+        when(urlMappingRepository.findHottest(any(Instant.class), any(Pageable.class))).thenReturn(List.of(hotLink(1L, "aaa111", 5L)));
+
+        cacheWarmupRunner.run(null);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, CachedUrlDataDto>> entries = ArgumentCaptor.forClass(Map.class);
+        verify(cacheService).putAll(entries.capture(), any());
+        assertEquals("https://example.com/aaa111", entries.getValue()
+                .get("u:aaa111")
+                .getOriginalUrl());
+    }
+
+    private static HotLinkProjection hotLink(Long id, String code, Long clicks) {
+        HotLinkProjection row = mock(HotLinkProjection.class);
+        when(row.getUrlMappingId()).thenReturn(id);
+        when(row.getShortUrl()).thenReturn(code);
+        when(row.getOriginalUrl()).thenReturn("https://example.com/" + code);
+        when(row.getExpiresAt()).thenReturn(Instant.now()
+                .plusSeconds(3600));
+        when(row.getNumberOfClicks()).thenReturn(clicks);
+        return row;
+    }
+}
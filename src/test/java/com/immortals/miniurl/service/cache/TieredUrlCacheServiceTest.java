@@ -0,0 +1,148 @@
+package com.immortals.miniurl.service.cache;
+
+import com.immortals.miniurl.config.cache.NearCacheProperties;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TieredUrlCacheServiceTest {
+
+    @Mock
+    private CacheService<String, CachedUrlDataDto> remoteCache;
+
+    private NearCacheProperties nearCacheProperties;
+
+    private TieredUrlCacheService tieredUrlCacheService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(remoteCache.getHitCount()).thenReturn(0L);
+        when(remoteCache.getMissCount()).thenReturn(0L);
+        nearCacheProperties = new NearCacheProperties();
+        tieredUrlCacheService = new TieredUrlCacheService(remoteCache, nearCacheProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testGet_remoteHitIsServedLocallyAfterwards() {
+        CachedUrlDataDto value = cachedValue(Instant.now()
+                .plusSeconds(3600));
+        when(remoteCache.get("abc123")).thenReturn(value);
+
+        assertEquals(value, tieredUrlCacheService.get("abc123"));
+        assertEquals(value, tieredUrlCacheService.get("abc123"));
+
+        verify(remoteCache, times(1)).get("abc123");
+        assertEquals(1, tieredUrlCacheService.getNearCacheStats()
+                .hitCount());
+    }
+
+    @Test
+    void testGet_expiredLinkIsNotAdmittedLocally() {
+        CachedUrlDataDto value = cachedValue(Instant.now()
+                .minusSeconds(5));
+        when(remoteCache.get("abc123")).thenReturn(value);
+
+        tieredUrlCacheService.get("abc123");
+        tieredUrlCacheService.get("abc123");
+
+        verify(remoteCache, times(2)).get("abc123");
+    }
+
+    @Test
+    void testGet_remoteMiss() {
+        when(remoteCache.get("missing")).thenReturn(null);
+        assertNull(tieredUrlCacheService.get("missing"));
+    }
+
+    @Test
+    void testPut_writesRemoteAndLocal() {
+        CachedUrlDataDto value = cachedValue(Instant.now()
+                .plusSeconds(3600));
+        tieredUrlCacheService.put("abc123", value, Duration.ofHours(1));
+
+        assertEquals(value, tieredUrlCacheService.get("abc123"));
+        verify(remoteCache).put("abc123", value, Duration.ofHours(1));
+        verify(remoteCache, never()).get(anyString());
+    }
+
+    @Test
+    void testPut_oversizedEntryStaysRemoteOnly() {
+        nearCacheProperties.setMaximumEntryWeight(10);
+        CachedUrlDataDto value = cachedValue(Instant.now()
+                .plusSeconds(3600));
+        when(remoteCache.get("abc123")).thenReturn(value);
+
+        tieredUrlCacheService.put("abc123", value, Duration.ofHours(1));
+        tieredUrlCacheService.get("abc123");
+
+        verify(remoteCache, times(1)).get("abc123");
+    }
+
+    @Test
+    void testRemove_invalidatesBothTiers() {
+        CachedUrlDataDto value = cachedValue(Instant.now()
+                .plusSeconds(3600));
+        tieredUrlCacheService.put("abc123", value, Duration.ofHours(1));
+
+        tieredUrlCacheService.remove("abc123");
+
+        verify(remoteCache).remove("abc123");
+        assertNull(tieredUrlCacheService.get("abc123"));
+    }
+
+    @Test
+    void testGet_nearCacheDisabledAlwaysHitsRemote() {
+        nearCacheProperties.setEnabled(Boolean.FALSE);
+        CachedUrlDataDto value = cachedValue(Instant.now()
+                .plusSeconds(3600));
+        when(remoteCache.get("abc123")).thenReturn(value);
+
+        tieredUrlCacheService.get("abc123");
+        tieredUrlCacheService.get("abc123");
+
+        verify(remoteCache, times(2)).get("abc123");
+    }
+
+    @Test
+    void testPin_servesPinnedEntryWithoutRemote() {
+        nearCacheProperties.setEnabled(Boolean.FALSE);
+        CachedUrlDataDto value = cachedValue(Instant.now()
+                .plusSeconds(3600));
+        when(remoteCache.get("abc123")).thenReturn(value);
+
+        tieredUrlCacheService.pin("abc123");
+        tieredUrlCacheService.get("abc123");
+        tieredUrlCacheService.get("abc123");
+
+        verify(remoteCache, times(1)).get("abc123");
+        assertTrue(tieredUrlCacheService.pinnedKeys()
+                .contains("abc123"));
+    }
+
+    @Test
+    void testPin_unpinsWhenRemoteEntryIsGone() {
+        when(remoteCache.get("abc123")).thenReturn(cachedValue(Instant.now()
+                .plusSeconds(3600)))
+                .thenReturn(null);
+
+        tieredUrlCacheService.pin("abc123");
+        tieredUrlCacheService.pin("abc123");
+
+        assertTrue(tieredUrlCacheService.pinnedKeys()
+                .isEmpty());
+    }
+
+    private static CachedUrlDataDto cachedValue(Instant expiresAt) {
+        return new CachedUrlDataDto("https://example.com", expiresAt);
+    }
+}
@@ -0,0 +1,98 @@
+package com.immortals.miniurl.service.click;
+
+import com.immortals.miniurl.config.click.ClickCounterProperties;
+import com.immortals.miniurl.repository.UrlMappingJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class AggregatingClickCountServiceTest {
+
+    @Mock
+    private UrlMappingJdbcRepository urlMappingJdbcRepository;
+
+    private AggregatingClickCountService clickCountService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        clickCountService = new AggregatingClickCountService(urlMappingJdbcRepository, new ClickCounterProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testFlush_aggregatesClicksPerShortUrl() {
+        clickCountService.recordClick("abc123");
+        clickCountService.recordClick("abc123");
+        clickCountService.recordClick("abc123");
+        clickCountService.recordClick("xyz789");
+
+        clickCountService.flush();
+
+        verify(urlMappingJdbcRepository).incrementClicks(Map.of("abc123", 3L, "xyz789", 1L), 500);
+    }
+
+    @Test
+    void testFlush_onlyWritesNewDeltas() {
+        clickCountService.recordClick("abc123");
+        clickCountService.flush();
+        clickCountService.recordClick("abc123");
+        clickCountService.flush();
+
+        verify(urlMappingJdbcRepository, times(2)).incrementClicks(Map.of("abc123", 1L), 500);
+    }
+
+    @Test
+    void testFlush_nothingRecordedSkipsDatabase() {
+        clickCountService.flush();
+
+        verify(urlMappingJdbcRepository, never()).incrementClicks(anyMap(), anyInt());
+    }
+
+    @Test
+    void testFlush_failedWriteIsRetried() {
+        clickCountService.recordClick("abc123");
+        doThrow(new QueryTimeoutException("timeout")).doNothing()
+                .when(urlMappingJdbcRepository)
+                .incrementClicks(anyMap(), anyInt());
+
+        clickCountService.flush();
+        clickCountService.recordClick("abc123");
+        clickCountService.flush();
+
+        verify(urlMappingJdbcRepository).incrementClicks(Map.of("abc123", 2L), 500);
+    }
+
+    @Test
+    void testFlush_transactionFailureIsRetried() {
+        clickCountService.recordClick("abc123");
+        doThrow(new CannotCreateTransactionException("primary down")).doNothing()
+                .when(urlMappingJdbcRepository)
+                .incrementClicks(anyMap(), anyInt());
+
+        clickCountService.flush();
+        clickCountService.flush();
+
+        verify(urlMappingJdbcRepository, times(2)).incrementClicks(Map.of("abc123", 1L), 500);
+    }
+
+    @Test
+    void testFlush_idleCounterStillCountsLateClicks() {
+        clickCountService.recordClick("abc123");
+        clickCountService.flush();
+        clickCountService.flush();
+        clickCountService.recordClick("abc123");
+        clickCountService.flush();
+
+        verify(urlMappingJdbcRepository, times(2)).incrementClicks(Map.of("abc123", 1L), 500);
+    }
+}
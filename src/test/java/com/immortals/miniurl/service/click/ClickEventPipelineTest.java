@@ -0,0 +1,158 @@
+package com.immortals.miniurl.service.click;
+
+import com.immortals.miniurl.config.click.ClickEventProperties;
+import com.immortals.miniurl.model.dto.ClickEventDto;
+import com.immortals.miniurl.repository.ClickEventJdbcRepository;
+import com.immortals.miniurl.service.stats.ClickRollupService;
+import com.immortals.miniurl.service.stats.UniqueVisitorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ClickEventPipelineTest {
+
+    @Mock
+    private ClickEventJdbcRepository clickEventJdbcRepository;
+
+    @Mock
+    private ClickRollupService clickRollupService;
+
+    @Mock
+    private UniqueVisitorService uniqueVisitorService;
+
+    private ClickEventProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new ClickEventProperties();
+        properties.setCapacity(2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testPublish_capturesRequestDetails() {
+        ClickEventPipeline pipeline = new ClickEventPipeline(clickEventJdbcRepository, properties, clickRollupService, uniqueVisitorService, meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/abc123");
+        request.addHeader("User-Agent", "curl/8.0");
+        request.addHeader("Referer", "https://news.example.com");
+        request.setRemoteAddr("10.0.0.7");
+
+        pipeline.publish("abc123", request);
+        pipeline.writePending();
+
+        ClickEventDto event = writtenEvents().get(0);
+        assertEquals("abc123", event.getShortUrl());
+        assertEquals("curl/8.0", event.getUserAgent());
+        assertEquals("https://news.example.com", event.getReferrer());
+        assertEquals("10.0.0.7", event.getClientIp());
+    }
+
+    @Test
+    void testPublish_dropNewestKeepsQueuedEvents() {
+        ClickEventPipeline pipeline = new ClickEventPipeline(clickEventJdbcRepository, properties, clickRollupService, uniqueVisitorService, meterRegistry);
+
+        pipeline.publish(event("first1"));
+        pipeline.publish(event("second"));
+        pipeline.publish(event("third3"));
+        pipeline.writePending();
+
+        assertEquals(List.of("first1", "second"), writtenEvents().stream()
+                .map(ClickEventDto::getShortUrl)
+                .toList());
+        assertEquals(1.0, droppedCount("queue-full"));
+        verify(clickRollupService, times(3)).record(anyString(), any(Instant.class));
+    }
+
+    @Test
+    void testPublish_disabledPipelineStillFeedsRollups() {
+        properties.setEnabled(false);
+        ClickEventPipeline pipeline = new ClickEventPipeline(clickEventJdbcRepository, properties, clickRollupService, uniqueVisitorService, meterRegistry);
+
+        pipeline.publish("abc123", new MockHttpServletRequest("GET", "/abc123"));
+        pipeline.writePending();
+
+        verify(clickRollupService).record(eq("abc123"), any(Instant.class));
+        verify(uniqueVisitorService).record("abc123", "127.0.0.1", null);
+        verifyNoInteractions(clickEventJdbcRepository);
+    }
+
+    @Test
+    void testPublish_dropOldestKeepsNewestEvents() {
+        properties.setDropPolicy(ClickEventProperties.DropPolicy.DROP_OLDEST);
+        ClickEventPipeline pipeline = new ClickEventPipeline(clickEventJdbcRepository, properties, clickRollupService, uniqueVisitorService, meterRegistry);
+
+        pipeline.publish(event("first1"));
+        pipeline.publish(event("second"));
+        pipeline.publish(event("third3"));
+        pipeline.writePending();
+
+        assertEquals(List.of("second", "third3"), writtenEvents().stream()
+                .map(ClickEventDto::getShortUrl)
+                .toList());
+    }
+
+    @Test
+    void testWrite_failedBatchIsCountedAsDropped() {
+        ClickEventPipeline pipeline = new ClickEventPipeline(clickEventJdbcRepository, properties, clickRollupService, uniqueVisitorService, meterRegistry);
+        doThrow(new DataAccessResourceFailureException("down")).when(clickEventJdbcRepository)
+                .insertBatch(anyList());
+
+        pipeline.publish(event("abc123"));
+        pipeline.writePending();
+
+        assertEquals(1.0, droppedCount("write-failure"));
+    }
+
+    @Test
+    void testWrite_nonDataAccessFailureDoesNotStopLaterBatches() {
+        properties.setBatchSize(1);
+        ClickEventPipeline pipeline = new ClickEventPipeline(clickEventJdbcRepository, properties, clickRollupService, uniqueVisitorService, meterRegistry);
+        doThrow(new CannotCreateTransactionException("pool exhausted")).doNothing()
+                .when(clickEventJdbcRepository)
+                .insertBatch(anyList());
+
+        pipeline.publish(event("first1"));
+        pipeline.publish(event("second"));
+        pipeline.writePending();
+
+        verify(clickEventJdbcRepository, times(2)).insertBatch(anyList());
+        assertEquals(1.0, droppedCount("write-failure"));
+        assertEquals(1.0, meterRegistry.get("click.events.persisted")
+                .counter()
+                .count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ClickEventDto> writtenEvents() {
+        ArgumentCaptor<List<ClickEventDto>> batch = ArgumentCaptor.forClass(List.class);
+        verify(clickEventJdbcRepository).insertBatch(batch.capture());
+        return batch.getValue();
+    }
+
+    private double droppedCount(String reason) {
+        return meterRegistry.get("click.events.dropped")
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+
+    private static ClickEventDto event(String shortUrl) {
+        return new ClickEventDto(shortUrl, Instant.now(), null, null, "127.0.0.1");
+    }
+}
@@ -0,0 +1,110 @@
+package com.immortals.miniurl.service.click;
+
+import com.immortals.miniurl.config.click.ClickCounterProperties;
+import com.immortals.miniurl.repository.UrlMappingJdbcRepository;
+import com.immortals.miniurl.service.cache.RedisCacheOperations;
+import com.immortals.miniurl.service.exception.CacheException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RedisClickCountServiceTest {
+
+    @Mock
+    private RedisCacheOperations<String, Object> cacheService;
+
+    @Mock
+    private UrlMappingJdbcRepository urlMappingJdbcRepository;
+
+    private RedisClickCountService clickCountService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ClickCounterProperties properties = new ClickCounterProperties();
+        properties.setRedisBuckets(1);
+        clickCountService = new RedisClickCountService(cacheService, urlMappingJdbcRepository, properties, new SimpleMeterRegistry());
+        when(cacheService.putIfAbsent(eq(RedisClickCountService.DRAIN_LOCK_KEY), any(), any(Duration.class))).thenReturn(true);
+    }
+
+    @Test
+    void testRecordClick_incrementsBucketHash() {
+        clickCountService.recordClick("abc123");
+
+        verify(cacheService).incrementHashField("clicks:{0}:bucket", "abc123", 1L);
+    }
+
+    @Test
+    void testRecordClick_redisFailureDoesNotPropagate() {
+        when(cacheService.incrementHashField(anyString(), anyString(), anyLong())).thenThrow(new CacheException("down"));
+
+        assertDoesNotThrow(() -> clickCountService.recordClick("abc123"));
+    }
+
+    @Test
+    void testFlush_drainsRenamedBucket() {
+        when(cacheService.containsKey("clicks:{0}:draining")).thenReturn(false);
+        when(cacheService.renameIfAbsent("clicks:{0}:bucket", "clicks:{0}:draining")).thenReturn(true);
+        when(cacheService.getHashEntries("clicks:{0}:draining")).thenReturn(drainedHash("batch-1", "abc123", "3"));
+        when(urlMappingJdbcRepository.applyClickBatch(eq("batch-1"), anyMap(), anyInt())).thenReturn(true);
+
+        clickCountService.flush();
+
+        verify(urlMappingJdbcRepository).applyClickBatch("batch-1", Map.of("abc123", 3L), 500);
+        verify(cacheService).remove("clicks:{0}:draining");
+        ArgumentCaptor<Object> lockOwner = ArgumentCaptor.forClass(Object.class);
+        verify(cacheService).putIfAbsent(eq(RedisClickCountService.DRAIN_LOCK_KEY), lockOwner.capture(), any(Duration.class));
+        verify(cacheService).removeIfValueEquals(RedisClickCountService.DRAIN_LOCK_KEY, lockOwner.getValue());
+        verify(cacheService, never()).remove(RedisClickCountService.DRAIN_LOCK_KEY);
+    }
+
+    @Test
+    void testFlush_resumesLeftoverBatchWithoutRenaming() {
+        when(cacheService.containsKey("clicks:{0}:draining")).thenReturn(true);
+        when(cacheService.getHashEntries("clicks:{0}:draining")).thenReturn(drainedHash("batch-1", "abc123", "3"));
+        when(urlMappingJdbcRepository.applyClickBatch(eq("batch-1"), anyMap(), anyInt())).thenReturn(false);
+
+        clickCountService.flush();
+
+        verify(cacheService, never()).renameIfAbsent(anyString(), anyString());
+        verify(cacheService).remove("clicks:{0}:draining");
+    }
+
+    @Test
+    void testFlush_emptyBucketSkipsDatabase() {
+        when(cacheService.containsKey("clicks:{0}:draining")).thenReturn(false);
+        when(cacheService.renameIfAbsent("clicks:{0}:bucket", "clicks:{0}:draining")).thenReturn(false);
+
+        clickCountService.flush();
+
+        verify(urlMappingJdbcRepository, never()).applyClickBatch(anyString(), anyMap(), anyInt());
+    }
+
+    @Test
+    void testFlush_anotherNodeHoldsDrainLock() {
+        when(cacheService.putIfAbsent(eq(RedisClickCountService.DRAIN_LOCK_KEY), any(), any(Duration.class))).thenReturn(false);
+
+        clickCountService.flush();
+
+        verify(cacheService, never()).renameIfAbsent(anyString(), anyString());
+        verify(cacheService, never()).removeIfValueEquals(eq(RedisClickCountService.DRAIN_LOCK_KEY), any());
+    }
+
+    private static Map<String, String> drainedHash(String batchId, String shortUrl, String clicks) {
+        Map<String, String> entries = new HashMap<>();
+        entries.put(RedisClickCountService.BATCH_FIELD, batchId);
+        entries.put(shortUrl, clicks);
+        return entries;
+    }
+}
@@ -0,0 +1,104 @@
+package com.immortals.miniurl.service.hotkey;
+
+import com.immortals.miniurl.config.cache.HotKeyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyDetectorTest {
+
+    private HotKeyProperties properties;
+    private HotKeyDetector hotKeyDetector;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HotKeyProperties();
+        properties.setTopK(2);
+        properties.setThreshold(10L);
+        hotKeyDetector = new HotKeyDetector(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testRecord_codeBelowThresholdIsNotHot() {
+        record("abc123", 9);
+
+        assertFalse(hotKeyDetector.isHot("abc123"));
+        assertTrue(hotKeyDetector.hotKeys()
+                .isEmpty());
+    }
+
+    @Test
+    void testRecord_keepsOnlyTopK() {
+        record("cold01", 12);
+        record("warm01", 20);
+        record("hot001", 30);
+
+        List<Map.Entry<String, Long>> hotKeys = hotKeyDetector.hotKeys();
+
+        assertEquals(2, hotKeys.size());
+        assertEquals("hot001", hotKeys.get(0)
+                .getKey());
+        assertEquals("warm01", hotKeys.get(1)
+                .getKey());
+        assertFalse(hotKeyDetector.isHot("cold01"));
+    }
+
+    @Test
+    void testRecord_evictsByCurrentCountOfHotCodes() {
+        record("cold01", 10);
+        record("warm01", 10);
+        record("cold01", 30);
+
+        record("new001", 15);
+
+        assertTrue(hotKeyDetector.isHot("cold01"));
+        assertTrue(hotKeyDetector.isHot("new001"));
+        assertFalse(hotKeyDetector.isHot("warm01"));
+        assertEquals(40L, hotKeyDetector.hotKeys()
+                .get(0)
+                .getValue());
+    }
+
+    @Test
+    void testDecay_dropsCodesThatCoolDown() {
+        record("abc123", 15);
+        record("xyz789", 40);
+
+        hotKeyDetector.decay();
+
+        assertFalse(hotKeyDetector.isHot("abc123"));
+        assertTrue(hotKeyDetector.isHot("xyz789"));
+    }
+
+    @Test
+    void testRecord_disabled() {
+        properties.setEnabled(false);
+
+        record("abc123", 50);
+
+        assertFalse(hotKeyDetector.isHot("abc123"));
+    }
+
+    @Test
+    void testCountMinSketch_neverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.increment("code" + (i % 100));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sketch.estimate("code" + i) >= 10);
+        }
+    }
+
+    private void record(String key, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeyDetector.record(key);
+        }
+    }
+}
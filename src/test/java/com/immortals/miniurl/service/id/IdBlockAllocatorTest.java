@@ -0,0 +1,87 @@
+package com.immortals.miniurl.service.id;
+
+import com.immortals.miniurl.config.id.IdAllocationProperties;
+import com.immortals.miniurl.repository.IdBlockJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdBlockAllocatorTest {
+
+    private static final int BLOCK_SIZE = 10;
+
+    @Mock
+    private IdBlockJdbcRepository idBlockJdbcRepository;
+
+    private final AtomicLong highWaterMark = new AtomicLong(1L);
+    private IdBlockAllocator idBlockAllocator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(idBlockJdbcRepository.leaseBlock(eq("short-url"), anyLong())).thenAnswer(invocation -> highWaterMark.getAndAdd(invocation.getArgument(1)));
+        IdAllocationProperties properties = new IdAllocationProperties();
+        properties.setBlockSize(BLOCK_SIZE);
+        idBlockAllocator = new IdBlockAllocator(idBlockJdbcRepository, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testNextId_continuesIntoTheNextBlock() {
+        for (long expected = 1; expected <= 3 * BLOCK_SIZE; expected++) {
+            assertEquals(expected, idBlockAllocator.nextId());
+        }
+    }
+
+    @Test
+    void testNextId_leasesOneBlockPerBlockSizeIds() {
+        for (int i = 0; i < BLOCK_SIZE - 1; i++) {
+            idBlockAllocator.nextId();
+        }
+
+        // The prefetch for the second block runs in the background once 20% of the first is left.
+        verify(idBlockJdbcRepository, timeout(1_000).times(2)).leaseBlock("short-url", BLOCK_SIZE);
+    }
+
+    @Test
+    void testNextId_failedPrefetchFallsBackToSynchronousLease() {
+        when(idBlockJdbcRepository.leaseBlock(eq("short-url"), anyLong())).thenReturn(1L)
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(11L);
+
+        for (long expected = 1; expected <= BLOCK_SIZE + 1; expected++) {
+            assertEquals(expected, idBlockAllocator.nextId());
+        }
+    }
+
+    @Test
+    void testNextId_concurrentCallersGetDistinctIds() throws InterruptedException {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    ids.add(idBlockAllocator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(8_000, ids.size());
+    }
+}
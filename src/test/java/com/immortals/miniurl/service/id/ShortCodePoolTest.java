@@ -0,0 +1,146 @@
+package com.immortals.miniurl.service.id;
+
+import com.immortals.miniurl.config.id.ShortCodePoolProperties;
+import com.immortals.miniurl.repository.ReservedShortCodeJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ShortCodePoolTest {
+
+    @Mock
+    private ReservedShortCodeJdbcRepository reservedShortCodeJdbcRepository;
+
+    private ShortCodePoolProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new ShortCodePoolProperties();
+        properties.setCapacity(4);
+        properties.setRefillBatchSize(2);
+        properties.setLowWatermark(0.0);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRefill_reservesInBatchesUpToCapacity() {
+        when(reservedShortCodeJdbcRepository.reserve(anyCollection())).thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<String>>getArgument(0)));
+        ShortCodePool pool = new ShortCodePool(reservedShortCodeJdbcRepository, properties, meterRegistry);
+
+        pool.refill();
+
+        assertEquals(4, pool.size());
+        verify(reservedShortCodeJdbcRepository, times(2)).reserve(anyCollection());
+    }
+
+    @Test
+    void testGenerate_takesReservedCodes() {
+        Set<String> reserved = new HashSet<>();
+        when(reservedShortCodeJdbcRepository.reserve(anyCollection())).thenAnswer(invocation -> {
+            List<String> codes = new ArrayList<>(invocation.<Collection<String>>getArgument(0));
+            reserved.addAll(codes);
+            return codes;
+        });
+        ShortCodePool pool = new ShortCodePool(reservedShortCodeJdbcRepository, properties, meterRegistry);
+        pool.refill();
+
+        assertTrue(reserved.contains(pool.generate("https://example.com")));
+        assertEquals(1.0, meterRegistry.get("short.code.pool.taken")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void testGenerate_emptyPoolFallsBackToInlineCode() {
+        ShortCodePool pool = new ShortCodePool(reservedShortCodeJdbcRepository, properties, meterRegistry);
+
+        String code = pool.generate("https://example.com");
+
+        assertEquals(7, code.length());
+        assertEquals(1.0, meterRegistry.get("short.code.pool.misses")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void testRefill_partialReservationStopsOnFullCollision() {
+        when(reservedShortCodeJdbcRepository.reserve(anyCollection())).thenReturn(List.of("abc1234"))
+                .thenReturn(List.of());
+        ShortCodePool pool = new ShortCodePool(reservedShortCodeJdbcRepository, properties, meterRegistry);
+
+        pool.refill();
+
+        assertEquals(1, pool.size());
+        verify(reservedShortCodeJdbcRepository, times(2)).reserve(anyCollection());
+    }
+
+    @Test
+    void testRefill_databaseFailureIsSwallowed() {
+        when(reservedShortCodeJdbcRepository.reserve(anyCollection())).thenThrow(new QueryTimeoutException("timeout"));
+        ShortCodePool pool = new ShortCodePool(reservedShortCodeJdbcRepository, properties, meterRegistry);
+
+        pool.refill();
+
+        assertEquals(0, pool.size());
+        assertEquals(1.0, meterRegistry.get("short.code.pool.refill.failures")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void testGenerate_disabledPoolNeverTouchesDatabase() {
+        properties.setEnabled(false);
+        ShortCodePool pool = new ShortCodePool(reservedShortCodeJdbcRepository, properties, meterRegistry);
+
+        pool.generate("https://example.com");
+        pool.refill();
+
+        verifyNoInteractions(reservedShortCodeJdbcRepository);
+    }
+
+    @Test
+    void testGenerate_discardsCodesPooledPastHalfTheRetention() throws InterruptedException {
+        properties.setUnusedRetention(Duration.ofMillis(2));
+        when(reservedShortCodeJdbcRepository.reserve(anyCollection())).thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<String>>getArgument(0)));
+        ShortCodePool pool = new ShortCodePool(reservedShortCodeJdbcRepository, properties, meterRegistry);
+        pool.refill();
+        Thread.sleep(5);
+
+        pool.generate("https://example.com");
+
+        assertEquals(0, pool.size());
+        assertEquals(4.0, meterRegistry.get("short.code.pool.expired")
+                .counter()
+                .count());
+        assertEquals(1.0, meterRegistry.get("short.code.pool.misses")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void testPrune_deletesUsedAndStaleReservations() {
+        properties.setUnusedRetention(Duration.ofHours(6));
+        ShortCodePool pool = new ShortCodePool(reservedShortCodeJdbcRepository, properties, meterRegistry);
+
+        pool.prune();
+
+        verify(reservedShortCodeJdbcRepository).pruneUsed();
+        verify(reservedShortCodeJdbcRepository).pruneOlderThan(Duration.ofHours(6));
+    }
+}
@@ -0,0 +1,101 @@
+package com.immortals.miniurl.service.id;
+
+import com.immortals.miniurl.config.id.SnowflakeProperties;
+import com.immortals.miniurl.service.cache.RedisCacheOperations;
+import com.immortals.miniurl.service.exception.CacheException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WorkerIdLeaseTest {
+
+    @Mock
+    private RedisCacheOperations<String, Object> cacheService;
+
+    private SnowflakeProperties properties;
+    private WorkerIdLease workerIdLease;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new SnowflakeProperties();
+        workerIdLease = new WorkerIdLease(cacheService, properties);
+    }
+
+    @Test
+    void testAcquire_takesAFreeWorkerId() {
+        when(cacheService.putIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(false);
+        when(cacheService.putIfAbsent(eq(WorkerIdLease.workerKey(7)), any(), any(Duration.class))).thenReturn(true);
+
+        workerIdLease.acquire();
+
+        assertEquals(7, workerIdLease.workerId());
+    }
+
+    @Test
+    void testAcquire_configuredWorkerIdSkipsRedis() {
+        properties.setWorkerId(4);
+
+        workerIdLease.acquire();
+
+        assertEquals(4, workerIdLease.workerId());
+        verifyNoInteractions(cacheService);
+    }
+
+    @Test
+    void testWorkerId_unavailableWithoutLease() {
+        when(cacheService.putIfAbsent(anyString(), any(), any(Duration.class))).thenThrow(new CacheException("down"));
+
+        workerIdLease.acquire();
+
+        assertThrows(IllegalStateException.class, workerIdLease::workerId);
+    }
+
+    @Test
+    void testHeartbeat_lostLeaseIsReplaced() {
+        when(cacheService.putIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(false);
+        when(cacheService.putIfAbsent(eq(WorkerIdLease.workerKey(7)), any(), any(Duration.class))).thenReturn(true);
+        workerIdLease.acquire();
+        when(cacheService.expireIfValueEquals(eq(WorkerIdLease.workerKey(7)), any(), any(Duration.class))).thenReturn(false);
+        when(cacheService.putIfAbsent(eq(WorkerIdLease.workerKey(7)), any(), any(Duration.class))).thenReturn(false);
+        when(cacheService.putIfAbsent(eq(WorkerIdLease.workerKey(9)), any(), any(Duration.class))).thenReturn(true);
+
+        workerIdLease.heartbeat();
+
+        assertEquals(9, workerIdLease.workerId());
+    }
+
+    @Test
+    void testHeartbeat_keepsWorkerIdWhileLeaseIsValid() {
+        when(cacheService.putIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(true);
+        workerIdLease.acquire();
+        int id = workerIdLease.workerId();
+        when(cacheService.expireIfValueEquals(anyString(), any(), any(Duration.class))).thenThrow(new CacheException("down"));
+
+        workerIdLease.heartbeat();
+
+        assertEquals(id, workerIdLease.workerId());
+    }
+
+    @Test
+    void testHeartbeat_givesUpWorkerIdOnceLeaseMayHaveExpired() throws InterruptedException {
+        properties.setLeaseTtl(Duration.ofMillis(50));
+        when(cacheService.putIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(true);
+        workerIdLease.acquire();
+        when(cacheService.expireIfValueEquals(anyString(), any(), any(Duration.class))).thenThrow(new CacheException("down"));
+        when(cacheService.putIfAbsent(anyString(), any(), any(Duration.class))).thenThrow(new CacheException("down"));
+
+        Thread.sleep(60);
+
+        assertThrows(IllegalStateException.class, workerIdLease::workerId);
+        workerIdLease.heartbeat();
+        assertThrows(IllegalStateException.class, workerIdLease::workerId);
+    }
+}
@@ -0,0 +1,116 @@
+package com.immortals.miniurl.service.maintenance;
+
+import com.immortals.miniurl.config.maintenance.LinkImportProperties;
+import com.immortals.miniurl.factory.UrlShorteningStrategyFactory;
+import com.immortals.miniurl.helper.CustomAliasStrategy;
+import com.immortals.miniurl.model.enums.RedirectType;
+import com.immortals.miniurl.model.enums.UrlStrategyType;
+import com.immortals.miniurl.repository.LinkImportJdbcRepository;
+import com.immortals.miniurl.repository.LinkImportJdbcRepository.ImportRow;
+import com.immortals.miniurl.service.membership.ShortUrlMembershipService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.immortals.miniurl.constants.UrlConstants.RESERVED_ALIASES;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LinkImportRunnerTest {
+
+    private static final String INPUT = """
+            short_code,original_url,redirect_type
+            abc123,"https://example.com/a,b",301
+            admin,https://example.com/x,
+            def456,ftp://example.com/y,
+            ghi789,https://example.com/c,
+            """;
+
+    @Mock
+    private LinkImportJdbcRepository linkImportJdbcRepository;
+
+    @Mock
+    private UrlShorteningStrategyFactory urlShorteningStrategyFactory;
+
+    @Mock
+    private ShortUrlMembershipService shortUrlMembershipService;
+
+    @TempDir
+    private Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LinkImportProperties properties;
+    private LinkImportRunner runner;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        when(urlShorteningStrategyFactory.getStrategy(UrlStrategyType.CUSTOM_ALIAS)).thenReturn(new CustomAliasStrategy(List.of(RESERVED_ALIASES)));
+        when(linkImportJdbcRepository.importChunk(anyString(), anyList(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> invocation.<List<ImportRow>>getArgument(1)
+                        .size());
+
+        Path file = tempDir.resolve("legacy.csv");
+        Files.writeString(file, INPUT);
+        properties = new LinkImportProperties();
+        properties.setFile(file.toString());
+        properties.setChunkSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        runner = new LinkImportRunner(linkImportJdbcRepository, urlShorteningStrategyFactory, shortUrlMembershipService, properties,
+                meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testRun_rejectsInvalidLinesAndCheckpointsEachChunk() throws IOException {
+        runner.run(null);
+
+        ArgumentCaptor<List<ImportRow>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(linkImportJdbcRepository).importChunk(eq("legacy.csv"), chunks.capture(), eq(3L), eq(1L));
+        verify(linkImportJdbcRepository).importChunk(eq("legacy.csv"), chunks.capture(), eq(5L), eq(1L));
+
+        ImportRow first = chunks.getAllValues()
+                .get(0)
+                .get(0);
+        assertEquals("abc123", first.shortCode());
+        assertEquals("https://example.com/a,b", first.originalUrl());
+        assertEquals(RedirectType.PERMANENT, first.redirectType());
+        assertEquals(RedirectType.TEMPORARY, chunks.getAllValues()
+                .get(1)
+                .get(0)
+                .redirectType());
+        assertEquals(2.0, meterRegistry.get("link.import.rows")
+                .tag("outcome", "rejected")
+                .counter()
+                .count());
+        verify(shortUrlMembershipService).registerAll(List.of("abc123"));
+        verify(shortUrlMembershipService).registerAll(List.of("ghi789"));
+        verify(shortUrlMembershipService, never()).rebuild();
+    }
+
+    @Test
+    void testRun_resumesAfterLastCommittedLine() throws IOException {
+        when(linkImportJdbcRepository.findLastLine("legacy.csv")).thenReturn(3L);
+
+        runner.run(null);
+
+        verify(linkImportJdbcRepository, times(1)).importChunk(anyString(), anyList(), anyLong(), anyLong());
+        verify(linkImportJdbcRepository).importChunk(eq("legacy.csv"), argThat(rows -> rows.size() == 1 && rows.get(0)
+                .shortCode()
+                .equals("ghi789")), eq(5L), eq(1L));
+        assertEquals(1.0, meterRegistry.get("link.import.rows")
+                .tag("outcome", "imported")
+                .counter()
+                .count());
+    }
+}
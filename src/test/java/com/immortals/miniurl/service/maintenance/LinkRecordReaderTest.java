@@ -0,0 +1,76 @@
+package com.immortals.miniurl.service.maintenance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.immortals.miniurl.model.enums.LinkImportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkRecordReaderTest {
+
+    @Test
+    void testParseCsvLine_quotedFieldsKeepCommasAndQuotes() {
+        assertEquals(List.of("abc", "https://example.com/?q=a,b", "say \"hi\"", ""),
+                LinkRecordReader.parseCsvLine("abc,\"https://example.com/?q=a,b\",\"say \"\"hi\"\"\","));
+        assertThrows(IllegalArgumentException.class, () -> LinkRecordReader.parseCsvLine("abc,\"https://example.com"));
+    }
+
+    @Test
+    void testNext_csvUsesHeaderAndCountsEveryLine() throws IOException {
+        LinkRecordReader reader = reader(LinkImportFormat.CSV, """
+                Short_Code,original_url,user_id
+                abc,https://example.com/a,7
+
+                def,https://example.com/b,
+                ghi,https://example.com/c
+                """);
+
+        assertEquals(Map.of("short_code", "abc", "original_url", "https://example.com/a", "user_id", "7"), reader.next());
+        assertEquals(2, reader.lineNumber());
+        assertEquals(Map.of("short_code", "def", "original_url", "https://example.com/b"), reader.next());
+        assertEquals(4, reader.lineNumber());
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals(5, reader.lineNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testNext_ndjsonSkipsMalformedLineAndReadsOn() throws IOException {
+        LinkRecordReader reader = reader(LinkImportFormat.NDJSON, """
+                {"short_code":"abc","original_url":"https://example.com/a","user_id":7,"expires_at":null}
+                {"short_code":"def",
+                {"short_code":"ghi","original_url":"https://example.com/c"}
+                """);
+
+        assertEquals(Map.of("short_code", "abc", "original_url", "https://example.com/a", "user_id", "7"), reader.next());
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("ghi", reader.next()
+                .get(LinkRecordReader.SHORT_CODE));
+        assertEquals(3, reader.lineNumber());
+    }
+
+    @Test
+    void testSkipTo_resumesAfterCheckpointLine() throws IOException {
+        LinkRecordReader reader = reader(LinkImportFormat.CSV, """
+                short_code,original_url
+                abc,https://example.com/a
+                def,https://example.com/b
+                """);
+
+        reader.skipTo(2);
+
+        assertEquals("def", reader.next()
+                .get(LinkRecordReader.SHORT_CODE));
+        assertEquals(3, reader.lineNumber());
+    }
+
+    private static LinkRecordReader reader(LinkImportFormat format, String input) {
+        return new LinkRecordReader(new BufferedReader(new StringReader(input)), format, new ObjectMapper());
+    }
+}
@@ -0,0 +1,51 @@
+package com.immortals.miniurl.service.membership;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void testMightContain_noFalseNegativesAcrossGrowth() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.add("code" + i);
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(filter.mightContain("code" + i));
+        }
+        assertTrue(filter.sliceCount() > 1);
+    }
+
+    @Test
+    void testMightContain_falsePositiveRateStaysBounded() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.add("code" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testAdd_duplicatesAreNotCountedTwice() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        filter.add("abc123");
+        filter.add("abc123");
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void testConstructor_invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1.0));
+    }
+}
@@ -0,0 +1,139 @@
+package com.immortals.miniurl.service.redirect;
+
+import com.immortals.miniurl.config.cache.UrlCacheProperties;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.service.UrlShortenerService;
+import com.immortals.miniurl.service.cache.TieredUrlCacheService;
+import com.immortals.miniurl.service.click.ClickCountService;
+import com.immortals.miniurl.service.hotkey.HotKeyDetector;
+import com.immortals.miniurl.service.membership.ShortUrlMembershipService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReactiveRedirectServiceTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, CachedUrlDataDto> reactiveRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, CachedUrlDataDto> valueOperations;
+
+    @Mock
+    private TieredUrlCacheService tieredUrlCacheService;
+
+    @Mock
+    private ShortUrlMembershipService shortUrlMembershipService;
+
+    @Mock
+    private ClickCountService clickCountService;
+
+    @Mock
+    private HotKeyDetector hotKeyDetector;
+
+    @Mock
+    private UrlShortenerService urlShortenerService;
+
+    private ReactiveRedirectService reactiveRedirectService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(shortUrlMembershipService.mightExist(anyString())).thenReturn(true);
+        reactiveRedirectService = new ReactiveRedirectService(reactiveRedisTemplate, tieredUrlCacheService, new UrlCacheProperties(),
+                shortUrlMembershipService, clickCountService, hotKeyDetector, urlShortenerService, Schedulers.immediate(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testResolve_nearCacheHitSkipsRedis() {
+        when(tieredUrlCacheService.getLocal("u:abc123")).thenReturn(cachedValue());
+
+        StepVerifier.create(reactiveRedirectService.resolve("abc123")
+                        .map(CachedUrlDataDto::getOriginalUrl))
+                .expectNext("https://example.com")
+                .verifyComplete();
+
+        verify(reactiveRedisTemplate, never()).opsForValue();
+        verify(clickCountService).recordClick("abc123");
+        verify(hotKeyDetector).record("abc123");
+    }
+
+    @Test
+    void testResolve_redisHitIsAdmittedLocally() {
+        CachedUrlDataDto value = cachedValue();
+        when(valueOperations.get("u:abc123")).thenReturn(Mono.just(value));
+
+        StepVerifier.create(reactiveRedirectService.resolve("abc123"))
+                .expectNext(value)
+                .verifyComplete();
+
+        verify(tieredUrlCacheService).cacheLocally("u:abc123", value);
+        verify(urlShortenerService, never()).resolve(anyString());
+        verify(hotKeyDetector).record("abc123");
+    }
+
+    @Test
+    void testResolve_redisMissFallsBackToBlockingLookup() {
+        when(valueOperations.get("u:abc123")).thenReturn(Mono.empty());
+        CachedUrlDataDto value = cachedValue();
+        when(urlShortenerService.resolve("abc123")).thenReturn(value);
+
+        StepVerifier.create(reactiveRedirectService.resolve("abc123"))
+                .expectNext(value)
+                .verifyComplete();
+    }
+
+    @Test
+    void testResolve_redisFailureFallsBackToBlockingLookup() {
+        when(valueOperations.get("u:abc123")).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(urlShortenerService.resolve("abc123")).thenReturn(null);
+
+        StepVerifier.create(reactiveRedirectService.resolve("abc123"))
+                .verifyComplete();
+
+        verify(urlShortenerService).resolve("abc123");
+    }
+
+    @Test
+    void testResolve_rejectedByMembershipFilter() {
+        when(shortUrlMembershipService.mightExist("unknown1")).thenReturn(false);
+        when(valueOperations.get("u:unknown1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveRedirectService.resolve("unknown1"))
+                .verifyComplete();
+
+        verifyNoInteractions(urlShortenerService, hotKeyDetector);
+    }
+
+    @Test
+    void testResolve_cachedLinkMissingFromMembershipFilter() {
+        when(shortUrlMembershipService.mightExist("fresh01")).thenReturn(false);
+        CachedUrlDataDto value = cachedValue();
+        when(valueOperations.get("u:fresh01")).thenReturn(Mono.just(value));
+
+        StepVerifier.create(reactiveRedirectService.resolve("fresh01"))
+                .expectNext(value)
+                .verifyComplete();
+
+        verifyNoInteractions(urlShortenerService);
+    }
+
+    private static CachedUrlDataDto cachedValue() {
+        return new CachedUrlDataDto("https://example.com", Instant.now()
+                .plusSeconds(3600));
+    }
+}
@@ -0,0 +1,41 @@
+package com.immortals.miniurl.service.redirect;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedirectRateLimiterTest {
+
+    @Test
+    void testTryAcquire_allowsBurstThenRejects() {
+        RedirectRateLimiter limiter = new RedirectRateLimiter(10, 5);
+        long now = 1_000_000_000L;
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1", now));
+        }
+        assertFalse(limiter.tryAcquire("10.0.0.1", now));
+    }
+
+    @Test
+    void testTryAcquire_refillsOverTime() {
+        RedirectRateLimiter limiter = new RedirectRateLimiter(10, 1);
+        long now = 1_000_000_000L;
+
+        assertTrue(limiter.tryAcquire("10.0.0.1", now));
+        assertFalse(limiter.tryAcquire("10.0.0.1", now));
+        assertTrue(limiter.tryAcquire("10.0.0.1", now + TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    void testTryAcquire_clientsAreIndependent() {
+        RedirectRateLimiter limiter = new RedirectRateLimiter(10, 1);
+        long now = 1_000_000_000L;
+
+        assertTrue(limiter.tryAcquire("10.0.0.1", now));
+        assertTrue(limiter.tryAcquire("10.0.0.2", now));
+    }
+}
@@ -0,0 +1,80 @@
+package com.immortals.miniurl.service.redirect;
+
+import com.immortals.miniurl.config.redirect.RedirectProperties;
+import com.immortals.miniurl.model.dto.CachedUrlDataDto;
+import com.immortals.miniurl.model.enums.RedirectType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedirectResponsesTest {
+
+    private RedirectProperties redirectProperties;
+    private RedirectResponses redirectResponses;
+
+    @BeforeEach
+    void setUp() {
+        redirectProperties = new RedirectProperties();
+        redirectProperties.getCaching()
+                .setUncachedSampleRate(0.0);
+        redirectResponses = new RedirectResponses(redirectProperties);
+    }
+
+    @Test
+    void testWrite_permanentLinkIsPubliclyCacheable() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        redirectResponses.write(response, target(RedirectType.PERMANENT_REDIRECT, 30 * 86_400));
+
+        assertEquals(308, response.getStatus());
+        assertEquals("https://example.com", response.getHeader(HttpHeaders.LOCATION));
+        assertEquals("public, max-age=86400", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNotNull(response.getHeader(HttpHeaders.EXPIRES));
+    }
+
+    @Test
+    void testWrite_maxAgeNeverOutlivesLink() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        redirectResponses.write(response, target(RedirectType.PERMANENT, 600));
+
+        assertEquals(301, response.getStatus());
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        long maxAge = Long.parseLong(cacheControl.substring(cacheControl.indexOf('=') + 1));
+        assertTrue(maxAge <= 600 && maxAge > 590);
+    }
+
+    @Test
+    void testToResponseEntity_legacyEntryIsTemporaryAndPrivate() {
+        ResponseEntity<Void> response = redirectResponses.toResponseEntity(target(null, 3600));
+
+        assertEquals(302, response.getStatusCode()
+                .value());
+        assertEquals("private, max-age=60", response.getHeaders()
+                .getCacheControl());
+    }
+
+    @Test
+    void testWrite_sampledResponseIsNotStored() {
+        redirectProperties.getCaching()
+                .setUncachedSampleRate(1.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        redirectResponses.write(response, target(RedirectType.PERMANENT, 3600));
+
+        assertEquals(301, response.getStatus());
+        assertEquals("no-store", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNull(response.getHeader(HttpHeaders.EXPIRES));
+    }
+
+    private static CachedUrlDataDto target(RedirectType redirectType, long secondsToExpiry) {
+        return new CachedUrlDataDto("https://example.com", Instant.now()
+                .plusSeconds(secondsToExpiry), redirectType);
+    }
+}
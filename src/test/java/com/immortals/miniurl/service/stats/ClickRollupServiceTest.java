@@ -0,0 +1,120 @@
+package com.immortals.miniurl.service.stats;
+
+import com.immortals.miniurl.config.click.ClickRollupProperties;
+import com.immortals.miniurl.model.dto.RollupBucketDto;
+import com.immortals.miniurl.model.enums.RollupGranularity;
+import com.immortals.miniurl.repository.ClickRollupJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class ClickRollupServiceTest {
+
+    private static final Instant CLICK = Instant.parse("2025-03-14T09:26:53Z");
+    private static final Instant MINUTE = Instant.parse("2025-03-14T09:26:00Z");
+    private static final Instant HOUR = Instant.parse("2025-03-14T09:00:00Z");
+    private static final Instant DAY = Instant.parse("2025-03-14T00:00:00Z");
+
+    @Mock
+    private ClickRollupJdbcRepository clickRollupJdbcRepository;
+
+    private ClickRollupProperties properties;
+    private ClickRollupService clickRollupService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new ClickRollupProperties();
+        clickRollupService = new ClickRollupService(clickRollupJdbcRepository, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testFlush_upsertsEveryGranularity() {
+        clickRollupService.record("abc123", CLICK);
+        clickRollupService.record("abc123", CLICK.plusSeconds(2));
+
+        clickRollupService.flush();
+
+        verify(clickRollupJdbcRepository).upsert(Map.of(
+                new RollupBucketDto("abc123", RollupGranularity.MINUTE, MINUTE), 2L,
+                new RollupBucketDto("abc123", RollupGranularity.HOUR, HOUR), 2L,
+                new RollupBucketDto("abc123", RollupGranularity.DAY, DAY), 2L), 500);
+    }
+
+    @Test
+    void testFlush_minutesOfTheSameHourShareCoarserBuckets() {
+        clickRollupService.record("abc123", CLICK);
+        clickRollupService.record("abc123", CLICK.plusSeconds(60));
+
+        clickRollupService.flush();
+
+        verify(clickRollupJdbcRepository).upsert(Map.of(
+                new RollupBucketDto("abc123", RollupGranularity.MINUTE, MINUTE), 1L,
+                new RollupBucketDto("abc123", RollupGranularity.MINUTE, MINUTE.plusSeconds(60)), 1L,
+                new RollupBucketDto("abc123", RollupGranularity.HOUR, HOUR), 2L,
+                new RollupBucketDto("abc123", RollupGranularity.DAY, DAY), 2L), 500);
+    }
+
+    @Test
+    void testFlush_failedUpsertIsRetried() {
+        clickRollupService.record("abc123", CLICK);
+        doThrow(new QueryTimeoutException("timeout")).doNothing()
+                .when(clickRollupJdbcRepository)
+                .upsert(anyMap(), anyInt());
+
+        clickRollupService.flush();
+        clickRollupService.record("abc123", CLICK);
+        clickRollupService.flush();
+
+        verify(clickRollupJdbcRepository).upsert(Map.of(
+                new RollupBucketDto("abc123", RollupGranularity.MINUTE, MINUTE), 2L,
+                new RollupBucketDto("abc123", RollupGranularity.HOUR, HOUR), 2L,
+                new RollupBucketDto("abc123", RollupGranularity.DAY, DAY), 2L), 500);
+    }
+
+    @Test
+    void testFlush_transactionFailureIsRetried() {
+        clickRollupService.record("abc123", CLICK);
+        doThrow(new CannotCreateTransactionException("primary down")).doNothing()
+                .when(clickRollupJdbcRepository)
+                .upsert(anyMap(), anyInt());
+
+        clickRollupService.flush();
+        clickRollupService.flush();
+
+        verify(clickRollupJdbcRepository, times(2)).upsert(Map.of(
+                new RollupBucketDto("abc123", RollupGranularity.MINUTE, MINUTE), 1L,
+                new RollupBucketDto("abc123", RollupGranularity.HOUR, HOUR), 1L,
+                new RollupBucketDto("abc123", RollupGranularity.DAY, DAY), 1L), 500);
+    }
+
+    @Test
+    void testRecord_disabledSkipsDatabase() {
+        properties.setEnabled(false);
+
+        clickRollupService.record("abc123", CLICK);
+        clickRollupService.flush();
+
+        verify(clickRollupJdbcRepository, never()).upsert(anyMap(), anyInt());
+    }
+
+    @Test
+    void testCompact_deletesExpiredMinuteAndHourBuckets() {
+        clickRollupService.compact();
+
+        verify(clickRollupJdbcRepository).deleteOlderThan(eq(RollupGranularity.MINUTE), any(Instant.class));
+        verify(clickRollupJdbcRepository).deleteOlderThan(eq(RollupGranularity.HOUR), any(Instant.class));
+        verify(clickRollupJdbcRepository, never()).deleteOlderThan(eq(RollupGranularity.DAY), any(Instant.class));
+    }
+}
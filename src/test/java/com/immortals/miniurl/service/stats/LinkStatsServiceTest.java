@@ -0,0 +1,94 @@
+package com.immortals.miniurl.service.stats;
+
+import com.immortals.miniurl.config.click.ClickRollupProperties;
+import com.immortals.miniurl.model.domain.UrlMapping;
+import com.immortals.miniurl.model.dto.ClickStatsDto;
+import com.immortals.miniurl.model.dto.StatsPointDto;
+import com.immortals.miniurl.model.enums.RollupGranularity;
+import com.immortals.miniurl.model.enums.RollupScope;
+import com.immortals.miniurl.model.security.CurrentUserProvider;
+import com.immortals.miniurl.model.security.User;
+import com.immortals.miniurl.repository.ClickRollupJdbcRepository;
+import com.immortals.miniurl.repository.UrlMappingRepository;
+import com.immortals.miniurl.service.exception.UrlNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LinkStatsServiceTest {
+
+    private static final Instant FROM = Instant.parse("2025-03-14T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-03-14T06:00:00Z");
+
+    @Mock
+    private ClickRollupJdbcRepository clickRollupJdbcRepository;
+
+    @Mock
+    private UrlMappingRepository urlMappingRepository;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private UniqueVisitorService uniqueVisitorService;
+
+    private LinkStatsService linkStatsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(currentUserProvider.getCurrentUser()).thenReturn(new User(7L, "user", List.of()));
+        linkStatsService = new LinkStatsService(clickRollupJdbcRepository, urlMappingRepository, currentUserProvider, new ClickRollupProperties(), uniqueVisitorService);
+    }
+
+    @Test
+    void testLinkStats_sumsBuckets() {
+        when(urlMappingRepository.findByShortUrlAndIsActiveTrueAndUserId("abc123", 7L)).thenReturn(Optional.of(new UrlMapping()));
+        when(clickRollupJdbcRepository.findSeries(RollupScope.LINK, "abc123", RollupGranularity.HOUR, FROM, TO))
+                .thenReturn(List.of(new StatsPointDto(FROM, 3L), new StatsPointDto(FROM.plusSeconds(7200), 4L)));
+        when(uniqueVisitorService.count("abc123")).thenReturn(5L);
+
+        ClickStatsDto stats = linkStatsService.linkStats("abc123", RollupGranularity.HOUR, FROM, TO.minusSeconds(1));
+
+        assertEquals(7L, stats.getClicks());
+        assertEquals(2, stats.getPoints()
+                .size());
+        assertEquals(TO, stats.getTo());
+        assertEquals(5L, stats.getUniqueVisitors());
+    }
+
+    @Test
+    void testLinkStats_otherUsersLinkIsNotFound() {
+        when(urlMappingRepository.findByShortUrlAndIsActiveTrueAndUserId("abc123", 7L)).thenReturn(Optional.empty());
+
+        assertThrows(UrlNotFoundException.class, () -> linkStatsService.linkStats("abc123", RollupGranularity.HOUR, FROM, TO));
+        verifyNoInteractions(clickRollupJdbcRepository);
+    }
+
+    @Test
+    void testUserStats_tooManyPointsIsRejected() {
+        assertThrows(ResponseStatusException.class,
+                () -> linkStatsService.userStats(RollupGranularity.MINUTE, FROM, FROM.plusSeconds(60L * 60 * 24 * 7)));
+        verifyNoInteractions(clickRollupJdbcRepository);
+    }
+
+    @Test
+    void testUserStats_readsUserScope() {
+        when(clickRollupJdbcRepository.findSeries(RollupScope.USER, "7", RollupGranularity.HOUR, FROM, TO)).thenReturn(List.of());
+
+        ClickStatsDto stats = linkStatsService.userStats(RollupGranularity.HOUR, FROM, TO.minusSeconds(1));
+
+        assertEquals(0L, stats.getClicks());
+        assertEquals("7", stats.getSubject());
+        assertNull(stats.getUniqueVisitors());
+    }
+}
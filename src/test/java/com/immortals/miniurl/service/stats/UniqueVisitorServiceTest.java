@@ -0,0 +1,115 @@
+package com.immortals.miniurl.service.stats;
+
+import com.immortals.miniurl.config.click.UniqueVisitorProperties;
+import com.immortals.miniurl.service.cache.RedisCacheOperations;
+import com.immortals.miniurl.service.exception.CacheException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class UniqueVisitorServiceTest {
+
+    @Mock
+    private RedisCacheOperations<String, Object> cacheService;
+
+    private UniqueVisitorProperties properties;
+    private UniqueVisitorService uniqueVisitorService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new UniqueVisitorProperties();
+        properties.setEnabled(true);
+        properties.setSalt("test-salt");
+        uniqueVisitorService = new UniqueVisitorService(cacheService, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testFlush_repeatVisitsAreAddedOnce() {
+        uniqueVisitorService.record("abc123", "10.0.0.7", "curl/8.0");
+        uniqueVisitorService.record("abc123", "10.0.0.7", "curl/8.0");
+        uniqueVisitorService.record("abc123", "10.0.0.8", "curl/8.0");
+
+        uniqueVisitorService.flush();
+
+        Map<String, Collection<byte[]>> elements = flushedElements();
+        assertEquals(2, elements.get("hll:v:abc123")
+                .size());
+        elements.get("hll:v:abc123")
+                .forEach(hash -> assertEquals(8, hash.length));
+    }
+
+    @Test
+    void testFlush_sameVisitorHashesAlikeAcrossLinks() {
+        uniqueVisitorService.record("abc123", "10.0.0.7", "curl/8.0");
+        uniqueVisitorService.record("xyz789", "10.0.0.7", "curl/8.0");
+
+        uniqueVisitorService.flush();
+
+        Map<String, Collection<byte[]>> elements = flushedElements();
+        assertArrayEquals(elements.get("hll:v:abc123")
+                .iterator()
+                .next(), elements.get("hll:v:xyz789")
+                .iterator()
+                .next());
+    }
+
+    @Test
+    void testRecord_fullBufferDropsVisitors() {
+        properties.setMaxPending(1);
+
+        uniqueVisitorService.record("abc123", "10.0.0.7", "curl/8.0");
+        uniqueVisitorService.record("abc123", "10.0.0.8", "curl/8.0");
+        uniqueVisitorService.flush();
+
+        assertEquals(1, flushedElements().get("hll:v:abc123")
+                .size());
+    }
+
+    @Test
+    void testFlush_nothingRecordedSkipsRedis() {
+        uniqueVisitorService.flush();
+
+        verify(cacheService, never()).addToHyperLogLogs(anyMap(), any());
+    }
+
+    @Test
+    void testCount_redisFailureIsReportedAsUnknown() {
+        when(cacheService.countHyperLogLog("hll:v:abc123")).thenThrow(new CacheException("down"));
+
+        assertNull(uniqueVisitorService.count("abc123"));
+    }
+
+    @Test
+    void testConstructor_blankSaltFailsWhileEnabled() {
+        properties.setSalt(" ");
+
+        assertThrows(IllegalStateException.class, () -> new UniqueVisitorService(cacheService, properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void testConstructor_blankSaltIsAllowedWhileDisabled() {
+        properties.setSalt("");
+        properties.setEnabled(false);
+
+        assertDoesNotThrow(() -> new UniqueVisitorService(cacheService, properties, new SimpleMeterRegistry()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Collection<byte[]>> flushedElements() {
+        ArgumentCaptor<Map<String, Collection<byte[]>>> elements = ArgumentCaptor.forClass(Map.class);
+        verify(cacheService).addToHyperLogLogs(elements.capture(), eq(Duration.ofDays(400)));
+        return elements.getValue();
+    }
+}
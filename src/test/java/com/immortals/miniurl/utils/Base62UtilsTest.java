@@ -0,0 +1,72 @@
+package com.immortals.miniurl.utils;
+
+import com.immortals.miniurl.model.ShortCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base62UtilsTest {
+
+    @Test
+    void testEncode_shortestForm() {
+        assertEquals("0", Base62Utils.encode(0));
+        assertEquals("Z", Base62Utils.encode(61));
+        assertEquals("10", Base62Utils.encode(62));
+        assertEquals("aZl8N0y58M7", Base62Utils.encode(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testEncode_fixedWidthIsZeroPaddedAndDecodesToSameValue() {
+        String padded = Base62Utils.encode(62, 7);
+
+        assertEquals("0000010", padded);
+        assertEquals(62L, Base62Utils.decode(padded));
+        assertEquals(62L, Base62Utils.decode("10"));
+    }
+
+    @Test
+    void testEncodeTo_writesIntoBufferAtOffset() {
+        byte[] buffer = "u:??????".getBytes(StandardCharsets.US_ASCII);
+
+        int end = new ShortCode(125L).writeTo(buffer, 2, 6);
+
+        assertEquals(8, end);
+        assertEquals("u:000021", new String(buffer, StandardCharsets.US_ASCII));
+        assertEquals(125L, Base62Utils.decode(buffer, 2, 6));
+    }
+
+    @Test
+    void testEncode_valueTooWideIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Base62Utils.encode(Base62Utils.pow62(3), 3));
+        assertThrows(IllegalArgumentException.class, () -> Base62Utils.encode(-1));
+    }
+
+    @Test
+    void testDecode_rejectsInvalidCharactersAndOverflow() {
+        assertThrows(IllegalArgumentException.class, () -> Base62Utils.decode("ab-c"));
+        assertThrows(IllegalArgumentException.class, () -> Base62Utils.decode("abé"));
+        assertThrows(IllegalArgumentException.class, () -> Base62Utils.decode("aZl8N0y58M8"));
+        assertThrows(IllegalArgumentException.class, () -> Base62Utils.decode(""));
+    }
+
+    @Test
+    void testShortCode_roundTripsThroughString() {
+        for (long value : new long[]{0L, 1L, 61L, 62L, 3_521_614_606_207L, Long.MAX_VALUE}) {
+            ShortCode code = new ShortCode(value);
+
+            assertEquals(code, ShortCode.parse(code.toString()));
+            assertEquals(code, ShortCode.parse(code.toString(Base62Utils.MAX_WIDTH)));
+        }
+    }
+
+    @Test
+    void testShortCode_randomHasRequestedWidth() {
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(7, ShortCode.random(7)
+                    .toString(7)
+                    .length());
+        }
+    }
+}
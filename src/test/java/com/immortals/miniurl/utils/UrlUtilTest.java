@@ -0,0 +1,28 @@
+package com.immortals.miniurl.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class UrlUtilTest {
+
+    @Test
+    void testNormalize_canonicalisesSchemeHostAndPortButKeepsFragment() {
+        assertEquals("https://example.com/#top", UrlUtil.normalize(" HTTPS://Example.COM:443#top "));
+        assertEquals("http://example.com:8080/a/B?x=Y#frag", UrlUtil.normalize("http://example.com:8080/a/B?x=Y#frag"));
+        assertEquals("not a url", UrlUtil.normalize("not a url"));
+    }
+
+    @Test
+    void testUrlHash_equalForEquivalentUrls() {
+        assertEquals(UrlUtil.urlHash("https://example.com/page#section"), UrlUtil.urlHash("https://EXAMPLE.com:443/page#section"));
+        assertNotEquals(UrlUtil.urlHash("https://example.com/page"), UrlUtil.urlHash("https://example.com/Page"));
+    }
+
+    @Test
+    void testUrlHash_differsForHashRoutes() {
+        assertNotEquals(UrlUtil.normalize("https://app.example.com/#/orders"), UrlUtil.normalize("https://app.example.com/#/settings"));
+        assertNotEquals(UrlUtil.urlHash("https://app.example.com/#/orders"), UrlUtil.urlHash("https://app.example.com/#/settings"));
+    }
+}